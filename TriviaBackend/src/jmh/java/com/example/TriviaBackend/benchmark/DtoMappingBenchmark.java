@@ -0,0 +1,141 @@
+package com.example.TriviaBackend.benchmark;
+
+import com.example.TriviaBackend.cache.QuestionFragmentCache;
+import com.example.TriviaBackend.config.AnswerShuffleProperties;
+import com.example.TriviaBackend.config.QuestionFragmentCacheProperties;
+import com.example.TriviaBackend.controller.GetQuestionsResponseConverter;
+import com.example.TriviaBackend.dto.response.GetQuestionsResponse;
+import com.example.TriviaBackend.dto.response.QuestionResponse;
+import com.example.TriviaBackend.dto.response.SerializedQuestion;
+import com.example.TriviaBackend.dto.response.TriviaResponse;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Per-question conversions and writing a full {@code /api/questions} page of 10 questions.
+ *
+ * <p>{@code writeQuestionsPageWithJackson} is the mapping and serialization every request paid
+ * before questions were cached as JSON; {@code writeQuestionsPageFromFragments} is the current
+ * path. Both write into a reused buffer, so {@code gc.alloc.rate.norm} is the bytes allocated per
+ * request by the mapping and the converter alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoMappingBenchmark {
+  private static final String ROUND_TOKEN = "0123456789abcdef";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final MappingJackson2HttpMessageConverter jacksonConverter =
+      new MappingJackson2HttpMessageConverter(objectMapper);
+  private final GetQuestionsResponseConverter fragmentConverter =
+      new GetQuestionsResponseConverter();
+  private final QuestionFragmentCache fragmentCache =
+      new QuestionFragmentCache(
+          objectMapper,
+          new QuestionFragmentCacheProperties(1000),
+          new AnswerShuffleProperties(true, 42L));
+  private final ReusedOutputMessage outputMessage = new ReusedOutputMessage();
+  private TriviaResponse.TriviaQuestion triviaQuestion;
+  private List<QuestionEntity> page;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final List<TriviaResponse.TriviaQuestion> triviaQuestions = Stubs.triviaQuestions(10);
+    triviaQuestion = triviaQuestions.getFirst();
+    page = new ArrayList<>(triviaQuestions.size());
+    for (TriviaResponse.TriviaQuestion question : triviaQuestions) {
+      final QuestionEntity entity = new QuestionEntity(question);
+      entity.setId(page.size() + 1);
+      page.add(entity);
+    }
+    fragmentCache.putAll(page);
+  }
+
+  @Benchmark
+  public QuestionEntity questionEntityFromTriviaQuestion() {
+    return new QuestionEntity(triviaQuestion);
+  }
+
+  @Benchmark
+  public int writeQuestionsPageWithJackson() throws IOException {
+    final JacksonGetQuestionsResponse response =
+        new JacksonGetQuestionsResponse(
+            page.stream()
+                .map(
+                    question ->
+                        new QuestionResponse(
+                            question.getId(),
+                            question.getQuestion(),
+                            Stream.concat(
+                                    question.getIncorrectAnswers().stream(),
+                                    Stream.of(question.getCorrectAnswer()))
+                                .toList()))
+                .toList());
+    jacksonConverter.write(response, MediaType.APPLICATION_JSON, outputMessage.reset());
+    return outputMessage.body.size();
+  }
+
+  @Benchmark
+  public int writeQuestionsPageFromFragments() throws IOException {
+    final List<SerializedQuestion> questions = new ArrayList<>(page.size());
+    for (QuestionEntity question : page) {
+      questions.add(fragmentCache.get(question));
+    }
+    fragmentConverter.write(
+        new GetQuestionsResponse(ROUND_TOKEN, questions),
+        MediaType.APPLICATION_JSON,
+        outputMessage.reset());
+    return outputMessage.body.size();
+  }
+
+  /** The response shape before questions were cached as JSON. */
+  public record JacksonGetQuestionsResponse(List<QuestionResponse> questionResponse) {}
+
+  /** Stands in for the servlet response, whose buffer is also reused between requests. */
+  private static final class ReusedOutputMessage implements HttpOutputMessage {
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(8192);
+    private final HttpHeaders headers = new HttpHeaders();
+
+    ReusedOutputMessage reset() {
+      body.reset();
+      headers.clear();
+      return this;
+    }
+
+    @Override
+    public OutputStream getBody() {
+      return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+  }
+}
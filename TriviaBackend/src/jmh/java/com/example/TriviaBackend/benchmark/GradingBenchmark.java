@@ -0,0 +1,97 @@
+package com.example.TriviaBackend.benchmark;
+
+import com.example.TriviaBackend.cache.AnswerKeyCache;
+import com.example.TriviaBackend.config.AnswerKeyCacheProperties;
+import com.example.TriviaBackend.config.GradingProperties;
+import com.example.TriviaBackend.dto.request.AnswerRequest;
+import com.example.TriviaBackend.dto.response.AnswerResponse;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.service.AnswerGrader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Grades a batch of {@code batchSize} answers on the calling thread and, with {@code
+ * parallel=true}, split over a grading pool of {@code parallelism} threads ({@code 0} for one per
+ * processor). The smallest batch size at which the parallel score beats the sequential one is the
+ * crossover to configure as {@code trivia.grading.parallel-threshold} on that machine.
+ *
+ * <p>With {@code cached=false} every answer key is a cache miss, so each range also pays for its
+ * lookup in the stubbed database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradingBenchmark {
+  @Param({"256", "512", "1024", "2048", "4096", "16384", "65536"})
+  int batchSize;
+
+  @Param({"false", "true"})
+  boolean parallel;
+
+  @Param({"true", "false"})
+  boolean cached;
+
+  @Param({"0"})
+  int parallelism;
+
+  private AnswerGrader answerGrader;
+  private List<AnswerRequest> answerRequests;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final QuestionRepository questionRepository = Stubs.questionRepository();
+    final List<QuestionEntity> questions =
+        questionRepository.upsertAll(
+            Stubs.triviaQuestions(batchSize).stream().map(QuestionEntity::new).toList());
+    // A zero TTL turns every cache lookup into a miss
+    final AnswerKeyCache answerKeyCache =
+        new AnswerKeyCache(
+            new AnswerKeyCacheProperties(
+                1_000_000, cached ? Duration.ofHours(1) : Duration.ZERO));
+    questions.forEach(answerKeyCache::put);
+    answerGrader =
+        new AnswerGrader(
+            questionRepository,
+            answerKeyCache,
+            Stubs.noSnapshot(),
+            new GradingProperties(false, batchSize, parallel ? 0 : Integer.MAX_VALUE, parallelism));
+
+    answerRequests = new ArrayList<>(batchSize);
+    for (QuestionEntity question : questions) {
+      // Every other answer is correct
+      answerRequests.add(
+          new AnswerRequest(
+              question.getId(), answerRequests.size() % 2 == 0 ? "Python" : "Kotlin"));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    answerGrader.shutdown();
+  }
+
+  @Benchmark
+  public AnswerResponse[] grade() {
+    return answerGrader.grade(answerRequests);
+  }
+}
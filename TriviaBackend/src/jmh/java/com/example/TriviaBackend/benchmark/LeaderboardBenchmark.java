@@ -0,0 +1,66 @@
+package com.example.TriviaBackend.benchmark;
+
+import com.example.TriviaBackend.dto.response.LeaderboardEntry;
+import com.example.TriviaBackend.leaderboard.Leaderboard;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One {@link Leaderboard} shared by 8 threads that record rounds and query ranks of random
+ * players, so the throughput shows whether updates contend with each other.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+  @Param({"100000"})
+  int players;
+
+  private Leaderboard leaderboard;
+  private String[] names;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    leaderboard = new Leaderboard();
+    names = new String[players];
+    for (int player = 0; player < players; player++) {
+      names[player] = "player-" + player;
+      leaderboard.record(names[player], player % 100);
+    }
+  }
+
+  @Benchmark
+  public void recordRound() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    leaderboard.record(names[random.nextInt(players)], random.nextInt(11));
+  }
+
+  @Benchmark
+  public Optional<LeaderboardEntry> standing() {
+    return leaderboard.standing(names[ThreadLocalRandom.current().nextInt(players)]);
+  }
+
+  @Benchmark
+  public List<LeaderboardEntry> top10() {
+    return leaderboard.top(10);
+  }
+}
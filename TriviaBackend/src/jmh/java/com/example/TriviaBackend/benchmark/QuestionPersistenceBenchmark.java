@@ -0,0 +1,79 @@
+package com.example.TriviaBackend.benchmark;
+
+import com.example.TriviaBackend.TriviaBackendApplication;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * {@code QuestionRepository.saveAll} of 10k fetched questions against the real H2 schema.
+ *
+ * <p>{@code jdbcBatchSize=1} turns JDBC batching off, so both runs share the id allocation and
+ * column mapping of {@link QuestionEntity} and differ only in insert round trips.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuestionPersistenceBenchmark {
+  private static final int QUESTIONS = 10_000;
+
+  @Param({"1", "50"})
+  int jdbcBatchSize;
+
+  private ConfigurableApplicationContext context;
+  private QuestionRepository questionRepository;
+  private List<QuestionEntity> questions;
+
+  @Setup(Level.Trial)
+  public void startApplication() {
+    context =
+        new SpringApplicationBuilder(TriviaBackendApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:persistence-benchmark",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                "--trivia.pool.background-refill=false");
+    questionRepository = context.getBean(QuestionRepository.class);
+  }
+
+  @Setup(Level.Iteration)
+  public void fetchQuestions() {
+    // saveAll assigns ids to its arguments, so every shot needs unsaved entities
+    questions = Stubs.triviaQuestions(QUESTIONS).stream().map(QuestionEntity::new).toList();
+  }
+
+  @TearDown(Level.Iteration)
+  public void clearTable() {
+    questionRepository.deleteAllInBatch();
+  }
+
+  @TearDown(Level.Trial)
+  public void stopApplication() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<QuestionEntity> saveAll() {
+    return questionRepository.saveAll(questions);
+  }
+}
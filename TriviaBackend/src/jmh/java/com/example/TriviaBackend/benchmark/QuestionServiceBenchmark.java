@@ -0,0 +1,157 @@
+package com.example.TriviaBackend.benchmark;
+
+import com.example.TriviaBackend.cache.AnswerKeyCache;
+import com.example.TriviaBackend.cache.QuestionBucketIndex;
+import com.example.TriviaBackend.config.AnswerKeyCacheProperties;
+import com.example.TriviaBackend.config.QuestionPoolProperties;
+import com.example.TriviaBackend.dto.request.AnswerRequest;
+import com.example.TriviaBackend.dto.request.CheckAnswersRequest;
+import com.example.TriviaBackend.dto.response.CheckAnswersResponse;
+import com.example.TriviaBackend.dto.response.GetQuestionsResponse;
+import com.example.TriviaBackend.dto.response.SerializedQuestion;
+import com.example.TriviaBackend.leaderboard.Leaderboard;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.round.RoundRegistry;
+import com.example.TriviaBackend.service.QuestionPool;
+import com.example.TriviaBackend.service.QuestionService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link QuestionService} hot paths against a stubbed upstream and database.
+ *
+ * <p>{@code getQuestions} starts from an empty pool, so every call includes one refill, the
+ * answer-key write-through, the serialization of each question's JSON and issuing the round.
+ * {@code checkAnswer} issues and grades a round of {@code batchSize} questions, either from the
+ * answer-key cache or, with {@code cached=false}, through the batched database lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionServiceBenchmark {
+
+  @State(Scope.Thread)
+  public static class Serving {
+    QuestionPool questionPool;
+    QuestionService questionService;
+    final RoundRegistry roundRegistry = Stubs.roundRegistry();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      final QuestionRepository questionRepository = Stubs.questionRepository();
+      final AnswerKeyCache answerKeyCache = answerKeyCache(true);
+      questionPool = questionPool(questionRepository, answerKeyCache);
+      questionService =
+          new QuestionService(
+              questionRepository,
+              questionPool,
+              Stubs.answerGrader(questionRepository, answerKeyCache, Integer.MAX_VALUE),
+              new QuestionBucketIndex(questionRepository, Stubs.noSnapshot()),
+              Stubs.noSnapshot(),
+              Stubs.fragmentCache(),
+              roundRegistry,
+              new Leaderboard(),
+              Stubs.metrics());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      questionPool.shutdown();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Grading {
+    @Param({"1", "10", "100", "1000"})
+    int batchSize;
+
+    @Param({"true", "false"})
+    boolean cached;
+
+    QuestionPool questionPool;
+    QuestionService questionService;
+    final RoundRegistry roundRegistry = Stubs.roundRegistry();
+    List<AnswerRequest> answerRequests;
+    long[] questionIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      final QuestionRepository questionRepository = Stubs.questionRepository();
+      final AnswerKeyCache answerKeyCache = answerKeyCache(cached);
+      questionPool = questionPool(questionRepository, answerKeyCache);
+      questionService =
+          new QuestionService(
+              questionRepository,
+              questionPool,
+              Stubs.answerGrader(questionRepository, answerKeyCache, Integer.MAX_VALUE),
+              new QuestionBucketIndex(questionRepository, Stubs.noSnapshot()),
+              Stubs.noSnapshot(),
+              Stubs.fragmentCache(),
+              roundRegistry,
+              new Leaderboard(),
+              Stubs.metrics());
+
+      answerRequests = new ArrayList<>(batchSize);
+      while (answerRequests.size() < batchSize) {
+        for (SerializedQuestion question : questionService.getQuestions().questionResponse()) {
+          if (answerRequests.size() < batchSize) {
+            answerRequests.add(new AnswerRequest(question.id(), "Kotlin"));
+          }
+        }
+      }
+      questionIds = answerRequests.stream().mapToLong(AnswerRequest::questionId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      questionPool.shutdown();
+    }
+  }
+
+  @Benchmark
+  public GetQuestionsResponse getQuestions(Serving serving) {
+    return serving.questionService.getQuestions();
+  }
+
+  @Benchmark
+  public CheckAnswersResponse checkAnswer(Grading grading) {
+    final String roundToken = grading.roundRegistry.issue(grading.questionIds);
+    return grading.questionService.checkAnswer(
+        new CheckAnswersRequest(roundToken, grading.answerRequests, null));
+  }
+
+  private static AnswerKeyCache answerKeyCache(boolean cached) {
+    // A zero TTL turns every cache lookup into a miss
+    return new AnswerKeyCache(
+        new AnswerKeyCacheProperties(1_000_000, cached ? Duration.ofHours(1) : Duration.ZERO));
+  }
+
+  /** An empty pool without background refill, so every {@code take} pays for one refill. */
+  private static QuestionPool questionPool(
+      QuestionRepository questionRepository, AnswerKeyCache answerKeyCache) {
+    return new QuestionPool(
+        Stubs.triviaClient(10),
+        Stubs.questionWriter(questionRepository),
+        answerKeyCache,
+        Stubs.fragmentCache(),
+        Stubs.noSnapshot(),
+        new QuestionPoolProperties(0, 0, Duration.ZERO, false));
+  }
+}
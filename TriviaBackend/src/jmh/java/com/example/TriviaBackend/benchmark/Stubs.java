@@ -0,0 +1,177 @@
+package com.example.TriviaBackend.benchmark;
+
+import com.example.TriviaBackend.cache.AnswerKeyCache;
+import com.example.TriviaBackend.cache.QuestionFragmentCache;
+import com.example.TriviaBackend.client.TriviaClient;
+import com.example.TriviaBackend.client.UpstreamCircuitBreaker;
+import com.example.TriviaBackend.client.UpstreamRateLimiter;
+import com.example.TriviaBackend.config.AnswerShuffleProperties;
+import com.example.TriviaBackend.config.GradingProperties;
+import com.example.TriviaBackend.config.QuestionFragmentCacheProperties;
+import com.example.TriviaBackend.config.QuestionSnapshotProperties;
+import com.example.TriviaBackend.config.QuestionWriteBehindProperties;
+import com.example.TriviaBackend.config.RoundProperties;
+import com.example.TriviaBackend.config.TriviaClientProperties;
+import com.example.TriviaBackend.dto.response.TriviaResponse;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.metrics.TriviaMetrics;
+import com.example.TriviaBackend.persistence.QuestionWriteBehind;
+import com.example.TriviaBackend.repository.AnswerKey;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.round.RoundRegistry;
+import com.example.TriviaBackend.service.AnswerGrader;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.springframework.web.client.RestTemplate;
+
+/** In-memory stand-ins for the upstream API and the database, so benchmarks measure our code. */
+final class Stubs {
+  private Stubs() {}
+
+  static List<TriviaResponse.TriviaQuestion> triviaQuestions(int amount) {
+    return triviaQuestions(0, amount);
+  }
+
+  static List<TriviaResponse.TriviaQuestion> triviaQuestions(int first, int amount) {
+    return IntStream.range(first, first + amount)
+        .mapToObj(
+            i ->
+                new TriviaResponse.TriviaQuestion(
+                    "multiple",
+                    "medium",
+                    "Science: Computers",
+                    "Which of these is not a JVM language? &quot;" + i + "&quot;",
+                    "Python",
+                    List.of("Kotlin", "Scala", "Clojure")))
+        .toList();
+  }
+
+  /** Returns a batch of new questions on every call, without HTTP or rate limiting. */
+  static TriviaClient triviaClient(int amount) {
+    final AtomicInteger fetched = new AtomicInteger();
+    final TriviaClientProperties properties =
+        new TriviaClientProperties(
+            "http://localhost/unused",
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(1),
+            Duration.ZERO,
+            1,
+            Duration.ZERO,
+            Duration.ZERO,
+            Duration.ZERO,
+            Duration.ZERO,
+            1);
+    return new TriviaClient(
+        new RestTemplate(),
+        new UpstreamRateLimiter(Duration.ZERO, 1, Duration.ZERO),
+        new UpstreamCircuitBreaker(10, 4, 50, Duration.ofSeconds(30), 1),
+        properties,
+        metrics()) {
+      @Override
+      public List<QuestionEntity> getQuestions() {
+        return triviaQuestions(fetched.getAndAdd(amount), amount).stream()
+            .map(QuestionEntity::new)
+            .toList();
+      }
+    };
+  }
+
+  static TriviaMetrics metrics() {
+    return new TriviaMetrics(new SimpleMeterRegistry());
+  }
+
+  static QuestionFragmentCache fragmentCache() {
+    return new QuestionFragmentCache(
+        new ObjectMapper(),
+        new QuestionFragmentCacheProperties(100_000),
+        new AnswerShuffleProperties(true, 42L));
+  }
+
+  static RoundRegistry roundRegistry() {
+    return new RoundRegistry(new RoundProperties(Duration.ofMinutes(30), 100_000));
+  }
+
+  /** Grades on a pool of one thread per processor from {@code parallelThreshold} answers on. */
+  static AnswerGrader answerGrader(
+      QuestionRepository questionRepository, AnswerKeyCache answerKeyCache, int parallelThreshold) {
+    return new AnswerGrader(
+        questionRepository,
+        answerKeyCache,
+        noSnapshot(),
+        new GradingProperties(false, 4096, parallelThreshold, 0));
+  }
+
+  static QuestionSnapshotStore noSnapshot() {
+    return new QuestionSnapshotStore(new QuestionSnapshotProperties(null, Duration.ofMinutes(15)));
+  }
+
+  /** Saves straight through the repository, like a synchronous write. */
+  static QuestionWriteBehind questionWriter(QuestionRepository questionRepository) {
+    return new QuestionWriteBehind(
+        new QuestionWriteBehindProperties(false, 1, 1, Duration.ZERO),
+        questionRepository,
+        null,
+        null,
+        null,
+        null);
+  }
+
+  /**
+   * A {@link QuestionRepository} that assigns ids to new questions on {@code upsertAll} and serves
+   * answer keys from a map. Every other repository method throws.
+   */
+  static QuestionRepository questionRepository() {
+    final AtomicLong nextId = new AtomicLong(1);
+    final Map<String, QuestionEntity> byContentHash = new ConcurrentHashMap<>();
+    final Map<Long, AnswerKey> answerKeys = new ConcurrentHashMap<>();
+    return (QuestionRepository)
+        Proxy.newProxyInstance(
+            QuestionRepository.class.getClassLoader(),
+            new Class<?>[] {QuestionRepository.class},
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                  case "upsertAll" -> {
+                    final Map<String, QuestionEntity> saved = new LinkedHashMap<>();
+                    for (Object element : (List<?>) args[0]) {
+                      final QuestionEntity question = (QuestionEntity) element;
+                      saved.putIfAbsent(
+                          question.getContentHash(),
+                          byContentHash.computeIfAbsent(
+                              question.getContentHash(),
+                              hash -> {
+                                question.setId(nextId.getAndIncrement());
+                                answerKeys.put(question.getId(), AnswerKey.of(question));
+                                return question;
+                              }));
+                    }
+                    yield List.copyOf(saved.values());
+                  }
+                  case "findAnswerKeysByIdIn" -> {
+                    final List<AnswerKey> found = new ArrayList<>();
+                    for (Object id : (Collection<?>) args[0]) {
+                      final AnswerKey answerKey = answerKeys.get((Long) id);
+                      if (answerKey != null) {
+                        found.add(answerKey);
+                      }
+                    }
+                    yield found;
+                  }
+                  case "hashCode" -> System.identityHashCode(proxy);
+                  case "equals" -> proxy == args[0];
+                  case "toString" -> "StubQuestionRepository";
+                  default -> throw new UnsupportedOperationException(method.getName());
+                });
+  }
+}
@@ -0,0 +1,45 @@
+package com.example.TriviaBackend.cache;
+
+/** 64-bit fingerprint of an answer, so answer keys can be held without their strings. */
+public final class AnswerHash {
+  /** Never returned by {@link #of(CharSequence)}; stores use it to mark an absent key. */
+  public static final long NONE = 0L;
+
+  static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private AnswerHash() {}
+
+  public static long of(CharSequence answer) {
+    if (answer == null) {
+      return 1L;
+    }
+
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0; i < answer.length(); i++) {
+      hash = update(hash, answer.charAt(i));
+    }
+    return finish(hash, answer.length());
+  }
+
+  /** Feeds one more character into a hash started at {@link #FNV_OFFSET_BASIS}. */
+  static long update(long hash, char c) {
+    return (hash ^ c) * FNV_PRIME;
+  }
+
+  /** Completes a hash of {@code length} characters. */
+  static long finish(long hash, int length) {
+    final long mixed = mix(hash ^ length);
+    return mixed == NONE ? 1L : mixed;
+  }
+
+  /** Murmur3 finalizer, so FNV's weak low bits do not cluster open-addressing probes. */
+  static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,142 @@
+package com.example.TriviaBackend.cache;
+
+import com.example.TriviaBackend.config.AnswerKeyCacheProperties;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.repository.AnswerKey;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Correct answers by question id, so most answer checks never reach the database.
+ *
+ * <p>Answer keys never change once a question is saved, so entries are only ever written, expired
+ * or evicted. Only a 64-bit {@link AnswerHash} of each {@link AnswerNormalizer normalized} correct
+ * answer is kept, in a primitive {@link AnswerKeyStore}; an answer is correct when the hash of its
+ * normalized form matches, which is computed without allocating. When one of a question's
+ * incorrect answers normalizes to the same hash as its correct answer ({@link
+ * AnswerKey#exactMatchRequired()}), the correct answer string is kept instead and compared
+ * exactly, so the two can still be told apart. Every answer key is cached through {@link
+ * #put(AnswerKey)}, which decides between the two.
+ */
+@Component
+public class AnswerKeyCache {
+  /** Stored instead of a hash when the exact answer has to be compared. */
+  private static final long COLLISION = -1L;
+
+  private final AnswerKeyStore store;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  @Autowired
+  public AnswerKeyCache(AnswerKeyCacheProperties properties) {
+    this.store = new AnswerKeyStore(properties.maximumSize(), properties.ttl().toNanos());
+  }
+
+  public Lookup check(long questionId, String answer) {
+    final long correctHash;
+    String correctAnswer = null;
+    lock.readLock().lock();
+    try {
+      final long nowNanos = System.nanoTime();
+      correctHash = store.get(questionId, nowNanos);
+      if (correctHash == COLLISION) {
+        correctAnswer = store.exactAnswer(questionId, nowNanos);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    if (correctHash == AnswerHash.NONE) {
+      misses.increment();
+      return Lookup.MISS;
+    }
+
+    if (correctHash == COLLISION) {
+      hits.increment();
+      return correctAnswer.equals(answer) ? Lookup.CORRECT : Lookup.INCORRECT;
+    }
+
+    hits.increment();
+    return correctHash == AnswerNormalizer.hash(answer) ? Lookup.CORRECT : Lookup.INCORRECT;
+  }
+
+  /**
+   * Caches the answer key, as its correct answer when one of the incorrect answers collides with
+   * it and as its hash otherwise.
+   */
+  public void put(AnswerKey answerKey) {
+    if (answerKey.exactMatchRequired()) {
+      store(answerKey.id(), COLLISION, answerKey.correctAnswer());
+    } else {
+      store(answerKey.id(), AnswerHash.of(answerKey.normalizedCorrectAnswer()), null);
+    }
+  }
+
+  public void put(QuestionEntity question) {
+    put(AnswerKey.of(question));
+  }
+
+  /**
+   * Caches the given answer keys once the surrounding transaction commits, or right away when
+   * there is none, so rows that are rolled back never become visible to grading.
+   */
+  public void putAllAfterCommit(List<AnswerKey> answerKeys) {
+    afterCommit(() -> answerKeys.forEach(this::put));
+  }
+
+  /** Like {@link #putAllAfterCommit(List)}, for the answer keys of saved questions. */
+  public void putQuestionsAfterCommit(List<QuestionEntity> questions) {
+    afterCommit(() -> questions.forEach(this::put));
+  }
+
+  public Stats stats() {
+    lock.readLock().lock();
+    try {
+      return new Stats(hits.sum(), misses.sum(), evictions.sum(), store.size());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void store(long questionId, long answerHash, String exactAnswer) {
+    final int evicted;
+    lock.writeLock().lock();
+    try {
+      evicted = store.put(questionId, answerHash, exactAnswer, System.nanoTime());
+    } finally {
+      lock.writeLock().unlock();
+    }
+    evictions.add(evicted);
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  public enum Lookup {
+    CORRECT,
+    INCORRECT,
+    MISS
+  }
+
+  public record Stats(long hits, long misses, long evictions, int size) {}
+}
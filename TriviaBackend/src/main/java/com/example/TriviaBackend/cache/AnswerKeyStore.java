@@ -0,0 +1,238 @@
+package com.example.TriviaBackend.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Open-addressing map from question id to {@link AnswerHash}, built on primitive arrays.
+ *
+ * <p>Each entry costs two {@code long}s and a write sequence number in the table plus an id and a
+ * timestamp in the write-order ring, instead of a boxed id, an entity and its strings. The ring
+ * gives first-in-first-out eviction once {@code maximumSize} is reached and lets expired entries be
+ * purged from its head. Id {@code 0} is reserved as the empty marker; generated ids never use it.
+ *
+ * <p>The few entries that must be graded against their exact correct answer keep it in a side
+ * map, which loses the answer whenever its entry is replaced, evicted or purged, so it is bounded
+ * like the table.
+ *
+ * <p>Not thread-safe; {@link AnswerKeyCache} guards it with a read-write lock.
+ */
+class AnswerKeyStore {
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final long EMPTY = 0L;
+
+  private final int maximumSize;
+  private final long ttlNanos;
+
+  private long[] ids;
+  private long[] answerHashes;
+  private long[] writeSequences;
+  private int size;
+  private final Map<Long, String> exactAnswers = new HashMap<>();
+
+  private long[] ringIds;
+  private long[] ringWrittenAtNanos;
+  private long ringHead;
+  private long ringTail;
+
+  AnswerKeyStore(int maximumSize, long ttlNanos) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+    this.maximumSize = maximumSize;
+    this.ttlNanos = ttlNanos;
+    this.ids = new long[INITIAL_CAPACITY];
+    this.answerHashes = new long[INITIAL_CAPACITY];
+    this.writeSequences = new long[INITIAL_CAPACITY];
+    final int ringCapacity = Math.min(INITIAL_CAPACITY, ceilingPowerOfTwo(maximumSize));
+    this.ringIds = new long[ringCapacity];
+    this.ringWrittenAtNanos = new long[ringCapacity];
+  }
+
+  /** Returns the answer hash for the id, or {@link AnswerHash#NONE} if absent or expired. */
+  long get(long id, long nowNanos) {
+    final int slot = find(id);
+    if (slot < 0) {
+      return AnswerHash.NONE;
+    }
+
+    final long writtenAt = ringWrittenAtNanos[ringIndex(writeSequences[slot])];
+    return nowNanos - writtenAt > ttlNanos ? AnswerHash.NONE : answerHashes[slot];
+  }
+
+  /** Returns the exact answer stored with the id, or {@code null} if none, absent or expired. */
+  String exactAnswer(long id, long nowNanos) {
+    return get(id, nowNanos) == AnswerHash.NONE ? null : exactAnswers.get(id);
+  }
+
+  /** Stores the answer hash for the id and returns how many live entries had to be evicted. */
+  int put(long id, long answerHash, long nowNanos) {
+    return put(id, answerHash, null, nowNanos);
+  }
+
+  /** Like {@link #put(long, long, long)}, keeping an exact answer with the entry unless null. */
+  int put(long id, long answerHash, String exactAnswer, long nowNanos) {
+    if (id == EMPTY) {
+      throw new IllegalArgumentException("Question id 0 cannot be stored");
+    }
+
+    int evicted = purgeExpired(nowNanos);
+    int slot = find(id);
+    if (slot >= 0) {
+      // Retire the old ring entry so the id is not evicted on its original write order
+      ringIds[ringIndex(writeSequences[slot])] = EMPTY;
+    }
+    while (ringTail - ringHead >= maximumSize) {
+      evicted += evictHead();
+    }
+
+    if (exactAnswer == null) {
+      exactAnswers.remove(id);
+    } else {
+      exactAnswers.put(id, exactAnswer);
+    }
+
+    // Evictions shift probe chains, so look the id up again
+    slot = find(id);
+    if (slot >= 0) {
+      answerHashes[slot] = answerHash;
+      writeSequences[slot] = append(id, nowNanos);
+      return evicted;
+    }
+
+    if ((size + 1) * 4L > ids.length * 3L) {
+      resizeTable(ids.length * 2);
+    }
+
+    final long sequence = append(id, nowNanos);
+    slot = slotFor(id);
+    while (ids[slot] != EMPTY) {
+      slot = (slot + 1) & (ids.length - 1);
+    }
+    ids[slot] = id;
+    answerHashes[slot] = answerHash;
+    writeSequences[slot] = sequence;
+    size++;
+    return evicted;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int exactAnswerCount() {
+    return exactAnswers.size();
+  }
+
+  private int purgeExpired(long nowNanos) {
+    int evicted = 0;
+    while (ringHead < ringTail
+        && nowNanos - ringWrittenAtNanos[ringIndex(ringHead)] > ttlNanos) {
+      evicted += evictHead();
+    }
+    return evicted;
+  }
+
+  private int evictHead() {
+    final long id = ringIds[ringIndex(ringHead)];
+    final long sequence = ringHead++;
+    if (id == EMPTY) {
+      return 0;
+    }
+
+    final int slot = find(id);
+    if (slot < 0 || writeSequences[slot] != sequence) {
+      return 0;
+    }
+    remove(slot);
+    return 1;
+  }
+
+  private long append(long id, long nowNanos) {
+    if (ringTail - ringHead == ringIds.length) {
+      resizeRing(ringIds.length * 2);
+    }
+    final long sequence = ringTail++;
+    ringIds[ringIndex(sequence)] = id;
+    ringWrittenAtNanos[ringIndex(sequence)] = nowNanos;
+    return sequence;
+  }
+
+  private int find(long id) {
+    int slot = slotFor(id);
+    while (ids[slot] != EMPTY) {
+      if (ids[slot] == id) {
+        return slot;
+      }
+      slot = (slot + 1) & (ids.length - 1);
+    }
+    return -1;
+  }
+
+  /** Backward-shift deletion keeps linear probe chains intact without tombstones. */
+  private void remove(int slot) {
+    exactAnswers.remove(ids[slot]);
+    final int mask = ids.length - 1;
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (ids[next] != EMPTY) {
+      final int home = slotFor(ids[next]);
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        ids[hole] = ids[next];
+        answerHashes[hole] = answerHashes[next];
+        writeSequences[hole] = writeSequences[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    ids[hole] = EMPTY;
+    answerHashes[hole] = AnswerHash.NONE;
+    writeSequences[hole] = 0;
+    size--;
+  }
+
+  private void resizeTable(int capacity) {
+    final long[] oldIds = ids;
+    final long[] oldAnswerHashes = answerHashes;
+    final long[] oldWriteSequences = writeSequences;
+    ids = new long[capacity];
+    answerHashes = new long[capacity];
+    writeSequences = new long[capacity];
+    for (int i = 0; i < oldIds.length; i++) {
+      if (oldIds[i] == EMPTY) {
+        continue;
+      }
+      int slot = slotFor(oldIds[i]);
+      while (ids[slot] != EMPTY) {
+        slot = (slot + 1) & (capacity - 1);
+      }
+      ids[slot] = oldIds[i];
+      answerHashes[slot] = oldAnswerHashes[i];
+      writeSequences[slot] = oldWriteSequences[i];
+    }
+  }
+
+  private void resizeRing(int capacity) {
+    final long[] oldRingIds = ringIds;
+    final long[] oldRingWrittenAtNanos = ringWrittenAtNanos;
+    ringIds = new long[capacity];
+    ringWrittenAtNanos = new long[capacity];
+    for (long sequence = ringHead; sequence < ringTail; sequence++) {
+      final int oldIndex = (int) (sequence & (oldRingIds.length - 1));
+      ringIds[ringIndex(sequence)] = oldRingIds[oldIndex];
+      ringWrittenAtNanos[ringIndex(sequence)] = oldRingWrittenAtNanos[oldIndex];
+    }
+  }
+
+  private int ringIndex(long sequence) {
+    return (int) (sequence & (ringIds.length - 1));
+  }
+
+  private int slotFor(long id) {
+    return (int) (AnswerHash.mix(id) & (ids.length - 1));
+  }
+
+  private static int ceilingPowerOfTwo(int value) {
+    return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+  }
+}
@@ -0,0 +1,236 @@
+package com.example.TriviaBackend.cache;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Brings answers to the form they are graded in: HTML entities decoded, whitespace trimmed and
+ * collapsed to single spaces, and case folded. Open Trivia serves its text HTML-encoded ({@code
+ * &quot;}, {@code &#039;}), while clients submit what they displayed, so both sides are graded in
+ * this form.
+ *
+ * <p>{@link #normalize(String)} runs once per question, when it is ingested. {@link
+ * #hash(CharSequence)} fingerprints a submitted answer in the same pass without building the
+ * normalized string, so checking an answer allocates nothing. Decoding is not idempotent ({@code
+ * &amp;amp;} decodes to {@code &amp;}), so neither may be applied to text that is already
+ * normalized.
+ */
+public final class AnswerNormalizer {
+  /** Latin-1 supplement entities, named in code point order from U+00A0. */
+  private static final String LATIN_1 =
+      "nbsp iexcl cent pound curren yen brvbar sect uml copy ordf laquo not shy reg macr deg plusmn"
+          + " sup2 sup3 acute micro para middot cedil sup1 ordm raquo frac14 frac12 frac34 iquest"
+          + " Agrave Aacute Acirc Atilde Auml Aring AElig Ccedil Egrave Eacute Ecirc Euml Igrave"
+          + " Iacute Icirc Iuml ETH Ntilde Ograve Oacute Ocirc Otilde Ouml times Oslash Ugrave"
+          + " Uacute Ucirc Uuml Yacute THORN szlig agrave aacute acirc atilde auml aring aelig"
+          + " ccedil egrave eacute ecirc euml igrave iacute icirc iuml eth ntilde ograve oacute"
+          + " ocirc otilde ouml divide oslash ugrave uacute ucirc uuml yacute thorn yuml";
+
+  /** Greek capitals from U+0391 and small letters from U+03B1; U+03A2 is unassigned. */
+  private static final String GREEK =
+      "Alpha Beta Gamma Delta Epsilon Zeta Eta Theta Iota Kappa Lambda Mu Nu Xi Omicron Pi Rho -"
+          + " Sigma Tau Upsilon Phi Chi Psi Omega";
+
+  private static final String[] ENTITY_NAMES;
+  private static final int[] ENTITY_CODE_POINTS;
+  private static final int MAX_ENTITY_NAME_LENGTH;
+
+  static {
+    final Map<String, Integer> entities = new TreeMap<>();
+    final String[] latin1 = LATIN_1.split(" ");
+    for (int i = 0; i < latin1.length; i++) {
+      entities.put(latin1[i], 0xA0 + i);
+    }
+    final String[] greek = GREEK.split(" ");
+    for (int i = 0; i < greek.length; i++) {
+      if (!greek[i].equals("-")) {
+        entities.put(greek[i], 0x391 + i);
+        entities.put(greek[i].toLowerCase(), 0x3B1 + i);
+      }
+    }
+    entities.put("sigmaf", 0x3C2);
+    final Object[] others = {
+      "quot", 0x22, "amp", 0x26, "apos", 0x27, "lt", 0x3C, "gt", 0x3E,
+      "OElig", 0x152, "oelig", 0x153, "Scaron", 0x160, "scaron", 0x161, "Yuml", 0x178,
+      "fnof", 0x192, "circ", 0x2C6, "tilde", 0x2DC, "ensp", 0x2002, "emsp", 0x2003,
+      "thinsp", 0x2009, "ndash", 0x2013, "mdash", 0x2014, "lsquo", 0x2018, "rsquo", 0x2019,
+      "sbquo", 0x201A, "ldquo", 0x201C, "rdquo", 0x201D, "bdquo", 0x201E, "dagger", 0x2020,
+      "Dagger", 0x2021, "bull", 0x2022, "hellip", 0x2026, "permil", 0x2030, "prime", 0x2032,
+      "Prime", 0x2033, "lsaquo", 0x2039, "rsaquo", 0x203A, "euro", 0x20AC, "trade", 0x2122,
+      "larr", 0x2190, "rarr", 0x2192, "minus", 0x2212, "infin", 0x221E, "ne", 0x2260,
+      "le", 0x2264, "ge", 0x2265
+    };
+    for (int i = 0; i < others.length; i += 2) {
+      entities.put((String) others[i], (Integer) others[i + 1]);
+    }
+
+    ENTITY_NAMES = entities.keySet().toArray(String[]::new);
+    ENTITY_CODE_POINTS = entities.values().stream().mapToInt(Integer::intValue).toArray();
+    int maxLength = 0;
+    for (String name : ENTITY_NAMES) {
+      maxLength = Math.max(maxLength, name.length());
+    }
+    MAX_ENTITY_NAME_LENGTH = maxLength;
+  }
+
+  private AnswerNormalizer() {}
+
+  /** Returns the normalized form of {@code answer}, or {@code null} for {@code null}. */
+  public static String normalize(String answer) {
+    if (answer == null) {
+      return null;
+    }
+
+    final StringBuilder normalized = new StringBuilder(answer.length());
+    boolean pendingSpace = false;
+    for (int i = 0; i < answer.length(); ) {
+      final long decoded = decodeAt(answer, i);
+      final int codePoint = (int) (decoded >>> 32);
+      i = (int) decoded;
+      if (isSpace(codePoint)) {
+        pendingSpace = !normalized.isEmpty();
+        continue;
+      }
+      if (pendingSpace) {
+        normalized.append(' ');
+        pendingSpace = false;
+      }
+      normalized.appendCodePoint(fold(codePoint));
+    }
+    return normalized.toString();
+  }
+
+  /**
+   * Returns {@code AnswerHash.of(normalize(answer))}, computed as {@code answer} is read, without
+   * building the normalized string.
+   */
+  public static long hash(CharSequence answer) {
+    if (answer == null) {
+      return AnswerHash.of(null);
+    }
+
+    long hash = AnswerHash.FNV_OFFSET_BASIS;
+    int length = 0;
+    boolean pendingSpace = false;
+    for (int i = 0; i < answer.length(); ) {
+      final long decoded = decodeAt(answer, i);
+      final int codePoint = (int) (decoded >>> 32);
+      i = (int) decoded;
+      if (isSpace(codePoint)) {
+        pendingSpace = length > 0;
+        continue;
+      }
+      if (pendingSpace) {
+        hash = AnswerHash.update(hash, ' ');
+        length++;
+        pendingSpace = false;
+      }
+      final int folded = fold(codePoint);
+      if (Character.isBmpCodePoint(folded)) {
+        hash = AnswerHash.update(hash, (char) folded);
+        length++;
+      } else {
+        hash = AnswerHash.update(hash, Character.highSurrogate(folded));
+        hash = AnswerHash.update(hash, Character.lowSurrogate(folded));
+        length += 2;
+      }
+    }
+    return AnswerHash.finish(hash, length);
+  }
+
+  /**
+   * Decodes the character or entity at {@code index}; returns its code point in the high and the
+   * index after it in the low 32 bits. An {@code &} that starts no known entity is kept as is.
+   */
+  private static long decodeAt(CharSequence text, int index) {
+    if (text.charAt(index) == '&') {
+      final int end = entityEnd(text, index);
+      if (end > 0) {
+        final int codePoint =
+            text.charAt(index + 1) == '#'
+                ? numericEntity(text, index + 2, end)
+                : namedEntity(text, index + 1, end);
+        if (codePoint >= 0) {
+          return (long) codePoint << 32 | (end + 1);
+        }
+      }
+    }
+    final int codePoint = Character.codePointAt(text, index);
+    return (long) codePoint << 32 | (index + Character.charCount(codePoint));
+  }
+
+  /** Index of the {@code ;} closing an entity started at {@code ampersand}, or {@code -1}. */
+  private static int entityEnd(CharSequence text, int ampersand) {
+    // "#x10FFFF" is the longest numeric entity
+    final int limit =
+        Math.min(text.length(), ampersand + 2 + Math.max(MAX_ENTITY_NAME_LENGTH, 8));
+    for (int i = ampersand + 2; i < limit; i++) {
+      if (text.charAt(i) == ';') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Parses {@code [from, to)} as the digits of {@code &#...;} or {@code &#x...;}, else -1. */
+  private static int numericEntity(CharSequence text, int from, int to) {
+    int radix = 10;
+    if (from < to && (text.charAt(from) == 'x' || text.charAt(from) == 'X')) {
+      radix = 16;
+      from++;
+    }
+    if (from == to) {
+      return -1;
+    }
+    int codePoint = 0;
+    for (int i = from; i < to; i++) {
+      final int digit = Character.digit(text.charAt(i), radix);
+      if (digit < 0) {
+        return -1;
+      }
+      codePoint = codePoint * radix + digit;
+      if (codePoint > Character.MAX_CODE_POINT) {
+        return -1;
+      }
+    }
+    return codePoint == 0 || (codePoint >= 0xD800 && codePoint <= 0xDFFF) ? -1 : codePoint;
+  }
+
+  /** Looks the name in {@code [from, to)} up by binary search, without copying it out. */
+  private static int namedEntity(CharSequence text, int from, int to) {
+    int low = 0;
+    int high = ENTITY_NAMES.length - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int comparison = compare(ENTITY_NAMES[middle], text, from, to);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return ENTITY_CODE_POINTS[middle];
+      }
+    }
+    return -1;
+  }
+
+  private static int compare(String name, CharSequence text, int from, int to) {
+    final int length = Math.min(name.length(), to - from);
+    for (int i = 0; i < length; i++) {
+      final int comparison = Character.compare(name.charAt(i), text.charAt(from + i));
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return name.length() - (to - from);
+  }
+
+  private static boolean isSpace(int codePoint) {
+    return Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint);
+  }
+
+  /** Simple case folding: upper then lower case, so e.g. final and medial sigma compare equal. */
+  private static int fold(int codePoint) {
+    return Character.toLowerCase(Character.toUpperCase(codePoint));
+  }
+}
@@ -0,0 +1,265 @@
+package com.example.TriviaBackend.cache;
+
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.repository.QuestionBucketEntry;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.snapshot.QuestionSnapshot;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Question ids grouped by category, difficulty and type, so random questions matching a filter can
+ * be picked without the database scanning or sorting the question table.
+ *
+ * <p>Sampling draws distinct random positions across the matching buckets and the caller loads
+ * those ids by primary key. New questions arrive through {@link QuestionIndexListener} once their
+ * transaction commits; at startup the index is rebuilt from the covering {@code (category,
+ * difficulty, type, id)} index of the question table. Questions of a loaded {@link
+ * QuestionSnapshot} are sampled through the snapshot's own bucket table, so they cost nothing to
+ * index.
+ */
+@Component
+public class QuestionBucketIndex {
+  private final Logger LOG = LoggerFactory.getLogger(QuestionBucketIndex.class);
+  private final QuestionRepository questionRepository;
+  private final QuestionSnapshotStore snapshotStore;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private Map<BucketKey, Bucket> buckets = new HashMap<>();
+  private int size;
+  // Non-null while rebuilding: questions committed meanwhile, merged into the rebuilt index
+  private List<QuestionBucketEntry> addedDuringRebuild;
+
+  @Autowired
+  public QuestionBucketIndex(
+      QuestionRepository questionRepository, QuestionSnapshotStore snapshotStore) {
+    this.questionRepository = questionRepository;
+    this.snapshotStore = snapshotStore;
+  }
+
+  public void add(long id, String category, String difficulty, String type) {
+    lock.writeLock().lock();
+    try {
+      if (addedDuringRebuild != null) {
+        addedDuringRebuild.add(new QuestionBucketEntry(id, category, difficulty, type));
+      }
+      bucket(buckets, category, difficulty, type).add(id);
+      size++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Adds the question once the surrounding transaction commits, or right away without one. */
+  public void addAfterCommit(QuestionEntity question) {
+    final QuestionBucketEntry entry =
+        new QuestionBucketEntry(
+            question.getId(), question.getCategory(), question.getDifficulty(), question.getType());
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      add(entry);
+      return;
+    }
+
+    // One synchronization per transaction, however many questions it inserts
+    @SuppressWarnings("unchecked")
+    List<QuestionBucketEntry> pending =
+        (List<QuestionBucketEntry>) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      final List<QuestionBucketEntry> entries = new ArrayList<>();
+      TransactionSynchronizationManager.bindResource(this, entries);
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              entries.forEach(QuestionBucketIndex.this::add);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+              TransactionSynchronizationManager.unbindResourceIfPossible(QuestionBucketIndex.this);
+            }
+          });
+      pending = entries;
+    }
+    pending.add(entry);
+  }
+
+  /**
+   * Returns up to {@code amount} distinct, uniformly chosen ids of questions matching the filter.
+   * A {@code null} category, difficulty or type matches any value.
+   */
+  public long[] sample(String category, String difficulty, String type, int amount) {
+    final List<QuestionSnapshot.Bucket> snapshotMatching = new ArrayList<>();
+    int snapshotTotal = 0;
+    final QuestionSnapshot snapshot = snapshotStore.snapshot().orElse(null);
+    if (snapshot != null) {
+      for (QuestionSnapshot.Bucket bucket : snapshot.buckets()) {
+        if (bucket.matches(category, difficulty, type)) {
+          snapshotMatching.add(bucket);
+          snapshotTotal += bucket.size();
+        }
+      }
+    }
+
+    lock.readLock().lock();
+    try {
+      final List<Bucket> matching = new ArrayList<>();
+      int total = 0;
+      for (Map.Entry<BucketKey, Bucket> bucket : buckets.entrySet()) {
+        if (bucket.getKey().matches(category, difficulty, type)) {
+          matching.add(bucket.getValue());
+          total += bucket.getValue().size;
+        }
+      }
+
+      // Positions past the indexed questions fall into the snapshot's buckets
+      final int[] positions = RandomSample.distinctSorted(total + snapshotTotal, amount);
+      final long[] ids = new long[positions.length];
+      int bucketIndex = 0;
+      int bucketStart = 0;
+      int i = 0;
+      for (; i < positions.length && positions[i] < total; i++) {
+        while (positions[i] >= bucketStart + matching.get(bucketIndex).size) {
+          bucketStart += matching.get(bucketIndex++).size;
+        }
+        ids[i] = matching.get(bucketIndex).ids[positions[i] - bucketStart];
+      }
+      bucketIndex = 0;
+      bucketStart = total;
+      for (; i < positions.length; i++) {
+        while (positions[i] >= bucketStart + snapshotMatching.get(bucketIndex).size()) {
+          bucketStart += snapshotMatching.get(bucketIndex++).size();
+        }
+        final QuestionSnapshot.Bucket bucket = snapshotMatching.get(bucketIndex);
+        ids[i] = snapshot.id(bucket.first() + positions[i] - bucketStart);
+      }
+      return ids;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    lock.writeLock().lock();
+    try {
+      addedDuringRebuild = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    final Map<BucketKey, Bucket> rebuilt = new HashMap<>();
+    int rebuiltSize = 0;
+    try (Stream<QuestionBucketEntry> entries = questionRepository.streamBucketEntries()) {
+      // Rows arrive in index order, so the bucket only changes between runs of equal keys
+      BucketKey key = null;
+      Bucket bucket = null;
+      for (QuestionBucketEntry entry : (Iterable<QuestionBucketEntry>) entries::iterator) {
+        if (key == null || !key.matches(entry)) {
+          key = new BucketKey(entry.category(), entry.difficulty(), entry.type());
+          bucket = rebuilt.computeIfAbsent(key, k -> new Bucket());
+        }
+        bucket.add(entry.id());
+        rebuiltSize++;
+      }
+    } catch (RuntimeException e) {
+      // Keep serving from the current index, which also received the concurrent adds
+      lock.writeLock().lock();
+      try {
+        addedDuringRebuild = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+
+    lock.writeLock().lock();
+    try {
+      for (QuestionBucketEntry entry : addedDuringRebuild) {
+        final Bucket bucket =
+            bucket(rebuilt, entry.category(), entry.difficulty(), entry.type());
+        // The stream may already have read a question committed while it ran
+        if (!bucket.contains(entry.id())) {
+          bucket.add(entry.id());
+          rebuiltSize++;
+        }
+      }
+      addedDuringRebuild = null;
+      buckets = rebuilt;
+      size = rebuiltSize;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    LOG.info("Indexed {} questions in {} buckets", rebuiltSize, rebuilt.size());
+  }
+
+  private void add(QuestionBucketEntry entry) {
+    add(entry.id(), entry.category(), entry.difficulty(), entry.type());
+  }
+
+  private static Bucket bucket(
+      Map<BucketKey, Bucket> buckets, String category, String difficulty, String type) {
+    return buckets.computeIfAbsent(new BucketKey(category, difficulty, type), key -> new Bucket());
+  }
+
+  private record BucketKey(String category, String difficulty, String type) {
+    boolean matches(String category, String difficulty, String type) {
+      return (category == null || category.equals(this.category))
+          && (difficulty == null || difficulty.equals(this.difficulty))
+          && (type == null || type.equals(this.type));
+    }
+
+    boolean matches(QuestionBucketEntry entry) {
+      return Objects.equals(category, entry.category())
+          && Objects.equals(difficulty, entry.difficulty())
+          && Objects.equals(type, entry.type());
+    }
+  }
+
+  private static final class Bucket {
+    private long[] ids = new long[16];
+    private int size;
+
+    void add(long id) {
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      ids[size++] = id;
+    }
+
+    boolean contains(long id) {
+      for (int i = 0; i < size; i++) {
+        if (ids[i] == id) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
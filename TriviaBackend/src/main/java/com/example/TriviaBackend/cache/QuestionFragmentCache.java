@@ -0,0 +1,102 @@
+package com.example.TriviaBackend.cache;
+
+import com.example.TriviaBackend.config.AnswerShuffleProperties;
+import com.example.TriviaBackend.config.QuestionFragmentCacheProperties;
+import com.example.TriviaBackend.dto.response.QuestionResponse;
+import com.example.TriviaBackend.dto.response.SerializedQuestion;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Public JSON of questions by id, serialized once per question.
+ *
+ * <p>A question's id, text and answer options never change once it is saved, so its JSON can be
+ * reused by every response that includes it. Entries are evicted oldest first once {@code
+ * maximumSize} is reached; an evicted question is simply serialized again when next served.
+ *
+ * <p>Answer options are shuffled with a permutation seeded by the question id and a key that is
+ * not derived from public data, so the order is random to clients yet identical every time the
+ * question is serialized. Grading compares answer text, so it does not depend on the order.
+ */
+@Component
+public class QuestionFragmentCache {
+  private final ObjectWriter writer;
+  private final int maximumSize;
+  private final boolean shuffleAnswers;
+  private final long shuffleKey;
+  private final Map<Long, SerializedQuestion> fragments = new ConcurrentHashMap<>();
+  private final Queue<Long> insertionOrder = new ConcurrentLinkedQueue<>();
+
+  @Autowired
+  public QuestionFragmentCache(
+      ObjectMapper objectMapper,
+      QuestionFragmentCacheProperties properties,
+      AnswerShuffleProperties shuffleProperties) {
+    if (properties.maximumSize() < 1) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+    this.writer = objectMapper.writerFor(QuestionResponse.class);
+    this.maximumSize = properties.maximumSize();
+    this.shuffleAnswers = shuffleProperties.enabled();
+    this.shuffleKey =
+        shuffleProperties.seed() != null
+            ? shuffleProperties.seed()
+            : new SecureRandom().nextLong();
+  }
+
+  public SerializedQuestion get(QuestionEntity question) {
+    final SerializedQuestion cached = fragments.get(question.getId());
+    if (cached != null) {
+      return cached;
+    }
+
+    final SerializedQuestion serialized = SerializedQuestion.of(toResponse(question), writer);
+    final SerializedQuestion raced = fragments.putIfAbsent(question.getId(), serialized);
+    if (raced != null) {
+      return raced;
+    }
+    insertionOrder.add(question.getId());
+    while (fragments.size() > maximumSize) {
+      final Long oldest = insertionOrder.poll();
+      if (oldest == null) {
+        break;
+      }
+      fragments.remove(oldest);
+    }
+    return serialized;
+  }
+
+  /** Serializes the questions ahead of time, off the request path. */
+  public void putAll(Collection<QuestionEntity> questions) {
+    questions.forEach(this::get);
+  }
+
+  public int size() {
+    return fragments.size();
+  }
+
+  private QuestionResponse toResponse(QuestionEntity question) {
+    final List<String> incorrectAnswers = question.getIncorrectAnswers();
+    final String[] answerOptions = new String[incorrectAnswers.size() + 1];
+    for (int i = 0; i < incorrectAnswers.size(); i++) {
+      answerOptions[i] = incorrectAnswers.get(i);
+    }
+    answerOptions[incorrectAnswers.size()] = question.getCorrectAnswer();
+    if (shuffleAnswers) {
+      RandomSample.shuffle(answerOptions, RandomSample.mix(shuffleKey ^ question.getId()));
+    }
+    return new QuestionResponse(
+        question.getId(), question.getQuestion(), Arrays.asList(answerOptions));
+  }
+}
@@ -0,0 +1,23 @@
+package com.example.TriviaBackend.cache;
+
+import com.example.TriviaBackend.entity.QuestionEntity;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Feeds every inserted question into the {@link QuestionBucketIndex}, whichever code path saved
+ * it. Instantiated by Hibernate through Spring; the index is looked up lazily because it depends on
+ * the repository, which in turn needs the entity manager factory that creates this listener.
+ */
+public class QuestionIndexListener {
+  private final ObjectProvider<QuestionBucketIndex> questionBucketIndex;
+
+  public QuestionIndexListener(ObjectProvider<QuestionBucketIndex> questionBucketIndex) {
+    this.questionBucketIndex = questionBucketIndex;
+  }
+
+  @PostPersist
+  void questionInserted(QuestionEntity question) {
+    questionBucketIndex.getObject().addAfterCommit(question);
+  }
+}
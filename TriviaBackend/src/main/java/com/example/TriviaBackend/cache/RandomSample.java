@@ -0,0 +1,55 @@
+package com.example.TriviaBackend.cache;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Uniform sampling of positions without replacement, and seeded shuffles. */
+public final class RandomSample {
+  private RandomSample() {}
+
+  /**
+   * Floyd's algorithm: {@code min(amount, total)} distinct positions below {@code total}, sorted.
+   * Costs {@code amount} random draws however large {@code total} is.
+   */
+  public static int[] distinctSorted(int total, int amount) {
+    final int picks = Math.max(0, Math.min(amount, total));
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final Set<Integer> chosen = new HashSet<>(picks * 2);
+    for (int candidate = total - picks; candidate < total; candidate++) {
+      final int position = random.nextInt(candidate + 1);
+      chosen.add(chosen.contains(position) ? candidate : position);
+    }
+    final int[] positions = new int[chosen.size()];
+    int i = 0;
+    for (int position : chosen) {
+      positions[i++] = position;
+    }
+    Arrays.sort(positions);
+    return positions;
+  }
+
+  /**
+   * Fisher-Yates shuffle of {@code values} in place, drawing from a SplitMix64 sequence started at
+   * {@code seed}. The same seed always gives the same order, and nothing is allocated.
+   */
+  public static void shuffle(Object[] values, long seed) {
+    long state = seed;
+    for (int i = values.length - 1; i > 0; i--) {
+      state += 0x9E3779B97F4A7C15L;
+      final int j = (int) Long.remainderUnsigned(mix(state), i + 1);
+      final Object swapped = values[i];
+      values[i] = values[j];
+      values[j] = swapped;
+    }
+  }
+
+  /** The SplitMix64 finalizer: spreads every input bit over the whole output. */
+  public static long mix(long value) {
+    long z = value;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -1,28 +1,62 @@
 package com.example.TriviaBackend.client;
 
+import com.example.TriviaBackend.concurrent.SingleFlight;
+import com.example.TriviaBackend.config.TriviaClientProperties;
 import com.example.TriviaBackend.dto.response.TriviaResponse;
 import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.exception.RateLimitExceededException;
+import com.example.TriviaBackend.exception.UpstreamUnavailableException;
+import com.example.TriviaBackend.metrics.TriviaMetrics;
+import com.example.TriviaBackend.provider.QuestionProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.List;
 
 @Service
-public class TriviaClient {
+public class TriviaClient implements QuestionProvider {
     private final Logger LOG = LoggerFactory.getLogger(TriviaClient.class);
-    private final String URI = "https://opentdb.com/api.php?amount=10";
+    private final String uri;
     private final RestTemplate restTemplate;
+    private final UpstreamRateLimiter rateLimiter;
+    private final UpstreamCircuitBreaker circuitBreaker;
+    private final TriviaMetrics metrics;
+    private final SingleFlight<TriviaResponse> upstreamCall = new SingleFlight<>();
 
     @Autowired
-    public TriviaClient(RestTemplate restTemplate) {
+    public TriviaClient(
+            RestTemplate restTemplate,
+            UpstreamRateLimiter rateLimiter,
+            UpstreamCircuitBreaker circuitBreaker,
+            TriviaClientProperties properties,
+            TriviaMetrics metrics) {
         this.restTemplate = restTemplate;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+        this.uri = properties.uri();
+        metrics.upstreamInterval(rateLimiter::interval);
     }
 
+    @Override
+    public String name() {
+        return "opentdb";
+    }
+
+    @Override
     public List<QuestionEntity> getQuestions() {
-        final TriviaResponse response = restTemplate.getForObject(URI, TriviaResponse.class);
+        return metrics.clientQuestions().record(this::requestQuestions);
+    }
+
+    private List<QuestionEntity> requestQuestions() {
+        // Concurrent callers share one upstream call and therefore receive the same questions
+        final TriviaResponse response = upstreamCall.execute(this::fetch);
 
         if (response == null) {
             return List.of();
@@ -30,15 +64,11 @@ public class TriviaClient {
 
         return switch (response.getResponseCode()) {
             // case 1 - 4 will return an empty list, since these are errors based on parameters we don't
-            // use
+            // use. Response code 5 has already failed in fetch, where the rate limiter backs off
             case 0 -> {
                 LOG.info("Retrieved {} questions from Trivia API", response.getResults().size());
                 yield transfigureTriviaResponse(response.getResults());
             }
-            case 5 -> {
-                LOG.error("Rate limit of the Open Trivia API reached, throwing exception");
-                throw new RuntimeException("Rate limit reached");
-            }
             default -> {
                 LOG.error("Open Trivia API returned an empty list");
                 yield List.of();
@@ -46,6 +76,59 @@ public class TriviaClient {
         };
     }
 
+    /**
+     * Makes the upstream call through the circuit breaker. Connection failures, timeouts, error
+     * statuses and response code 5 count as failures; an open breaker fails fast.
+     *
+     * <p>Every response tells the rate limiter whether the upstream accepted the call. Response
+     * code 5 and HTTP 429 widen its spacing and fail with the wait until its next free slot, which
+     * callers get as {@code Retry-After}; any other response narrows the spacing again.
+     */
+    private TriviaResponse fetch() {
+        circuitBreaker.acquirePermission();
+        try {
+            rateLimiter.acquire();
+        } catch (RuntimeException e) {
+            circuitBreaker.release();
+            throw e;
+        }
+
+        final TriviaResponse response;
+        try {
+            response =
+                    metrics.upstreamRequests()
+                            .record(() -> restTemplate.getForObject(uri, TriviaResponse.class));
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            throw throttled();
+        } catch (RestClientException e) {
+            circuitBreaker.onFailure();
+            LOG.error("Calling the Open Trivia API failed: {}", e.getMessage());
+            throw new UpstreamUnavailableException("Open Trivia API request failed", e);
+        }
+        if (response != null) {
+            metrics.upstreamResponse(response.getResponseCode());
+        }
+        if (response != null && response.getResponseCode() == 5) {
+            throw throttled();
+        }
+        circuitBreaker.onSuccess();
+        rateLimiter.onSuccess();
+        return response;
+    }
+
+    private RateLimitExceededException throttled() {
+        circuitBreaker.onFailure();
+        final Duration retryAfter = rateLimiter.onThrottled();
+        LOG.error(
+                "Rate limit of the Open Trivia API reached, spacing calls {} apart",
+                rateLimiter.interval());
+        return new RateLimitExceededException(retryAfter);
+    }
+
+    /**
+     * Maps fetched questions to entities. Each entity HTML-decodes and normalizes its correct
+     * answer here, once, so grading compares precomputed hashes instead of decoding every check.
+     */
     private List<QuestionEntity> transfigureTriviaResponse(
             List<TriviaResponse.TriviaQuestion> results) {
         return results.stream().map(QuestionEntity::new).toList();
@@ -0,0 +1,128 @@
+package com.example.TriviaBackend.client;
+
+import com.example.TriviaBackend.exception.UpstreamUnavailableException;
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker around calls to the Open Trivia API.
+ *
+ * <p>While closed, the outcomes of the last {@code windowSize} calls are kept in a ring; once at
+ * least {@code minimumCalls} are recorded and the share of failures reaches the threshold, the
+ * breaker opens. An open breaker rejects calls without touching the network until {@code
+ * openDuration} has passed, then lets {@code halfOpenCalls} probe calls through. The breaker
+ * closes again when every probe succeeds and reopens on the first failed probe.
+ */
+public class UpstreamCircuitBreaker {
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final boolean[] failures;
+  private final int minimumCalls;
+  private final int failureRateThreshold;
+  private final long openNanos;
+  private final int halfOpenCalls;
+  private State state = State.CLOSED;
+  private int recorded;
+  private int next;
+  private int failed;
+  private long openedAt;
+  private int probesStarted;
+  private int probesSucceeded;
+
+  /**
+   * @param failureRateThreshold percentage of failed calls in the window that opens the breaker
+   */
+  public UpstreamCircuitBreaker(
+      int windowSize,
+      int minimumCalls,
+      int failureRateThreshold,
+      Duration openDuration,
+      int halfOpenCalls) {
+    this.failures = new boolean[windowSize];
+    this.minimumCalls = Math.min(minimumCalls, windowSize);
+    this.failureRateThreshold = failureRateThreshold;
+    this.openNanos = openDuration.toNanos();
+    this.halfOpenCalls = halfOpenCalls;
+  }
+
+  /** Throws {@link UpstreamUnavailableException} when the call must not be made. */
+  public synchronized void acquirePermission() {
+    if (state == State.OPEN) {
+      if (System.nanoTime() - openedAt < openNanos) {
+        throw new UpstreamUnavailableException("Open Trivia API is unavailable, circuit is open");
+      }
+      state = State.HALF_OPEN;
+      probesStarted = 0;
+      probesSucceeded = 0;
+    }
+    if (state == State.HALF_OPEN) {
+      if (probesStarted == halfOpenCalls) {
+        throw new UpstreamUnavailableException(
+            "Open Trivia API is unavailable, circuit is probing");
+      }
+      probesStarted++;
+    }
+  }
+
+  /** Hands back a permission whose call was never made. */
+  public synchronized void release() {
+    if (state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+      probesStarted--;
+    }
+  }
+
+  public synchronized void onSuccess() {
+    if (state == State.HALF_OPEN) {
+      if (++probesSucceeded == halfOpenCalls) {
+        close();
+      }
+      return;
+    }
+    record(false);
+  }
+
+  public synchronized void onFailure() {
+    if (state == State.HALF_OPEN) {
+      open();
+      return;
+    }
+    record(true);
+  }
+
+  public synchronized State state() {
+    return state;
+  }
+
+  private void record(boolean failure) {
+    if (state != State.CLOSED) {
+      // A call let through before the breaker opened
+      return;
+    }
+    if (recorded == failures.length) {
+      failed -= failures[next] ? 1 : 0;
+    } else {
+      recorded++;
+    }
+    failures[next] = failure;
+    failed += failure ? 1 : 0;
+    next = (next + 1) % failures.length;
+    if (recorded >= minimumCalls && failed * 100L >= (long) failureRateThreshold * recorded) {
+      open();
+    }
+  }
+
+  private void open() {
+    state = State.OPEN;
+    openedAt = System.nanoTime();
+  }
+
+  private void close() {
+    state = State.CLOSED;
+    recorded = 0;
+    next = 0;
+    failed = 0;
+  }
+}
@@ -0,0 +1,110 @@
+package com.example.TriviaBackend.client;
+
+import com.example.TriviaBackend.exception.RateLimitExceededException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket that spaces calls to the Open Trivia API.
+ *
+ * <p>Instead of rejecting a caller when no token is available, {@link #acquire()} reserves the next
+ * free slot and parks the caller until it arrives. Callers whose slot lies further out than the
+ * maximum queue wait are rejected up front, so the added latency stays bounded.
+ *
+ * <p>The spacing adapts to the upstream's actual budget, AIMD-style: every call the upstream
+ * accepts takes a fixed step off the interval, down to its minimum, and every call it rejects as
+ * rate limited multiplies the interval, up to its maximum, and holds back the next call for a full
+ * interval. Calls so creep up on the rate at which the upstream starts rejecting them and back off
+ * quickly once it does.
+ */
+public class UpstreamRateLimiter {
+  private final long minIntervalNanos;
+  private final long maxIntervalNanos;
+  private final long decreaseNanos;
+  private final double backoffFactor;
+  private final int burst;
+  private final long maxWaitNanos;
+  private long intervalNanos;
+  private long theoreticalArrivalNanos = System.nanoTime();
+
+  /** A limiter whose interval never adapts. */
+  public UpstreamRateLimiter(Duration interval, int burst, Duration maxWait) {
+    this(interval, interval, interval, Duration.ZERO, 1, burst, maxWait);
+  }
+
+  /**
+   * @param interval spacing the limiter starts from; widens the minimum or maximum it lies outside
+   * @param intervalDecrease taken off the interval for every accepted call
+   * @param backoffFactor the interval is multiplied with for every rate limited call
+   */
+  public UpstreamRateLimiter(
+      Duration interval,
+      Duration minInterval,
+      Duration maxInterval,
+      Duration intervalDecrease,
+      double backoffFactor,
+      int burst,
+      Duration maxWait) {
+    this.intervalNanos = interval.toNanos();
+    this.minIntervalNanos = Math.min(minInterval.toNanos(), intervalNanos);
+    this.maxIntervalNanos = Math.max(maxInterval.toNanos(), intervalNanos);
+    this.decreaseNanos = intervalDecrease.toNanos();
+    this.backoffFactor = backoffFactor;
+    this.burst = burst;
+    this.maxWaitNanos = maxWait.toNanos();
+  }
+
+  public void acquire() {
+    final long waitNanos = reserve();
+    if (waitNanos <= 0) {
+      return;
+    }
+
+    try {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the Open Trivia API", e);
+    }
+  }
+
+  /** Additive increase: the upstream accepted a call, so space the next ones a step closer. */
+  public synchronized void onSuccess() {
+    intervalNanos = Math.max(minIntervalNanos, intervalNanos - decreaseNanos);
+  }
+
+  /**
+   * Multiplicative decrease: the upstream rejected a call as rate limited, so widen the spacing and
+   * keep the next call back for a full interval. Returns the wait until the next free slot.
+   */
+  public synchronized Duration onThrottled() {
+    intervalNanos = (long) Math.min(maxIntervalNanos, Math.ceil(intervalNanos * backoffFactor));
+    final long now = System.nanoTime();
+    theoreticalArrivalNanos =
+        Math.max(theoreticalArrivalNanos, now + intervalNanos + burstNanos());
+    return Duration.ofNanos(nextSlotNanos(now));
+  }
+
+  /** The current spacing between two calls. */
+  public synchronized Duration interval() {
+    return Duration.ofNanos(intervalNanos);
+  }
+
+  private synchronized long reserve() {
+    final long now = System.nanoTime();
+    final long waitNanos = nextSlotNanos(now);
+    if (waitNanos > maxWaitNanos) {
+      throw new RateLimitExceededException(Duration.ofNanos(waitNanos));
+    }
+    theoreticalArrivalNanos = Math.max(theoreticalArrivalNanos, now) + intervalNanos;
+    return waitNanos;
+  }
+
+  private long nextSlotNanos(long now) {
+    return Math.max(theoreticalArrivalNanos, now) - burstNanos() - now;
+  }
+
+  private long burstNanos() {
+    return (burst - 1) * intervalNanos;
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.TriviaBackend.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent executions of the same work into one.
+ *
+ * <p>The first caller runs the supplier on its own thread; callers arriving while it is in flight
+ * wait for and share its result or failure. Once the call completes the next caller starts a new
+ * one.
+ */
+public class SingleFlight<T> {
+  private final AtomicReference<CompletableFuture<T>> inFlight = new AtomicReference<>();
+
+  public CompletableFuture<T> submit(Supplier<T> supplier) {
+    final CompletableFuture<T> call = new CompletableFuture<>();
+    final CompletableFuture<T> running = inFlight.compareAndExchange(null, call);
+    if (running != null) {
+      return running;
+    }
+
+    try {
+      call.complete(supplier.get());
+    } catch (RuntimeException e) {
+      call.completeExceptionally(e);
+    } catch (Throwable e) {
+      // Waiting callers must not block forever, even when the call fails with an Error
+      call.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.set(null);
+    }
+    return call;
+  }
+
+  public T execute(Supplier<T> supplier) {
+    try {
+      return submit(supplier).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
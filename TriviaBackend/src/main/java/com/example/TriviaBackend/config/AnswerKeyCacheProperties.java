@@ -0,0 +1,15 @@
+package com.example.TriviaBackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bounds of the in-memory answer-key cache used for grading.
+ *
+ * @param maximumSize number of answer keys kept before the oldest are evicted
+ * @param ttl time after which an answer key is no longer served from the cache
+ */
+@ConfigurationProperties(prefix = "trivia.answer-key-cache")
+public record AnswerKeyCacheProperties(
+    @DefaultValue("1000000") int maximumSize, @DefaultValue("24h") Duration ttl) {}
@@ -0,0 +1,13 @@
+package com.example.TriviaBackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Order of the answer options served with a question.
+ *
+ * @param enabled whether answer options are shuffled; otherwise the correct answer comes last
+ * @param seed key of the per-question permutations; unset picks a random key at startup
+ */
+@ConfigurationProperties(prefix = "trivia.answer-shuffle")
+public record AnswerShuffleProperties(@DefaultValue("true") boolean enabled, Long seed) {}
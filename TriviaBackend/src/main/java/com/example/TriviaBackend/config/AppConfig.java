@@ -1,7 +1,25 @@
 package com.example.TriviaBackend.config;
 
+import com.example.TriviaBackend.cache.QuestionBucketIndex;
+import com.example.TriviaBackend.client.TriviaClient;
+import com.example.TriviaBackend.client.UpstreamCircuitBreaker;
+import com.example.TriviaBackend.client.UpstreamRateLimiter;
+import com.example.TriviaBackend.provider.FanOutQuestionProvider;
+import com.example.TriviaBackend.provider.FileQuestionProvider;
+import com.example.TriviaBackend.provider.QuestionProvider;
+import com.example.TriviaBackend.provider.StoredQuestionProvider;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -9,8 +27,73 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class AppConfig {
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(
+            TriviaClientProperties properties,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        final HttpClient.Builder httpClient =
+                HttpClient.newBuilder().connectTimeout(properties.connectTimeout());
+        if (virtualThreads) {
+            httpClient.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+
+        final JdkClientHttpRequestFactory requestFactory =
+                new JdkClientHttpRequestFactory(httpClient.build());
+        requestFactory.setReadTimeout(properties.readTimeout());
+        return new RestTemplate(requestFactory);
+    }
+
+    @Bean
+    public UpstreamRateLimiter upstreamRateLimiter(TriviaClientProperties properties) {
+        return new UpstreamRateLimiter(
+                properties.upstreamInterval(),
+                properties.minUpstreamInterval(),
+                properties.maxUpstreamInterval(),
+                properties.intervalDecrease(),
+                properties.backoffFactor(),
+                properties.burst(),
+                properties.maxQueueWait());
+    }
+
+    @Bean
+    public UpstreamCircuitBreaker upstreamCircuitBreaker(
+            UpstreamCircuitBreakerProperties properties) {
+        return new UpstreamCircuitBreaker(
+                properties.windowSize(),
+                properties.minimumCalls(),
+                properties.failureRateThreshold(),
+                properties.openDuration(),
+                properties.halfOpenCalls());
+    }
+
+    /** The providers the question pool is refilled from, asked in parallel. */
+    @Bean
+    @Primary
+    public FanOutQuestionProvider questionProvider(
+            QuestionProviderProperties properties,
+            TriviaClient triviaClient,
+            ObjectMapper objectMapper,
+            QuestionBucketIndex bucketIndex,
+            QuestionSnapshotStore snapshotStore,
+            QuestionRepository questionRepository) {
+        final List<QuestionProvider> providers = new ArrayList<>();
+        if (properties.openTrivia()) {
+            providers.add(triviaClient);
+        }
+        if (properties.file() != null) {
+            providers.add(
+                    new FileQuestionProvider(
+                            properties.file(), properties.batchSize(), objectMapper));
+        }
+        if (properties.database()) {
+            providers.add(
+                    new StoredQuestionProvider(
+                            bucketIndex,
+                            snapshotStore,
+                            questionRepository,
+                            properties.batchSize()));
+        }
+        return new FanOutQuestionProvider(
+                providers, properties.batchSize(), properties.latencyBudget());
     }
 
     @Bean
@@ -0,0 +1,23 @@
+package com.example.TriviaBackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Grading of large answer batches.
+ *
+ * @param bulkEnabled whether {@code POST /api/checkanswers/bulk} is served; it grades answers to
+ *     any stored question, so it reveals answer keys and is meant for trusted grading jobs
+ * @param chunkSize answers parsed, graded and written at a time, which bounds the memory a batch
+ *     takes however large it is
+ * @param parallelThreshold answers graded together from which the work is split over the grading
+ *     pool
+ * @param parallelism threads of the grading pool, {@code 0} for one per available processor; with
+ *     a single thread grading always stays on the calling thread
+ */
+@ConfigurationProperties(prefix = "trivia.grading")
+public record GradingProperties(
+    @DefaultValue("false") boolean bulkEnabled,
+    @DefaultValue("4096") int chunkSize,
+    @DefaultValue("2048") int parallelThreshold,
+    @DefaultValue("0") int parallelism) {}
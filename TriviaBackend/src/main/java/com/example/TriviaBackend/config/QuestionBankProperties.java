@@ -0,0 +1,14 @@
+package com.example.TriviaBackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Copying the question bank between instances.
+ *
+ * @param transferEnabled whether {@code GET /api/questions/export} and {@code POST
+ *     /api/questions/import} are served; the export reveals every answer key and the import writes
+ *     to the bank, so they are meant for trusted operators only
+ */
+@ConfigurationProperties(prefix = "trivia.bank")
+public record QuestionBankProperties(@DefaultValue("false") boolean transferEnabled) {}
@@ -0,0 +1,12 @@
+package com.example.TriviaBackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bound of the cache of serialized questions.
+ *
+ * @param maximumSize number of serialized questions kept before the oldest are evicted
+ */
+@ConfigurationProperties(prefix = "trivia.fragment-cache")
+public record QuestionFragmentCacheProperties(@DefaultValue("100000") int maximumSize) {}
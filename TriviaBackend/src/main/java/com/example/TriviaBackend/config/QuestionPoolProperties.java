@@ -0,0 +1,20 @@
+package com.example.TriviaBackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sizing of the in-memory pool of unserved questions.
+ *
+ * @param lowWatermark pool size below which a background refill is triggered
+ * @param highWatermark pool size at which the background refill stops fetching
+ * @param retryDelay delay before a failed background refill is retried
+ * @param backgroundRefill whether the pool refills itself in the background
+ */
+@ConfigurationProperties(prefix = "trivia.pool")
+public record QuestionPoolProperties(
+    @DefaultValue("20") int lowWatermark,
+    @DefaultValue("100") int highWatermark,
+    @DefaultValue("5s") Duration retryDelay,
+    @DefaultValue("true") boolean backgroundRefill) {}
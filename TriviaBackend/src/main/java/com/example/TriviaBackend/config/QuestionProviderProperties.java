@@ -0,0 +1,23 @@
+package com.example.TriviaBackend.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sources the question pool is refilled from.
+ *
+ * @param openTrivia whether the Open Trivia API is asked
+ * @param batchSize questions a refill aims for, and a local source hands out per call
+ * @param latencyBudget longest a refill waits to fill a batch before serving what has arrived
+ * @param file newline-delimited JSON question bank to draw from; unset disables it
+ * @param database whether questions already stored are drawn again
+ */
+@ConfigurationProperties(prefix = "trivia.providers")
+public record QuestionProviderProperties(
+    @DefaultValue("true") boolean openTrivia,
+    @DefaultValue("10") int batchSize,
+    @DefaultValue("2s") Duration latencyBudget,
+    Path file,
+    @DefaultValue("false") boolean database) {}
@@ -0,0 +1,15 @@
+package com.example.TriviaBackend.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Location and refresh rate of the memory-mapped question snapshot.
+ *
+ * @param path snapshot file loaded at startup and rewritten periodically; unset disables snapshots
+ * @param writeInterval time between two snapshot writes
+ */
+@ConfigurationProperties(prefix = "trivia.snapshot")
+public record QuestionSnapshotProperties(Path path, @DefaultValue("15m") Duration writeInterval) {}
@@ -0,0 +1,20 @@
+package com.example.TriviaBackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Write-behind persistence of fetched questions.
+ *
+ * @param enabled whether fetched questions are served before they are inserted
+ * @param queueCapacity questions waiting to be inserted before a refill blocks
+ * @param batchSize questions inserted per batched statement and transaction
+ * @param shutdownTimeout longest the shutdown waits for the queue to be written
+ */
+@ConfigurationProperties(prefix = "trivia.write-behind")
+public record QuestionWriteBehindProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10000") int queueCapacity,
+    @DefaultValue("50") int batchSize,
+    @DefaultValue("30s") Duration shutdownTimeout) {}
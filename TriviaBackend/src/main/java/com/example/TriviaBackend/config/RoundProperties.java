@@ -0,0 +1,15 @@
+package com.example.TriviaBackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bounds of the in-memory registry of rounds awaiting grading.
+ *
+ * @param ttl time after which an ungraded round can no longer be graded
+ * @param maximumSize number of rounds kept before the oldest are evicted
+ */
+@ConfigurationProperties(prefix = "trivia.rounds")
+public record RoundProperties(
+    @DefaultValue("30m") Duration ttl, @DefaultValue("250000") int maximumSize) {}
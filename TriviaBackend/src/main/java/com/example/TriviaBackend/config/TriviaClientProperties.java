@@ -0,0 +1,32 @@
+package com.example.TriviaBackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Connection settings and limits for calls to the Open Trivia API.
+ *
+ * @param uri endpoint questions are fetched from
+ * @param connectTimeout time allowed to establish a connection to the upstream
+ * @param readTimeout time allowed for the upstream to answer
+ * @param upstreamInterval spacing between two upstream calls the limiter starts from
+ * @param burst number of upstream calls allowed back to back before spacing applies
+ * @param maxQueueWait longest a caller waits for an upstream slot before being rejected
+ * @param minUpstreamInterval spacing the limiter never goes below, however many calls succeed
+ * @param maxUpstreamInterval spacing the limiter never backs off beyond
+ * @param intervalDecrease taken off the spacing for every call the upstream accepts
+ * @param backoffFactor the spacing is multiplied with for every call rejected as rate limited
+ */
+@ConfigurationProperties(prefix = "trivia.client")
+public record TriviaClientProperties(
+    @DefaultValue("https://opentdb.com/api.php?amount=10") String uri,
+    @DefaultValue("2s") Duration connectTimeout,
+    @DefaultValue("5s") Duration readTimeout,
+    @DefaultValue("5s") Duration upstreamInterval,
+    @DefaultValue("1") int burst,
+    @DefaultValue("30s") Duration maxQueueWait,
+    @DefaultValue("5s") Duration minUpstreamInterval,
+    @DefaultValue("1m") Duration maxUpstreamInterval,
+    @DefaultValue("250ms") Duration intervalDecrease,
+    @DefaultValue("2") double backoffFactor) {}
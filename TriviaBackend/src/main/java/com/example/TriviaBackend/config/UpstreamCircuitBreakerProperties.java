@@ -0,0 +1,22 @@
+package com.example.TriviaBackend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Thresholds of the circuit breaker around calls to the Open Trivia API.
+ *
+ * @param windowSize number of most recent calls the failure rate is computed over
+ * @param minimumCalls calls recorded before the failure rate can open the breaker
+ * @param failureRateThreshold percentage of failed calls that opens the breaker
+ * @param openDuration time an open breaker rejects calls before letting probes through
+ * @param halfOpenCalls probe calls that must all succeed to close the breaker again
+ */
+@ConfigurationProperties(prefix = "trivia.client.circuit-breaker")
+public record UpstreamCircuitBreakerProperties(
+    @DefaultValue("10") int windowSize,
+    @DefaultValue("4") int minimumCalls,
+    @DefaultValue("50") int failureRateThreshold,
+    @DefaultValue("30s") Duration openDuration,
+    @DefaultValue("1") int halfOpenCalls) {}
@@ -0,0 +1,101 @@
+package com.example.TriviaBackend.controller;
+
+import com.example.TriviaBackend.dto.response.GetQuestionsResponse;
+import com.example.TriviaBackend.dto.response.SerializedQuestion;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes a {@link GetQuestionsResponse} by copying each question's cached JSON straight into the
+ * servlet output buffer, so a page of questions is never serialized field by field. Registered
+ * ahead of the Jackson converter; the body has the same shape Jackson would produce.
+ */
+@Component
+public class GetQuestionsResponseConverter
+    extends AbstractHttpMessageConverter<GetQuestionsResponse> {
+  private static final byte[] TOKEN_PREFIX = "{\"roundToken\":".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] NO_TOKEN = "null".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] QUESTIONS_PREFIX =
+      ",\"questionResponse\":[".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+  private static final int SEPARATOR = ',';
+
+  /** No default charset, so like Jackson's the content type stays plain UTF-8 JSON. */
+  public GetQuestionsResponseConverter() {
+    super(MediaType.APPLICATION_JSON);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return GetQuestionsResponse.class == clazz;
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected GetQuestionsResponse readInternal(
+      Class<? extends GetQuestionsResponse> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException(
+        "GetQuestionsResponse is only ever written", inputMessage);
+  }
+
+  @Override
+  protected Long getContentLength(GetQuestionsResponse response, MediaType contentType) {
+    final List<SerializedQuestion> questions = response.questionResponse();
+    long length =
+        TOKEN_PREFIX.length
+            + tokenLength(response.roundToken())
+            + QUESTIONS_PREFIX.length
+            + SUFFIX.length
+            + Math.max(0, questions.size() - 1);
+    for (SerializedQuestion question : questions) {
+      length += question.length();
+    }
+    return length;
+  }
+
+  @Override
+  protected void writeInternal(GetQuestionsResponse response, HttpOutputMessage outputMessage)
+      throws IOException {
+    final OutputStream body = outputMessage.getBody();
+    body.write(TOKEN_PREFIX);
+    writeToken(response.roundToken(), body);
+    body.write(QUESTIONS_PREFIX);
+    final List<SerializedQuestion> questions = response.questionResponse();
+    for (int i = 0; i < questions.size(); i++) {
+      if (i > 0) {
+        body.write(SEPARATOR);
+      }
+      questions.get(i).writeTo(body);
+    }
+    body.write(SUFFIX);
+  }
+
+  /** Round tokens are hex digits, so they are written as quoted ASCII without escaping. */
+  private static void writeToken(String roundToken, OutputStream body) throws IOException {
+    if (roundToken == null) {
+      body.write(NO_TOKEN);
+      return;
+    }
+    body.write('"');
+    for (int i = 0; i < roundToken.length(); i++) {
+      body.write(roundToken.charAt(i));
+    }
+    body.write('"');
+  }
+
+  private static int tokenLength(String roundToken) {
+    return roundToken == null ? NO_TOKEN.length : roundToken.length() + 2;
+  }
+}
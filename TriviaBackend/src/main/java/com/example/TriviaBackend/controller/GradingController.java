@@ -0,0 +1,38 @@
+package com.example.TriviaBackend.controller;
+
+import com.example.TriviaBackend.service.BulkGradingService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+/** Served only with {@code trivia.grading.bulk-enabled=true}, as it reveals answer keys. */
+@RestController
+@RequestMapping("api/")
+@ConditionalOnProperty(prefix = "trivia.grading", name = "bulk-enabled", havingValue = "true")
+public class GradingController {
+    private final BulkGradingService bulkGradingService;
+    private final Logger LOG = LoggerFactory.getLogger(GradingController.class);
+
+    @Autowired
+    public GradingController(BulkGradingService bulkGradingService) {
+        this.bulkGradingService = bulkGradingService;
+    }
+
+    /**
+     * Grades a JSON array or NDJSON stream of answers to any stored questions, streaming one NDJSON
+     * result per answer back in request order.
+     */
+    @PostMapping("/checkanswers/bulk")
+    public void checkAnswersInBulk(InputStream body, HttpServletResponse response)
+            throws IOException {
+        LOG.info("/checkanswers/bulk endpoint called");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkGradingService.gradeAnswers(body, response.getOutputStream());
+    }
+}
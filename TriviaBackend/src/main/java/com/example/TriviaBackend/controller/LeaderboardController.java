@@ -0,0 +1,38 @@
+package com.example.TriviaBackend.controller;
+
+import com.example.TriviaBackend.dto.response.LeaderboardEntry;
+import com.example.TriviaBackend.dto.response.LeaderboardResponse;
+import com.example.TriviaBackend.exception.UnknownPlayerException;
+import com.example.TriviaBackend.leaderboard.Leaderboard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/")
+public class LeaderboardController {
+    private static final int MAX_LIMIT = 100;
+    private final Leaderboard leaderboard;
+    private final Logger LOG = LoggerFactory.getLogger(LeaderboardController.class);
+
+    @Autowired
+    public LeaderboardController(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    /** The best players; {@code limit} is capped at 100. */
+    @GetMapping("/leaderboard")
+    public LeaderboardResponse top(@RequestParam(defaultValue = "10") int limit) {
+        LOG.info("/leaderboard endpoint called");
+        return new LeaderboardResponse(leaderboard.top(Math.clamp(limit, 1, MAX_LIMIT)));
+    }
+
+    @GetMapping("/leaderboard/{player}")
+    public LeaderboardEntry standing(@PathVariable String player) {
+        LOG.info("/leaderboard/{player} endpoint called");
+        return leaderboard
+                .standing(player)
+                .orElseThrow(() -> new UnknownPlayerException("No graded rounds for " + player));
+    }
+}
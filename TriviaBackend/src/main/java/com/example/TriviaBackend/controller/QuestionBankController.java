@@ -0,0 +1,48 @@
+package com.example.TriviaBackend.controller;
+
+import com.example.TriviaBackend.dto.response.ImportQuestionsResponse;
+import com.example.TriviaBackend.service.QuestionBankService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Served only with {@code trivia.bank.transfer-enabled=true}, as the export reveals answer keys and
+ * the import writes to the question bank.
+ */
+@RestController
+@RequestMapping("api/")
+@ConditionalOnProperty(prefix = "trivia.bank", name = "transfer-enabled", havingValue = "true")
+public class QuestionBankController {
+    private final QuestionBankService questionBankService;
+    private final Logger LOG = LoggerFactory.getLogger(QuestionBankController.class);
+
+    @Autowired
+    public QuestionBankController(QuestionBankService questionBankService) {
+        this.questionBankService = questionBankService;
+    }
+
+    /** Streams the whole question bank as NDJSON, written as it is read. */
+    @GetMapping("/questions/export")
+    public void exportQuestions(HttpServletResponse response) throws IOException {
+        LOG.info("/questions/export endpoint called");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"questions.ndjson\"");
+        questionBankService.exportQuestions(response.getOutputStream());
+    }
+
+    /** Stores NDJSON questions, such as an export of another node, read as the body arrives. */
+    @PostMapping("/questions/import")
+    public ImportQuestionsResponse importQuestions(InputStream body) {
+        LOG.info("/questions/import endpoint called");
+        return new ImportQuestionsResponse(questionBankService.importQuestions(body));
+    }
+}
@@ -1,18 +1,29 @@
 package com.example.TriviaBackend.controller;
 
 import com.example.TriviaBackend.dto.request.CheckAnswersRequest;
+import com.example.TriviaBackend.dto.request.QuestionFilter;
 import com.example.TriviaBackend.dto.response.CheckAnswersResponse;
 import com.example.TriviaBackend.dto.response.GetQuestionsResponse;
+import com.example.TriviaBackend.exception.RateLimitExceededException;
 import com.example.TriviaBackend.service.QuestionService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("api/")
 public class QuestionController {
     private final QuestionService questionService;
+    /** Browsers keep the round but must revalidate it, and shared caches must not keep it. */
+    private static final CacheControl ROUND_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final Logger LOG = LoggerFactory.getLogger(QuestionService.class);
 
     @Autowired
@@ -20,10 +31,52 @@ public class QuestionController {
         this.questionService = questionService;
     }
 
+    /**
+     * Serves a round with its token as a weak ETag, weak because Tomcat leaves responses with a
+     * strong one uncompressed. A client revalidating with the ETag of a round that can still be
+     * graded gets {@code 304 Not Modified} without any questions being fetched, so reloading a
+     * round in play keeps its questions and costs no upstream or database work.
+     */
     @GetMapping("/questions")
-    public GetQuestionsResponse getQuestions() {
+    public ResponseEntity<GetQuestionsResponse> getQuestions(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer amount,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                    String ifNoneMatch) {
         LOG.info("/questions endpoint called");
-        return questionService.getQuestions();
+        final String openRound = openRound(ifNoneMatch);
+        if (openRound != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag(openRound))
+                    .cacheControl(ROUND_CACHE_CONTROL)
+                    .build();
+        }
+
+        final GetQuestionsResponse response;
+        if (category == null && difficulty == null && type == null && amount == null) {
+            response = questionService.getQuestions();
+        } else {
+            // Any parameter switches to the local question bank
+            response = questionService.getQuestions(
+                    new QuestionFilter(category, difficulty, type, amount));
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag(response.roundToken()))
+                .cacheControl(ROUND_CACHE_CONTROL)
+                .body(response);
+    }
+
+    /**
+     * Rejects the round with {@code 429 Too Many Requests}, telling the client through {@code
+     * Retry-After} how long the upstream rate limiter needs before it can fetch questions again.
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public void rateLimitExceeded(RateLimitExceededException e, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
     }
 
     @PostMapping("/checkanswers")
@@ -31,4 +84,30 @@ public class QuestionController {
         LOG.info("/checkanswers endpoint called");
         return questionService.checkAnswer(checkAnswersRequest);
     }
+
+    private static String eTag(String roundToken) {
+        return "W/\"" + roundToken + "\"";
+    }
+
+    /** Returns the first round token among the {@code If-None-Match} ETags that is still open. */
+    private String openRound(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        for (String eTag : ifNoneMatch.split(",")) {
+            String roundToken = eTag.strip();
+            if (roundToken.startsWith("W/")) {
+                roundToken = roundToken.substring(2);
+            }
+            if (roundToken.length() > 1
+                    && roundToken.startsWith("\"")
+                    && roundToken.endsWith("\"")) {
+                roundToken = roundToken.substring(1, roundToken.length() - 1);
+            }
+            if (questionService.isRoundOpen(roundToken)) {
+                return roundToken;
+            }
+        }
+        return null;
+    }
 }
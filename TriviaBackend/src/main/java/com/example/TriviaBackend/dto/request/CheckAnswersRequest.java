@@ -2,5 +2,9 @@ package com.example.TriviaBackend.dto.request;
 
 import java.util.List;
 
-public record CheckAnswersRequest(List<AnswerRequest> answerRequests) {
-}
+/**
+ * Answers to the questions of one round; with a {@code player}, the round's score is added to
+ * that player's leaderboard total.
+ */
+public record CheckAnswersRequest(
+    String roundToken, List<AnswerRequest> answerRequests, String player) {}
@@ -0,0 +1,7 @@
+package com.example.TriviaBackend.dto.request;
+
+/**
+ * Optional filters of {@code GET /api/questions}; a {@code null} filter matches any value and a
+ * {@code null} amount means the default page size.
+ */
+public record QuestionFilter(String category, String difficulty, String type, Integer amount) {}
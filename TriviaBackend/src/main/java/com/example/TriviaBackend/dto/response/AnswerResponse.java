@@ -1,4 +1,25 @@
 package com.example.TriviaBackend.dto.response;
 
-public record AnswerResponse(long questionId, boolean result) {
+public record AnswerResponse(long questionId, boolean result, Status status) {
+
+  public AnswerResponse(long questionId, boolean result) {
+    this(questionId, result, result ? Status.CORRECT : Status.INCORRECT);
+  }
+
+  /** An answer to a question that is not stored, so it could not be graded. */
+  public static AnswerResponse unknownQuestion(long questionId) {
+    return new AnswerResponse(questionId, false, Status.UNKNOWN_QUESTION);
+  }
+
+  /** An answer to a question its round did not serve, or to one answered before in the round. */
+  public static AnswerResponse notInRound(long questionId) {
+    return new AnswerResponse(questionId, false, Status.NOT_IN_ROUND);
+  }
+
+  public enum Status {
+    CORRECT,
+    INCORRECT,
+    UNKNOWN_QUESTION,
+    NOT_IN_ROUND
+  }
 }
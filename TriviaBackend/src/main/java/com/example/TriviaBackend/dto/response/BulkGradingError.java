@@ -0,0 +1,4 @@
+package com.example.TriviaBackend.dto.response;
+
+/** Last line of a bulk grading stream that a malformed answer cut short after {@code graded}. */
+public record BulkGradingError(String error, long graded) {}
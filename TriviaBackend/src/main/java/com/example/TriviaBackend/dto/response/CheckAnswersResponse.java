@@ -2,4 +2,5 @@ package com.example.TriviaBackend.dto.response;
 
 import java.util.List;
 
-public record CheckAnswersResponse(List<AnswerResponse> answerResponse) {}
+/** One result per answer, in request order, and the number of correct answers in the round. */
+public record CheckAnswersResponse(List<AnswerResponse> answerResponse, int score) {}
@@ -2,4 +2,5 @@ package com.example.TriviaBackend.dto.response;
 
 import java.util.List;
 
-public record GetQuestionsResponse(List<QuestionResponse> questionResponse) {}
+/** The served questions and the token needed to grade them. */
+public record GetQuestionsResponse(String roundToken, List<SerializedQuestion> questionResponse) {}
@@ -0,0 +1,3 @@
+package com.example.TriviaBackend.dto.response;
+
+public record ImportQuestionsResponse(long imported) {}
@@ -0,0 +1,4 @@
+package com.example.TriviaBackend.dto.response;
+
+/** A player's total score; players with equal scores share a rank. */
+public record LeaderboardEntry(long rank, String player, long score) {}
@@ -0,0 +1,5 @@
+package com.example.TriviaBackend.dto.response;
+
+import java.util.List;
+
+public record LeaderboardResponse(List<LeaderboardEntry> leaderboard) {}
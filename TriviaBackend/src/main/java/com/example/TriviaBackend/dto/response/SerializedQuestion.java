@@ -0,0 +1,56 @@
+package com.example.TriviaBackend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link QuestionResponse} serialized to UTF-8 JSON once, so every response that includes the
+ * question copies its bytes instead of serializing it again.
+ */
+public final class SerializedQuestion {
+  private final long id;
+  private final byte[] json;
+
+  private SerializedQuestion(long id, byte[] json) {
+    this.id = id;
+    this.json = json;
+  }
+
+  public static SerializedQuestion of(QuestionResponse question, ObjectWriter writer) {
+    try {
+      return new SerializedQuestion(question.id(), writer.writeValueAsBytes(question));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize question " + question.id(), e);
+    }
+  }
+
+  public long id() {
+    return id;
+  }
+
+  /** Length of the JSON in bytes. */
+  public int length() {
+    return json.length;
+  }
+
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(json);
+  }
+
+  /** The JSON as text; Jackson embeds it verbatim when a response is serialized the usual way. */
+  @JsonValue
+  @JsonRawValue
+  public String json() {
+    return new String(json, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String toString() {
+    return json();
+  }
+}
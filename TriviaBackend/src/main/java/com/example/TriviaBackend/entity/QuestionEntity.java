@@ -1,23 +1,76 @@
 package com.example.TriviaBackend.entity;
 
+import com.example.TriviaBackend.cache.AnswerNormalizer;
+import com.example.TriviaBackend.cache.QuestionIndexListener;
 import com.example.TriviaBackend.dto.response.TriviaResponse;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(QuestionIndexListener.class)
+@Table(
+    indexes = {
+      @Index(name = "ux_question_content_hash", columnList = "contentHash", unique = true),
+      // Covering index for rebuilding QuestionBucketIndex in bucket order
+      @Index(name = "ix_question_bucket", columnList = "category, difficulty, type, id")
+    })
 public class QuestionEntity {
-  @Id @GeneratedValue private long id;
+  /**
+   * Ids handed out per sequence call. Matches {@code hibernate.jdbc.batch_size}, so a batch of
+   * fetched questions costs one sequence call and one batched INSERT.
+   */
+  public static final int ID_ALLOCATION_SIZE = 50;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_entity_seq")
+  @SequenceGenerator(
+      name = "question_entity_seq",
+      sequenceName = "question_entity_seq",
+      allocationSize = ID_ALLOCATION_SIZE)
+  private long id;
+
   private String type;
   private String difficulty;
   private String category;
   private String question;
   private String correctAnswer;
+
+  /**
+   * The correct answer HTML-decoded, trimmed and case-folded by {@link AnswerNormalizer}, so
+   * grading never decodes it again. {@link #correctAnswer} stays as served.
+   */
+  private String normalizedCorrectAnswer;
+
+  // Kept in the question row rather than an @ElementCollection table, which would add one INSERT
+  // per answer and a join on every read
+  @JdbcTypeCode(SqlTypes.ARRAY)
   private List<String> incorrectAnswers;
 
+  /** SHA-256 of the question text and its answers; identifies the same opentdb question. */
+  @Column(length = 64, nullable = false)
+  private String contentHash;
+
   public QuestionEntity() {}
 
   public QuestionEntity(
@@ -35,6 +88,8 @@ public class QuestionEntity {
     this.question = question;
     this.correctAnswer = correctAnswer;
     this.incorrectAnswers = incorrectAnswers;
+    this.normalizedCorrectAnswer = AnswerNormalizer.normalize(correctAnswer);
+    this.contentHash = contentHash(question, correctAnswer, incorrectAnswers);
   }
 
   public QuestionEntity(TriviaResponse.TriviaQuestion triviaQuestion) {
@@ -44,6 +99,49 @@ public class QuestionEntity {
     this.question = triviaQuestion.question();
     this.correctAnswer = triviaQuestion.correctAnswer();
     this.incorrectAnswers = triviaQuestion.incorrectAnswers();
+    this.normalizedCorrectAnswer = AnswerNormalizer.normalize(correctAnswer);
+    this.contentHash = contentHash(question, correctAnswer, incorrectAnswers);
+  }
+
+  /**
+   * Hashes the question text, the correct answer and the incorrect answers in sorted order, so a
+   * re-fetched question matches even when opentdb lists its wrong answers differently.
+   */
+  public static String contentHash(
+      String question, String correctAnswer, List<String> incorrectAnswers) {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+    update(digest, question);
+    update(digest, correctAnswer);
+    final List<String> sortedIncorrectAnswers =
+        new ArrayList<>(incorrectAnswers == null ? List.of() : incorrectAnswers);
+    sortedIncorrectAnswers.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+    for (String incorrectAnswer : sortedIncorrectAnswers) {
+      update(digest, incorrectAnswer);
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  // Length-prefixed, so ("ab", "c") and ("a", "bc") hash differently
+  private static void update(MessageDigest digest, String value) {
+    if (value == null) {
+      digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+      return;
+    }
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+    digest.update(bytes);
+  }
+
+  @PrePersist
+  @PreUpdate
+  void updateDerivedColumns() {
+    normalizedCorrectAnswer = AnswerNormalizer.normalize(correctAnswer);
+    contentHash = contentHash(question, correctAnswer, incorrectAnswers);
   }
 
   public long getId() {
@@ -92,6 +190,11 @@ public class QuestionEntity {
 
   public void setCorrectAnswer(String correctAnswer) {
     this.correctAnswer = correctAnswer;
+    this.normalizedCorrectAnswer = AnswerNormalizer.normalize(correctAnswer);
+  }
+
+  public String getNormalizedCorrectAnswer() {
+    return normalizedCorrectAnswer;
   }
 
   public List<String> getIncorrectAnswers() {
@@ -102,6 +205,10 @@ public class QuestionEntity {
     this.incorrectAnswers = incorrectAnswers;
   }
 
+  public String getContentHash() {
+    return contentHash;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (o == null || getClass() != o.getClass()) return false;
@@ -0,0 +1,11 @@
+package com.example.TriviaBackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidAnswerBatchException extends RuntimeException {
+    public InvalidAnswerBatchException(String message) {
+        super(message);
+    }
+}
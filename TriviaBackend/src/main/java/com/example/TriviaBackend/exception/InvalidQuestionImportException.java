@@ -0,0 +1,11 @@
+package com.example.TriviaBackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidQuestionImportException extends RuntimeException {
+    public InvalidQuestionImportException(String message) {
+        super(message);
+    }
+}
@@ -3,9 +3,26 @@ package com.example.TriviaBackend.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.time.Duration;
+
 @ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS)
 public class RateLimitExceededException extends RuntimeException {
-    public RateLimitExceededException() {
-        super("Please wait 5 seconds before retrying");
+    private final long retryAfterSeconds;
+
+    /** @param retryAfter time until the Open Trivia API can be called again */
+    public RateLimitExceededException(Duration retryAfter) {
+        super("Please wait " + seconds(retryAfter)
+                + (seconds(retryAfter) == 1 ? " second" : " seconds") + " before retrying");
+        this.retryAfterSeconds = seconds(retryAfter);
+    }
+
+    /** Whole seconds to wait, as sent in the {@code Retry-After} header. */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    // Rounded up and at least one, so a client retrying on time finds a free slot
+    private static long seconds(Duration retryAfter) {
+        return Math.max(1, retryAfter.plusNanos(999_999_999).toSeconds());
     }
-}
\ No newline at end of file
+}
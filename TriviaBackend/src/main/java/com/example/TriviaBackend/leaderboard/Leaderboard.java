@@ -0,0 +1,122 @@
+package com.example.TriviaBackend.leaderboard;
+
+import com.example.TriviaBackend.dto.response.LeaderboardEntry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Total score of every player across their graded rounds.
+ *
+ * <p>Standings are kept in a {@link ConcurrentSkipListSet} ordered by score, so the top {@code k}
+ * cost {@code O(log n + k)}, and players are counted per score in a {@link ScoreIndex}, so a
+ * player's rank costs {@code O(log n)}. A player's updates are serialized by one of {@value
+ * #STRIPES} locks picked by name; updates of different players only meet in lock-free structures.
+ *
+ * <p>Reads do not lock: while an update is in flight a player can briefly show up in the top list
+ * with both the old and the new score, which {@link #top(int)} filters out, and ranks can be off
+ * by the updates in flight.
+ */
+@Component
+public class Leaderboard {
+  /** Scores below this are ranked by the index alone; a player needs 6500 perfect rounds. */
+  static final int SCORE_CAPACITY = 1 << 16;
+
+  private static final int STRIPES = 64;
+  private static final Comparator<Standing> ORDER =
+      Comparator.comparingLong(Standing::score).reversed().thenComparing(Standing::player);
+
+  private final Map<String, Long> scores = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListSet<Standing> standings = new ConcurrentSkipListSet<>(ORDER);
+  private final ScoreIndex scoreIndex;
+  private final LongAdder players = new LongAdder();
+  private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+  @Autowired
+  public Leaderboard() {
+    this(SCORE_CAPACITY);
+  }
+
+  Leaderboard(int scoreCapacity) {
+    this.scoreIndex = new ScoreIndex(scoreCapacity);
+    for (int stripe = 0; stripe < STRIPES; stripe++) {
+      locks[stripe] = new ReentrantLock();
+    }
+  }
+
+  /** Adds the score of a graded round to the player's total. */
+  public void record(String player, int roundScore) {
+    final ReentrantLock lock = locks[(player.hashCode() & Integer.MAX_VALUE) % STRIPES];
+    lock.lock();
+    try {
+      final Long previous = scores.get(player);
+      if (previous != null && roundScore == 0) {
+        return;
+      }
+
+      final long score = previous == null ? roundScore : previous + roundScore;
+      // Added before the old standing is removed, so the player never drops out of the list
+      standings.add(new Standing(score, player));
+      scores.put(player, score);
+      if (previous == null) {
+        scoreIndex.add(score);
+        players.increment();
+      } else {
+        scoreIndex.move(previous, score);
+        standings.remove(new Standing(previous, player));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** The best {@code limit} players, best first. */
+  public List<LeaderboardEntry> top(int limit) {
+    final List<LeaderboardEntry> top = new ArrayList<>(Math.min(limit, 100));
+    final Iterator<Standing> iterator = standings.iterator();
+    long previousScore = Long.MIN_VALUE;
+    long rank = 0;
+    while (top.size() < limit && iterator.hasNext()) {
+      final Standing standing = iterator.next();
+      final Long current = scores.get(standing.player());
+      if (current == null || current != standing.score()) {
+        continue;
+      }
+      if (standing.score() != previousScore) {
+        rank = top.size() + 1;
+        previousScore = standing.score();
+      }
+      top.add(new LeaderboardEntry(rank, standing.player(), standing.score()));
+    }
+    return top;
+  }
+
+  public Optional<LeaderboardEntry> standing(String player) {
+    final Long score = scores.get(player);
+    if (score == null) {
+      return Optional.empty();
+    }
+
+    final long above =
+        score < scoreIndex.lastBucket()
+            ? Math.max(0, scoreIndex.countAbove(score, players.sum()))
+            // Beyond the index only the few players at the very top need counting
+            : standings.headSet(new Standing(score, "")).size();
+    return Optional.of(new LeaderboardEntry(above + 1, player, score));
+  }
+
+  public long players() {
+    return players.sum();
+  }
+
+  private record Standing(long score, String player) {}
+}
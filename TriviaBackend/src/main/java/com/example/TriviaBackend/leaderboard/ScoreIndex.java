@@ -0,0 +1,57 @@
+package com.example.TriviaBackend.leaderboard;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Number of players per score, as a Fenwick tree over {@link AtomicLongArray} cells.
+ *
+ * <p>Moving a player between scores and counting the players above a score both touch {@code
+ * log2(capacity)} cells, and every cell is updated with an atomic add, so concurrent updates never
+ * wait on each other. Scores of {@code capacity - 1} and above share the last cell.
+ */
+class ScoreIndex {
+  private final int capacity;
+  private final AtomicLongArray tree;
+
+  ScoreIndex(int capacity) {
+    this.capacity = capacity;
+    this.tree = new AtomicLongArray(capacity + 1);
+  }
+
+  void add(long score) {
+    update(bucketOf(score), 1);
+  }
+
+  void move(long from, long to) {
+    final int fromBucket = bucketOf(from);
+    final int toBucket = bucketOf(to);
+    if (fromBucket != toBucket) {
+      update(toBucket, 1);
+      update(fromBucket, -1);
+    }
+  }
+
+  /** Players with a score above {@code score}; exact below {@link #lastBucket()}. */
+  long countAbove(long score, long players) {
+    long atMost = 0;
+    for (int i = bucketOf(score) + 1; i > 0; i -= i & -i) {
+      atMost += tree.get(i);
+    }
+    return players - atMost;
+  }
+
+  /** Scores from here on are counted in one cell and cannot be told apart by the index. */
+  long lastBucket() {
+    return capacity - 1;
+  }
+
+  private void update(int bucket, long delta) {
+    for (int i = bucket + 1; i <= capacity; i += i & -i) {
+      tree.addAndGet(i, delta);
+    }
+  }
+
+  private int bucketOf(long score) {
+    return (int) Math.min(Math.max(score, 0), capacity - 1);
+  }
+}
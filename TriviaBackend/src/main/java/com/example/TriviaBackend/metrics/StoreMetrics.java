@@ -0,0 +1,71 @@
+package com.example.TriviaBackend.metrics;
+
+import com.example.TriviaBackend.cache.AnswerKeyCache;
+import com.example.TriviaBackend.persistence.QuestionWriteBehind;
+import com.example.TriviaBackend.round.RoundRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the counters the in-memory stores keep for themselves, so they can be scraped next to
+ * the other meters. Each meter reads the store's {@code stats()} when it is collected; nothing is
+ * recorded on the request path.
+ */
+@Component
+public class StoreMetrics implements MeterBinder {
+  private final AnswerKeyCache answerKeyCache;
+  private final QuestionWriteBehind writeBehind;
+  private final RoundRegistry rounds;
+
+  @Autowired
+  public StoreMetrics(
+      AnswerKeyCache answerKeyCache, QuestionWriteBehind writeBehind, RoundRegistry rounds) {
+    this.answerKeyCache = answerKeyCache;
+    this.writeBehind = writeBehind;
+    this.rounds = rounds;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder(
+            "trivia.answer.key.cache.hits", answerKeyCache, cache -> cache.stats().hits())
+        .description("Answers graded from the answer key cache")
+        .register(registry);
+    FunctionCounter.builder(
+            "trivia.answer.key.cache.misses", answerKeyCache, cache -> cache.stats().misses())
+        .description("Answers whose key had to be loaded from the snapshot or the database")
+        .register(registry);
+    FunctionCounter.builder(
+            "trivia.answer.key.cache.evictions",
+            answerKeyCache,
+            cache -> cache.stats().evictions())
+        .description("Answer keys evicted for size or age")
+        .register(registry);
+    Gauge.builder("trivia.answer.key.cache.size", answerKeyCache, cache -> cache.stats().size())
+        .description("Answer keys currently cached")
+        .register(registry);
+
+    Gauge.builder("trivia.write.behind.queued", writeBehind, queue -> queue.stats().queued())
+        .description("Questions waiting to be written to the database")
+        .register(registry);
+    FunctionCounter.builder(
+            "trivia.write.behind.written", writeBehind, queue -> queue.stats().written())
+        .description("Questions written to the database by the write-behind queue")
+        .register(registry);
+    FunctionCounter.builder(
+            "trivia.write.behind.dropped", writeBehind, queue -> queue.stats().dropped())
+        .description("Queued questions dropped because they could not be written")
+        .register(registry);
+
+    Gauge.builder("trivia.rounds.open", rounds, open -> open.stats().size())
+        .description("Rounds currently open for answers")
+        .register(registry);
+    FunctionCounter.builder("trivia.rounds.evictions", rounds, open -> open.stats().evictions())
+        .description("Rounds evicted for size or age before they were answered")
+        .register(registry);
+  }
+}
@@ -0,0 +1,95 @@
+package com.example.TriviaBackend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters for the Open Trivia API round trip that Spring Boot does not record on its own.
+ *
+ * <p>Endpoint latency ({@code http.server.requests}) and repository latency ({@code
+ * spring.data.repository.invocations}) come from the actuator auto-configuration; their percentile
+ * histograms are switched on in {@code application.properties}.
+ */
+@Component
+public class TriviaMetrics {
+  /** Open Trivia API response codes 0 (success) to 5 (rate limit). */
+  private static final int RESPONSE_CODES = 6;
+
+  private final MeterRegistry meterRegistry;
+  private final Timer clientQuestions;
+  private final Timer upstreamRequests;
+  private final Counter[] upstreamResponses = new Counter[RESPONSE_CODES];
+  private final Counter rateLimitExceeded;
+  private final Counter staleQuestionsServed;
+
+  @Autowired
+  public TriviaMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.clientQuestions =
+        Timer.builder("trivia.client.questions")
+            .description("TriviaClient.getQuestions, including rate limiter wait and coalescing")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.upstreamRequests =
+        Timer.builder("trivia.upstream.requests")
+            .description("HTTP round trip to the Open Trivia API")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    for (int code = 0; code < RESPONSE_CODES; code++) {
+      upstreamResponses[code] = upstreamResponseCounter(code);
+    }
+    this.rateLimitExceeded =
+        Counter.builder("trivia.rate.limit.exceeded")
+            .description("RateLimitExceededException thrown to API clients")
+            .register(meterRegistry);
+    this.staleQuestionsServed =
+        Counter.builder("trivia.questions.stale.served")
+            .description("Rounds served from stored questions while the Open Trivia API failed")
+            .register(meterRegistry);
+  }
+
+  public Timer clientQuestions() {
+    return clientQuestions;
+  }
+
+  public Timer upstreamRequests() {
+    return upstreamRequests;
+  }
+
+  public void upstreamResponse(int responseCode) {
+    if (responseCode >= 0 && responseCode < RESPONSE_CODES) {
+      upstreamResponses[responseCode].increment();
+    } else {
+      upstreamResponseCounter(responseCode).increment();
+    }
+  }
+
+  /** Publishes the spacing the adaptive upstream rate limiter currently keeps between calls. */
+  public void upstreamInterval(Supplier<Duration> interval) {
+    Gauge.builder("trivia.upstream.interval", () -> interval.get().toNanos() / 1e9)
+        .description("Spacing between Open Trivia API calls, adapted to its rate limit")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  public void rateLimitExceeded() {
+    rateLimitExceeded.increment();
+  }
+
+  public void staleQuestionsServed() {
+    staleQuestionsServed.increment();
+  }
+
+  private Counter upstreamResponseCounter(int responseCode) {
+    return Counter.builder("trivia.upstream.responses")
+        .description("Open Trivia API responses by response_code")
+        .tag("code", Integer.toString(responseCode))
+        .register(meterRegistry);
+  }
+}
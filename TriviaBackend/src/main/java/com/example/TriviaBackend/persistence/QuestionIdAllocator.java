@@ -0,0 +1,47 @@
+package com.example.TriviaBackend.persistence;
+
+import com.example.TriviaBackend.entity.QuestionEntity;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out question ids without inserting a row.
+ *
+ * <p>Ids come from {@code question_entity_seq} in blocks of {@value
+ * QuestionEntity#ID_ALLOCATION_SIZE}, read the way Hibernate's pooled-lo optimizer reads them, so
+ * they never collide with ids Hibernate assigns from the same sequence. Only one sequence call per
+ * block reaches the database. The first block is reserved lazily, after {@code
+ * QuestionSnapshotWriter} has moved the sequence above the snapshot's ids.
+ */
+@Component
+public class QuestionIdAllocator {
+  private final JdbcTemplate jdbcTemplate;
+  private final ReentrantLock lock = new ReentrantLock();
+  private long next;
+  private long end;
+
+  @Autowired
+  public QuestionIdAllocator(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public long allocate() {
+    lock.lock();
+    try {
+      if (next == end) {
+        final Long low =
+            jdbcTemplate.queryForObject("select next value for question_entity_seq", Long.class);
+        if (low == null) {
+          throw new IllegalStateException("question_entity_seq returned no value");
+        }
+        next = low;
+        end = low + QuestionEntity.ID_ALLOCATION_SIZE;
+      }
+      return next++;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,253 @@
+package com.example.TriviaBackend.persistence;
+
+import com.example.TriviaBackend.cache.QuestionBucketIndex;
+import com.example.TriviaBackend.config.QuestionWriteBehindProperties;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Stores the questions the pool fetches.
+ *
+ * <p>In write-behind mode a question that is not stored yet gets its id from the {@link
+ * QuestionIdAllocator} and is returned right away, so it can be cached and served before its row
+ * exists. A single writer thread inserts the queued questions in batched transactions and adds
+ * them to the {@link QuestionBucketIndex} once committed. The queue is bounded: when the writer
+ * falls behind, refills block on it instead of piling up unsaved questions. On shutdown the queue
+ * is written out before the data source closes.
+ *
+ * <p>Looking up already stored questions by content hash stays synchronous, since a question must
+ * keep its existing id. Questions still in the queue are found by content hash too, so a question
+ * fetched twice before it is written is only inserted once.
+ *
+ * <p>With write-behind disabled, {@link #saveAll(List)} is {@link QuestionRepository#upsertAll}.
+ */
+@Component
+public class QuestionWriteBehind {
+  private static final String INSERT =
+      "insert into question_entity (id, type, difficulty, category, question, correct_answer,"
+          + " incorrect_answers, content_hash, normalized_correct_answer)"
+          + " values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  /** How often an idle writer checks whether it is shutting down. */
+  private static final long POLL_MILLIS = 50;
+
+  private final Logger LOG = LoggerFactory.getLogger(QuestionWriteBehind.class);
+  private final QuestionWriteBehindProperties properties;
+  private final QuestionRepository questionRepository;
+  private final QuestionIdAllocator idAllocator;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transaction;
+  private final QuestionBucketIndex bucketIndex;
+  private final BlockingQueue<QuestionEntity> queue;
+  private final Map<String, QuestionEntity> queued = new ConcurrentHashMap<>();
+  private final LongAdder written = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  @Autowired
+  public QuestionWriteBehind(
+      QuestionWriteBehindProperties properties,
+      QuestionRepository questionRepository,
+      QuestionIdAllocator idAllocator,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      QuestionBucketIndex bucketIndex) {
+    this.properties = properties;
+    this.questionRepository = questionRepository;
+    this.idAllocator = idAllocator;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.bucketIndex = bucketIndex;
+    this.queue = properties.enabled() ? new ArrayBlockingQueue<>(properties.queueCapacity()) : null;
+    this.writer =
+        properties.enabled()
+            ? Thread.ofPlatform().name("question-write-behind").daemon().start(this::writeLoop)
+            : null;
+  }
+
+  /**
+   * Returns, in input order and without duplicates, the stored or queued question for every
+   * distinct question; questions seen for the first time are queued for insertion.
+   */
+  public List<QuestionEntity> saveAll(List<QuestionEntity> questions) {
+    if (!properties.enabled()) {
+      return questionRepository.upsertAll(questions);
+    }
+
+    final Map<String, QuestionEntity> distinct = new LinkedHashMap<>();
+    final List<String> unresolved = new ArrayList<>();
+    for (QuestionEntity question : questions) {
+      final String contentHash = question.getContentHash();
+      if (!distinct.containsKey(contentHash)) {
+        final QuestionEntity pending = queued.get(contentHash);
+        distinct.put(contentHash, pending == null ? question : pending);
+        if (pending == null) {
+          unresolved.add(contentHash);
+        }
+      }
+    }
+    if (unresolved.isEmpty()) {
+      return new ArrayList<>(distinct.values());
+    }
+
+    for (QuestionEntity existing : questionRepository.findByContentHashIn(unresolved)) {
+      distinct.put(existing.getContentHash(), existing);
+      unresolved.remove(existing.getContentHash());
+    }
+    final List<QuestionEntity> inserts = new ArrayList<>(unresolved.size());
+    for (String contentHash : unresolved) {
+      final QuestionEntity question = distinct.get(contentHash);
+      // Numbered before it is published, so no other refill sees it without its id
+      question.setId(idAllocator.allocate());
+      final QuestionEntity pending = queued.putIfAbsent(contentHash, question);
+      if (pending != null) {
+        distinct.put(contentHash, pending);
+      } else {
+        inserts.add(question);
+      }
+    }
+    enqueue(inserts);
+    return new ArrayList<>(distinct.values());
+  }
+
+  public Stats stats() {
+    return new Stats(queue == null ? 0 : queue.size(), written.sum(), dropped.sum());
+  }
+
+  /** Stops accepting work into the queue and writes out whatever it still holds. */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    if (writer == null) {
+      return;
+    }
+    running = false;
+    writer.join(properties.shutdownTimeout());
+    if (writer.isAlive()) {
+      LOG.warn(
+          "Write-behind did not finish within {}, {} questions unsaved",
+          properties.shutdownTimeout(),
+          queue.size());
+      return;
+    }
+    // Written here in case a refill queued questions after the writer had stopped
+    final List<QuestionEntity> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    write(remaining);
+  }
+
+  private void enqueue(List<QuestionEntity> inserts) {
+    for (int i = 0; i < inserts.size(); i++) {
+      try {
+        if (!running) {
+          write(inserts.subList(i, inserts.size()));
+          return;
+        }
+        // Blocks while the queue is full, which throttles the refill to the writer's pace
+        queue.put(inserts.get(i));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        write(inserts.subList(i, inserts.size()));
+        return;
+      }
+    }
+  }
+
+  private void writeLoop() {
+    final List<QuestionEntity> batch = new ArrayList<>(properties.batchSize());
+    while (running || !queue.isEmpty()) {
+      try {
+        final QuestionEntity first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, properties.batchSize() - 1);
+        write(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void write(List<QuestionEntity> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      insert(batch);
+      written.add(batch.size());
+    } catch (RuntimeException e) {
+      // Most likely a question an import inserted meanwhile; keep every other row of the batch
+      LOG.warn("Batch insert of {} questions failed, inserting them one by one", batch.size(), e);
+      for (QuestionEntity question : batch) {
+        try {
+          insert(List.of(question));
+          written.increment();
+        } catch (RuntimeException rowFailure) {
+          LOG.warn("Dropping question {} that could not be saved", question.getId(), rowFailure);
+          dropped.increment();
+        }
+      }
+    } finally {
+      for (QuestionEntity question : batch) {
+        queued.remove(question.getContentHash(), question);
+      }
+    }
+  }
+
+  private void insert(List<QuestionEntity> questions) {
+    transaction.executeWithoutResult(
+        status -> {
+          jdbcTemplate.batchUpdate(
+              INSERT, questions, questions.size(), QuestionWriteBehind::bindInsert);
+          questions.forEach(bucketIndex::addAfterCommit);
+        });
+  }
+
+  private static void bindInsert(PreparedStatement statement, QuestionEntity question)
+      throws SQLException {
+    statement.setLong(1, question.getId());
+    statement.setString(2, question.getType());
+    statement.setString(3, question.getDifficulty());
+    statement.setString(4, question.getCategory());
+    statement.setString(5, question.getQuestion());
+    statement.setString(6, question.getCorrectAnswer());
+    if (question.getIncorrectAnswers() == null) {
+      statement.setNull(7, Types.ARRAY);
+    } else {
+      statement.setArray(
+          7,
+          statement
+              .getConnection()
+              .createArrayOf("VARCHAR", question.getIncorrectAnswers().toArray()));
+    }
+    statement.setString(8, question.getContentHash());
+    statement.setString(9, question.getNormalizedCorrectAnswer());
+  }
+
+  public record Stats(int queued, long written, long dropped) {}
+}
@@ -0,0 +1,161 @@
+package com.example.TriviaBackend.provider;
+
+import com.example.TriviaBackend.entity.QuestionEntity;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asks every provider at once, each on its own virtual thread, and merges their answers in the
+ * order they arrive, dropping questions with the same content hash.
+ *
+ * <p>A call returns as soon as the answers add up to the batch size, or when the latency budget has
+ * passed and at least one question has arrived; without any question it waits for the next answer.
+ * Answers arriving after their call returned are not wasted: they are kept and handed out first by
+ * the next call, which skips the fan-out entirely when they fill its batch. The call only fails
+ * when every provider failed and nothing is kept.
+ */
+public class FanOutQuestionProvider implements QuestionProvider, AutoCloseable {
+  private final Logger LOG = LoggerFactory.getLogger(FanOutQuestionProvider.class);
+  private final List<QuestionProvider> providers;
+  private final int batchSize;
+  private final long budgetNanos;
+  private final Queue<QuestionEntity> lateQuestions = new ConcurrentLinkedQueue<>();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public FanOutQuestionProvider(
+      List<QuestionProvider> providers, int batchSize, Duration latencyBudget) {
+    this.providers = List.copyOf(providers);
+    this.batchSize = batchSize;
+    this.budgetNanos = latencyBudget.toNanos();
+  }
+
+  @Override
+  public String name() {
+    return "fan-out";
+  }
+
+  public List<QuestionProvider> providers() {
+    return providers;
+  }
+
+  @Override
+  public List<QuestionEntity> getQuestions() {
+    final long deadline = System.nanoTime() + budgetNanos;
+    final Merge merge = new Merge();
+    for (QuestionEntity late = lateQuestions.poll();
+        late != null && merge.size() < batchSize;
+        late = lateQuestions.poll()) {
+      merge.add(late);
+    }
+    if (merge.size() >= batchSize) {
+      return merge.questions;
+    }
+
+    final Fanout fanout = new Fanout();
+    for (QuestionProvider provider : providers) {
+      CompletableFuture.supplyAsync(provider::getQuestions, executor)
+          .whenComplete((questions, failure) -> fanout.arrived(provider, questions, failure));
+    }
+
+    RuntimeException failure = null;
+    try {
+      for (int pending = providers.size(); pending > 0 && merge.size() < batchSize; pending--) {
+        final long remaining = deadline - System.nanoTime();
+        Answer answer =
+            remaining > 0 ? fanout.answers.poll(remaining, TimeUnit.NANOSECONDS) : null;
+        if (answer == null) {
+          if (merge.size() > 0) {
+            // Budget spent: what has arrived is served rather than waiting for the rest
+            break;
+          }
+          answer = fanout.answers.take();
+        }
+        if (answer.failure() != null) {
+          final RuntimeException providerFailure = unwrap(answer.failure());
+          LOG.warn(
+              "Question provider {} failed: {}",
+              answer.provider().name(),
+              providerFailure.getMessage());
+          failure = failure == null ? providerFailure : failure;
+          continue;
+        }
+        answer.questions().forEach(merge::add);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      fanout.close();
+    }
+
+    if (merge.size() == 0 && failure != null) {
+      throw failure;
+    }
+    return merge.questions;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private static RuntimeException unwrap(Throwable failure) {
+    final Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+    return cause instanceof RuntimeException runtime
+        ? runtime
+        : new IllegalStateException("Question provider failed", cause);
+  }
+
+  private record Answer(
+      QuestionProvider provider, List<QuestionEntity> questions, Throwable failure) {}
+
+  /** Questions of one call, in arrival order and without content-hash duplicates. */
+  private static final class Merge {
+    private final List<QuestionEntity> questions = new ArrayList<>();
+    private final Set<String> contentHashes = new HashSet<>();
+
+    void add(QuestionEntity question) {
+      if (contentHashes.add(question.getContentHash())) {
+        questions.add(question);
+      }
+    }
+
+    int size() {
+      return questions.size();
+    }
+  }
+
+  /** Answers of one call's providers; once the call has returned they go to the next call. */
+  private final class Fanout {
+    private final BlockingQueue<Answer> answers = new LinkedBlockingQueue<>();
+    private boolean closed;
+
+    synchronized void arrived(
+        QuestionProvider provider, List<QuestionEntity> questions, Throwable failure) {
+      if (!closed) {
+        answers.add(new Answer(provider, questions == null ? List.of() : questions, failure));
+      } else if (questions != null) {
+        lateQuestions.addAll(questions);
+      }
+    }
+
+    synchronized void close() {
+      closed = true;
+      for (Answer answer = answers.poll(); answer != null; answer = answers.poll()) {
+        lateQuestions.addAll(answer.questions());
+      }
+    }
+  }
+}
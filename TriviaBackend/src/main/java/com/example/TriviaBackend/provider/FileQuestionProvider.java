@@ -0,0 +1,57 @@
+package com.example.TriviaBackend.provider;
+
+import com.example.TriviaBackend.cache.RandomSample;
+import com.example.TriviaBackend.dto.response.TriviaResponse;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Questions from a local bank in the newline-delimited JSON format of the export endpoint. The
+ * file is read once; every call hands out a uniform sample of it.
+ */
+public class FileQuestionProvider implements QuestionProvider {
+  private final Path path;
+  private final List<TriviaResponse.TriviaQuestion> questions;
+  private final int batchSize;
+
+  public FileQuestionProvider(Path path, int batchSize, ObjectMapper objectMapper) {
+    this.path = path;
+    this.batchSize = batchSize;
+    final List<TriviaResponse.TriviaQuestion> read = new ArrayList<>();
+    try (InputStream in = Files.newInputStream(path);
+        MappingIterator<TriviaResponse.TriviaQuestion> lines =
+            objectMapper.readerFor(TriviaResponse.TriviaQuestion.class).readValues(in)) {
+      lines.forEachRemaining(read::add);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Reading question bank " + path + " failed", e);
+    }
+    this.questions = List.copyOf(read);
+  }
+
+  @Override
+  public String name() {
+    return "file " + path.getFileName();
+  }
+
+  @Override
+  public List<QuestionEntity> getQuestions() {
+    final int[] positions = RandomSample.distinctSorted(questions.size(), batchSize);
+    final List<QuestionEntity> sample = new ArrayList<>(positions.length);
+    for (int position : positions) {
+      sample.add(new QuestionEntity(questions.get(position)));
+    }
+    return sample;
+  }
+
+  public int size() {
+    return questions.size();
+  }
+}
@@ -0,0 +1,17 @@
+package com.example.TriviaBackend.provider;
+
+import com.example.TriviaBackend.entity.QuestionEntity;
+import java.util.List;
+
+/** A source the question pool is refilled from. */
+public interface QuestionProvider {
+
+  /** Short name for logs. */
+  String name();
+
+  /**
+   * One batch of questions. Questions that are not stored yet have id {@code 0}; an empty list
+   * means the source has nothing to offer right now.
+   */
+  List<QuestionEntity> getQuestions();
+}
@@ -0,0 +1,50 @@
+package com.example.TriviaBackend.provider;
+
+import com.example.TriviaBackend.cache.QuestionBucketIndex;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Questions drawn again from the bank already stored, sampled through the {@link
+ * QuestionBucketIndex} and loaded from the snapshot or by primary key. Never calls upstream, so it
+ * answers within milliseconds as long as the bank is not empty.
+ */
+public class StoredQuestionProvider implements QuestionProvider {
+  private final QuestionBucketIndex bucketIndex;
+  private final QuestionSnapshotStore snapshotStore;
+  private final QuestionRepository questionRepository;
+  private final int batchSize;
+
+  public StoredQuestionProvider(
+      QuestionBucketIndex bucketIndex,
+      QuestionSnapshotStore snapshotStore,
+      QuestionRepository questionRepository,
+      int batchSize) {
+    this.bucketIndex = bucketIndex;
+    this.snapshotStore = snapshotStore;
+    this.questionRepository = questionRepository;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public String name() {
+    return "database";
+  }
+
+  @Override
+  public List<QuestionEntity> getQuestions() {
+    final long[] ids = bucketIndex.sample(null, null, null, batchSize);
+    final List<QuestionEntity> questions = new ArrayList<>(ids.length);
+    final List<Long> storedIds = new ArrayList<>(ids.length);
+    for (long id : ids) {
+      snapshotStore.findById(id).ifPresentOrElse(questions::add, () -> storedIds.add(id));
+    }
+    if (!storedIds.isEmpty()) {
+      questions.addAll(questionRepository.findAllById(storedIds));
+    }
+    return questions;
+  }
+}
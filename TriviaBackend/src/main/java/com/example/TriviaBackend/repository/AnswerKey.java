@@ -0,0 +1,50 @@
+package com.example.TriviaBackend.repository;
+
+import com.example.TriviaBackend.cache.AnswerHash;
+import com.example.TriviaBackend.cache.AnswerNormalizer;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import java.util.List;
+
+/**
+ * Projection of a question onto the only columns needed for grading. The answers are as served,
+ * except for the correct answer's {@link AnswerNormalizer normalized} form that answers are graded
+ * against.
+ */
+public record AnswerKey(
+    long id,
+    String correctAnswer,
+    String normalizedCorrectAnswer,
+    List<String> incorrectAnswers) {
+
+  public static AnswerKey of(QuestionEntity question) {
+    return new AnswerKey(
+        question.getId(),
+        question.getCorrectAnswer(),
+        question.getNormalizedCorrectAnswer(),
+        question.getIncorrectAnswers());
+  }
+
+  /**
+   * Whether one of the incorrect answers normalizes to the same hash as the correct one, so the
+   * two can only be told apart by comparing the correct answer exactly.
+   */
+  public boolean exactMatchRequired() {
+    if (incorrectAnswers == null) {
+      return false;
+    }
+    final long correctHash = AnswerHash.of(normalizedCorrectAnswer);
+    for (String incorrectAnswer : incorrectAnswers) {
+      if (AnswerNormalizer.hash(incorrectAnswer) == correctHash
+          && !incorrectAnswer.equals(correctAnswer)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean isCorrect(String answer) {
+    return exactMatchRequired()
+        ? correctAnswer.equals(answer)
+        : AnswerHash.of(normalizedCorrectAnswer) == AnswerNormalizer.hash(answer);
+  }
+}
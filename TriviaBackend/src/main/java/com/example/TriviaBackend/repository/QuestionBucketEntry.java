@@ -0,0 +1,4 @@
+package com.example.TriviaBackend.repository;
+
+/** The columns {@code QuestionBucketIndex} groups question ids by. */
+public record QuestionBucketEntry(long id, String category, String difficulty, String type) {}
@@ -1,9 +1,84 @@
 package com.example.TriviaBackend.repository;
 
+import com.example.TriviaBackend.dto.response.TriviaResponse;
 import com.example.TriviaBackend.entity.QuestionEntity;
+import jakarta.persistence.QueryHint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<QuestionEntity, Long> {
+
+  @Query(
+      "select new com.example.TriviaBackend.repository.AnswerKey("
+          + "q.id, q.correctAnswer, q.normalizedCorrectAnswer, q.incorrectAnswers)"
+          + " from QuestionEntity q where q.id in :ids")
+  List<AnswerKey> findAnswerKeysByIdIn(@Param("ids") Collection<Long> ids);
+
+  /** Reads the covering {@code (category, difficulty, type, id)} index in its own order. */
+  @Query(
+      "select new com.example.TriviaBackend.repository.QuestionBucketEntry("
+          + "q.id, q.category, q.difficulty, q.type)"
+          + " from QuestionEntity q order by q.category, q.difficulty, q.type, q.id")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  Stream<QuestionBucketEntry> streamBucketEntries();
+
+  /** Unmanaged projections, so the persistence context does not grow with the export. */
+  @Query(
+      "select new com.example.TriviaBackend.dto.response.TriviaResponse$TriviaQuestion("
+          + "q.type, q.difficulty, q.category, q.question, q.correctAnswer, q.incorrectAnswers)"
+          + " from QuestionEntity q order by q.id")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  Stream<TriviaResponse.TriviaQuestion> streamAllForExport();
+
+  /** Whole rows in bucket order, as the question snapshot lays them out. */
+  @Query(
+      "select new com.example.TriviaBackend.repository.StoredQuestion(q.id, q.contentHash,"
+          + " q.type, q.difficulty, q.category, q.question, q.correctAnswer, q.incorrectAnswers)"
+          + " from QuestionEntity q order by q.category, q.difficulty, q.type, q.id")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  Stream<StoredQuestion> streamAllInBucketOrder();
+
+  List<QuestionEntity> findByContentHashIn(Collection<String> contentHashes);
+
+  /**
+   * Saves the questions that are not stored yet and returns, in input order and without duplicates,
+   * the stored row for every distinct question. A question already in the table keeps its row and
+   * id; the unique index on {@code contentHash} rejects any duplicate that slips past this check.
+   */
+  @Transactional
+  default List<QuestionEntity> upsertAll(List<QuestionEntity> questions) {
+    final Map<String, QuestionEntity> distinct = new LinkedHashMap<>();
+    for (QuestionEntity question : questions) {
+      distinct.putIfAbsent(question.getContentHash(), question);
+    }
+
+    final Map<String, QuestionEntity> stored = new LinkedHashMap<>();
+    for (QuestionEntity existing : findByContentHashIn(distinct.keySet())) {
+      stored.put(existing.getContentHash(), existing);
+    }
+
+    final List<QuestionEntity> inserts = new ArrayList<>();
+    final List<QuestionEntity> result = new ArrayList<>(distinct.size());
+    for (Map.Entry<String, QuestionEntity> entry : distinct.entrySet()) {
+      final QuestionEntity existing = stored.get(entry.getKey());
+      if (existing == null) {
+        inserts.add(entry.getValue());
+      }
+      result.add(existing == null ? entry.getValue() : existing);
+    }
+    saveAll(inserts);
+    return result;
+  }
 }
@@ -0,0 +1,21 @@
+package com.example.TriviaBackend.repository;
+
+import com.example.TriviaBackend.entity.QuestionEntity;
+import java.util.List;
+
+/** Every column of a stored question, read without entering the persistence context. */
+public record StoredQuestion(
+    long id,
+    String contentHash,
+    String type,
+    String difficulty,
+    String category,
+    String question,
+    String correctAnswer,
+    List<String> incorrectAnswers) {
+
+  public QuestionEntity toEntity() {
+    return new QuestionEntity(
+        id, type, difficulty, category, question, correctAnswer, incorrectAnswers);
+  }
+}
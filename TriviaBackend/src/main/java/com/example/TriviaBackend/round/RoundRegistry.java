@@ -0,0 +1,137 @@
+package com.example.TriviaBackend.round;
+
+import com.example.TriviaBackend.config.RoundProperties;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rounds of served questions that can still be graded, by round token.
+ *
+ * <p>Every response of {@code /api/questions} issues a round holding the ids it served; grading
+ * claims the round, so it only accepts answers to those questions and only once. Tokens are 64
+ * random bits from a {@link SecureRandom}, written as 16 hex digits, so they cannot be guessed.
+ *
+ * <p>Rounds are spread over {@value #STRIPES} {@link RoundTable}s by the token's top bits, each
+ * behind its own lock, so concurrent players rarely contend. Together the tables hold at most
+ * {@code maximumSize} rounds; the oldest are evicted beyond that and after {@code ttl}.
+ */
+@Component
+public class RoundRegistry {
+  private static final int STRIPE_BITS = 4;
+  private static final int STRIPES = 1 << STRIPE_BITS;
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final RoundTable[] tables = new RoundTable[STRIPES];
+  private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+  private final SecureRandom random = new SecureRandom();
+  private final LongAdder evictions = new LongAdder();
+
+  @Autowired
+  public RoundRegistry(RoundProperties properties) {
+    if (properties.maximumSize() < 1) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+    final int maximumSizePerStripe = Math.ceilDiv(properties.maximumSize(), STRIPES);
+    for (int stripe = 0; stripe < STRIPES; stripe++) {
+      tables[stripe] = new RoundTable(maximumSizePerStripe, properties.ttl().toNanos());
+      locks[stripe] = new ReentrantLock();
+    }
+  }
+
+  /** Starts a round for the given questions and returns its token. */
+  public String issue(long[] questionIds) {
+    final long[] sortedQuestionIds = questionIds.clone();
+    Arrays.sort(sortedQuestionIds);
+    while (true) {
+      final long token = random.nextLong();
+      if (token == 0) {
+        continue;
+      }
+
+      final int stripe = stripeOf(token);
+      final int evicted;
+      locks[stripe].lock();
+      try {
+        if (tables[stripe].contains(token)) {
+          continue;
+        }
+        evicted = tables[stripe].put(token, sortedQuestionIds, System.nanoTime());
+      } finally {
+        locks[stripe].unlock();
+      }
+      evictions.add(evicted);
+      return HEX.toHexDigits(token);
+    }
+  }
+
+  /**
+   * Ends the round and returns the sorted ids of its questions, or {@code null} if the token is
+   * malformed, unknown, expired or already claimed.
+   */
+  public long[] claim(String roundToken) {
+    final long token = parse(roundToken);
+    if (token == 0) {
+      return null;
+    }
+
+    final int stripe = stripeOf(token);
+    locks[stripe].lock();
+    try {
+      return tables[stripe].remove(token, System.nanoTime());
+    } finally {
+      locks[stripe].unlock();
+    }
+  }
+
+  /** Whether the round can still be claimed, that is issued, not expired and not yet graded. */
+  public boolean isOpen(String roundToken) {
+    final long token = parse(roundToken);
+    if (token == 0) {
+      return false;
+    }
+
+    final int stripe = stripeOf(token);
+    locks[stripe].lock();
+    try {
+      return tables[stripe].isLive(token, System.nanoTime());
+    } finally {
+      locks[stripe].unlock();
+    }
+  }
+
+  public Stats stats() {
+    int size = 0;
+    for (int stripe = 0; stripe < STRIPES; stripe++) {
+      locks[stripe].lock();
+      try {
+        size += tables[stripe].size();
+      } finally {
+        locks[stripe].unlock();
+      }
+    }
+    return new Stats(size, evictions.sum());
+  }
+
+  /** Returns the token, or {@code 0}, which is never issued, if it is malformed. */
+  private static long parse(String roundToken) {
+    if (roundToken == null || roundToken.length() != 16) {
+      return 0;
+    }
+    try {
+      return HEX.fromHexDigitsToLong(roundToken);
+    } catch (IllegalArgumentException e) {
+      return 0;
+    }
+  }
+
+  private static int stripeOf(long token) {
+    return (int) (token >>> (Long.SIZE - STRIPE_BITS));
+  }
+
+  public record Stats(int size, long evictions) {}
+}
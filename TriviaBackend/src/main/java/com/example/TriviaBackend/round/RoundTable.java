@@ -0,0 +1,208 @@
+package com.example.TriviaBackend.round;
+
+import com.example.TriviaBackend.cache.RandomSample;
+
+/**
+ * Open-addressing map from round token to the sorted ids of the questions served in that round,
+ * built on primitive arrays.
+ *
+ * <p>A round is issued once and removed when it is graded, so entries are never updated. Each
+ * costs a token and an issue time in the table and in the issue-order ring, plus one {@code
+ * long[]} of question ids. Rounds are issued in time order, so the ring's head is always the
+ * oldest round: expired rounds are purged from it and, once {@code maximumSize} ring entries are
+ * held, the oldest round is evicted. Token {@code 0} is reserved as the empty marker.
+ *
+ * <p>Not thread-safe; {@link RoundRegistry} guards each table with its own lock.
+ */
+class RoundTable {
+  private static final int INITIAL_CAPACITY = 64;
+  private static final long EMPTY = 0L;
+
+  private final int maximumSize;
+  private final long ttlNanos;
+
+  private long[] tokens;
+  private long[] issuedAtNanos;
+  private long[][] questionIds;
+  private int size;
+
+  private long[] ringTokens;
+  private long[] ringIssuedAtNanos;
+  private long ringHead;
+  private long ringTail;
+
+  RoundTable(int maximumSize, long ttlNanos) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+    this.maximumSize = maximumSize;
+    this.ttlNanos = ttlNanos;
+    this.tokens = new long[INITIAL_CAPACITY];
+    this.issuedAtNanos = new long[INITIAL_CAPACITY];
+    this.questionIds = new long[INITIAL_CAPACITY][];
+    final int ringCapacity = Math.min(INITIAL_CAPACITY, ceilingPowerOfTwo(maximumSize));
+    this.ringTokens = new long[ringCapacity];
+    this.ringIssuedAtNanos = new long[ringCapacity];
+  }
+
+  boolean contains(long token) {
+    return find(token) >= 0;
+  }
+
+  /** Stores a new round and returns how many live rounds had to be evicted to make room. */
+  int put(long token, long[] sortedQuestionIds, long nowNanos) {
+    if (token == EMPTY) {
+      throw new IllegalArgumentException("Round token 0 cannot be stored");
+    }
+
+    int evicted = purgeExpired(nowNanos);
+    while (ringTail - ringHead >= maximumSize) {
+      evicted += evictHead();
+    }
+    if ((size + 1) * 4L > tokens.length * 3L) {
+      resizeTable(tokens.length * 2);
+    }
+
+    append(token, nowNanos);
+    int slot = slotFor(token);
+    while (tokens[slot] != EMPTY) {
+      slot = (slot + 1) & (tokens.length - 1);
+    }
+    tokens[slot] = token;
+    issuedAtNanos[slot] = nowNanos;
+    questionIds[slot] = sortedQuestionIds;
+    size++;
+    return evicted;
+  }
+
+  /**
+   * Removes the round and returns its sorted question ids, or {@code null} if it is unknown,
+   * expired or already removed.
+   */
+  long[] remove(long token, long nowNanos) {
+    final int slot = find(token);
+    if (slot < 0) {
+      return null;
+    }
+
+    final long[] removed = nowNanos - issuedAtNanos[slot] > ttlNanos ? null : questionIds[slot];
+    // The ring entry stays until the head passes it; evictHead skips tokens no longer stored
+    removeSlot(slot);
+    return removed;
+  }
+
+  /** Whether the round is stored and has not expired, without removing it. */
+  boolean isLive(long token, long nowNanos) {
+    final int slot = find(token);
+    return slot >= 0 && nowNanos - issuedAtNanos[slot] <= ttlNanos;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private int purgeExpired(long nowNanos) {
+    int evicted = 0;
+    while (ringHead < ringTail
+        && nowNanos - ringIssuedAtNanos[ringIndex(ringHead)] > ttlNanos) {
+      evicted += evictHead();
+    }
+    return evicted;
+  }
+
+  private int evictHead() {
+    final long token = ringTokens[ringIndex(ringHead++)];
+    final int slot = find(token);
+    if (slot < 0) {
+      return 0;
+    }
+    removeSlot(slot);
+    return 1;
+  }
+
+  private void append(long token, long nowNanos) {
+    if (ringTail - ringHead == ringTokens.length) {
+      resizeRing(ringTokens.length * 2);
+    }
+    final long sequence = ringTail++;
+    ringTokens[ringIndex(sequence)] = token;
+    ringIssuedAtNanos[ringIndex(sequence)] = nowNanos;
+  }
+
+  private int find(long token) {
+    int slot = slotFor(token);
+    while (tokens[slot] != EMPTY) {
+      if (tokens[slot] == token) {
+        return slot;
+      }
+      slot = (slot + 1) & (tokens.length - 1);
+    }
+    return -1;
+  }
+
+  /** Backward-shift deletion keeps linear probe chains intact without tombstones. */
+  private void removeSlot(int slot) {
+    final int mask = tokens.length - 1;
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (tokens[next] != EMPTY) {
+      final int home = slotFor(tokens[next]);
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        tokens[hole] = tokens[next];
+        issuedAtNanos[hole] = issuedAtNanos[next];
+        questionIds[hole] = questionIds[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    tokens[hole] = EMPTY;
+    issuedAtNanos[hole] = 0;
+    questionIds[hole] = null;
+    size--;
+  }
+
+  private void resizeTable(int capacity) {
+    final long[] oldTokens = tokens;
+    final long[] oldIssuedAtNanos = issuedAtNanos;
+    final long[][] oldQuestionIds = questionIds;
+    tokens = new long[capacity];
+    issuedAtNanos = new long[capacity];
+    questionIds = new long[capacity][];
+    for (int i = 0; i < oldTokens.length; i++) {
+      if (oldTokens[i] == EMPTY) {
+        continue;
+      }
+      int slot = slotFor(oldTokens[i]);
+      while (tokens[slot] != EMPTY) {
+        slot = (slot + 1) & (capacity - 1);
+      }
+      tokens[slot] = oldTokens[i];
+      issuedAtNanos[slot] = oldIssuedAtNanos[i];
+      questionIds[slot] = oldQuestionIds[i];
+    }
+  }
+
+  private void resizeRing(int capacity) {
+    final long[] oldRingTokens = ringTokens;
+    final long[] oldRingIssuedAtNanos = ringIssuedAtNanos;
+    ringTokens = new long[capacity];
+    ringIssuedAtNanos = new long[capacity];
+    for (long sequence = ringHead; sequence < ringTail; sequence++) {
+      final int oldIndex = (int) (sequence & (oldRingTokens.length - 1));
+      ringTokens[ringIndex(sequence)] = oldRingTokens[oldIndex];
+      ringIssuedAtNanos[ringIndex(sequence)] = oldRingIssuedAtNanos[oldIndex];
+    }
+  }
+
+  private int ringIndex(long sequence) {
+    return (int) (sequence & (ringTokens.length - 1));
+  }
+
+  private int slotFor(long token) {
+    return (int) (RandomSample.mix(token) & (tokens.length - 1));
+  }
+
+  private static int ceilingPowerOfTwo(int value) {
+    return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+  }
+}
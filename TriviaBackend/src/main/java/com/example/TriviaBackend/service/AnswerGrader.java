@@ -0,0 +1,195 @@
+package com.example.TriviaBackend.service;
+
+import com.example.TriviaBackend.cache.AnswerKeyCache;
+import com.example.TriviaBackend.config.GradingProperties;
+import com.example.TriviaBackend.dto.request.AnswerRequest;
+import com.example.TriviaBackend.dto.response.AnswerResponse;
+import com.example.TriviaBackend.repository.AnswerKey;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grades answers against the answer-key cache. Keys the cache misses are looked up in the snapshot
+ * and then in the database, in ascending id order and with one query per call, and are cached for
+ * the next call.
+ *
+ * <p>From {@code parallelThreshold} answers on, the batch is split into ranges graded on a
+ * dedicated {@link ForkJoinPool}, so a large batch neither runs on one core nor competes with the
+ * common pool. Each range does its own lookup of the keys it misses, outside of the caller's
+ * transaction, and writes its results to its own slots, so they stay in request order.
+ */
+@Component
+public class AnswerGrader {
+  /** Fewer answers than this are not worth a task of their own. */
+  private static final int MIN_RANGE_SIZE = 256;
+
+  /** Ranges per pool thread, so threads that finish early can steal the rest. */
+  private static final int RANGES_PER_THREAD = 4;
+
+  private final Logger LOG = LoggerFactory.getLogger(AnswerGrader.class);
+  private final QuestionRepository questionRepository;
+  private final AnswerKeyCache answerKeyCache;
+  private final QuestionSnapshotStore snapshotStore;
+  private final int parallelThreshold;
+  private final ForkJoinPool pool;
+
+  @Autowired
+  public AnswerGrader(
+      QuestionRepository questionRepository,
+      AnswerKeyCache answerKeyCache,
+      QuestionSnapshotStore snapshotStore,
+      GradingProperties properties) {
+    this.questionRepository = questionRepository;
+    this.answerKeyCache = answerKeyCache;
+    this.snapshotStore = snapshotStore;
+    this.parallelThreshold = properties.parallelThreshold();
+    final int parallelism =
+        properties.parallelism() > 0
+            ? properties.parallelism()
+            : Runtime.getRuntime().availableProcessors();
+    this.pool =
+        parallelism > 1
+            ? new ForkJoinPool(
+                parallelism,
+                pool -> {
+                  final ForkJoinWorkerThread thread =
+                      ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                  thread.setName("answer-grader-" + thread.getPoolIndex());
+                  return thread;
+                },
+                null,
+                false)
+            : null;
+  }
+
+  /**
+   * Returns the result of {@code answers.get(i)} at index {@code i}; {@code null} answers are
+   * skipped and get a {@code null} result. Answers to questions that are not stored are {@link
+   * AnswerResponse.Status#UNKNOWN_QUESTION}.
+   */
+  public AnswerResponse[] grade(List<AnswerRequest> answers) {
+    final AnswerResponse[] results = new AnswerResponse[answers.size()];
+    if (pool == null || answers.size() < parallelThreshold) {
+      grade(answers, results, 0, results.length);
+    } else {
+      final int rangeSize =
+          Math.max(
+              MIN_RANGE_SIZE,
+              Math.ceilDiv(results.length, pool.getParallelism() * RANGES_PER_THREAD));
+      pool.invoke(new GradeRange(answers, results, 0, results.length, rangeSize));
+    }
+    return results;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  private void grade(List<AnswerRequest> answers, AnswerResponse[] results, int from, int to) {
+    final long[] misses = new long[to - from];
+    int missCount = 0;
+    for (int i = from; i < to; i++) {
+      final AnswerRequest answer = answers.get(i);
+      if (answer == null) {
+        continue;
+      }
+      switch (answerKeyCache.check(answer.questionId(), answer.answer())) {
+        case CORRECT -> results[i] = new AnswerResponse(answer.questionId(), true);
+        case INCORRECT -> results[i] = new AnswerResponse(answer.questionId(), false);
+        case MISS -> misses[missCount++] = answer.questionId();
+      }
+    }
+    if (missCount == 0) {
+      return;
+    }
+
+    final Map<Long, AnswerKey> loadedKeys = loadAnswerKeys(Arrays.copyOf(misses, missCount));
+    for (int i = from; i < to; i++) {
+      final AnswerRequest answer = answers.get(i);
+      if (answer == null || results[i] != null) {
+        continue;
+      }
+      final AnswerKey answerKey = loadedKeys.get(answer.questionId());
+      if (answerKey == null) {
+        LOG.warn("Could not find question with id {} in database", answer.questionId());
+        results[i] = AnswerResponse.unknownQuestion(answer.questionId());
+      } else {
+        // Graded like the cache will grade it, including exact matches for colliding answers
+        results[i] = new AnswerResponse(answer.questionId(), answerKey.isCorrect(answer.answer()));
+      }
+    }
+  }
+
+  private Map<Long, AnswerKey> loadAnswerKeys(long[] questionIds) {
+    // Ascending ids walk the primary key in order
+    Arrays.sort(questionIds);
+    final List<AnswerKey> loaded = new ArrayList<>(questionIds.length);
+    final Set<Long> storedIds = new LinkedHashSet<>();
+    for (int i = 0; i < questionIds.length; i++) {
+      final long id = questionIds[i];
+      if (i > 0 && id == questionIds[i - 1]) {
+        continue;
+      }
+      snapshotStore.findAnswerKey(id).ifPresentOrElse(loaded::add, () -> storedIds.add(id));
+    }
+    if (!storedIds.isEmpty()) {
+      // One query for all cache misses instead of one findById per answer
+      loaded.addAll(questionRepository.findAnswerKeysByIdIn(storedIds));
+    }
+    answerKeyCache.putAllAfterCommit(loaded);
+
+    final Map<Long, AnswerKey> answerKeys = new HashMap<>();
+    for (AnswerKey answerKey : loaded) {
+      answerKeys.put(answerKey.id(), answerKey);
+    }
+    return answerKeys;
+  }
+
+  /** Splits its range in halves until they are small enough to grade. */
+  private final class GradeRange extends RecursiveAction {
+    private final List<AnswerRequest> answers;
+    private final AnswerResponse[] results;
+    private final int from;
+    private final int to;
+    private final int rangeSize;
+
+    GradeRange(
+        List<AnswerRequest> answers, AnswerResponse[] results, int from, int to, int rangeSize) {
+      this.answers = answers;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+      this.rangeSize = rangeSize;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= rangeSize) {
+        grade(answers, results, from, to);
+        return;
+      }
+      final int middle = (from + to) >>> 1;
+      invokeAll(
+          new GradeRange(answers, results, from, middle, rangeSize),
+          new GradeRange(answers, results, middle, to, rangeSize));
+    }
+  }
+}
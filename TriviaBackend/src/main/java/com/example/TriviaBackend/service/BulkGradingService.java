@@ -0,0 +1,130 @@
+package com.example.TriviaBackend.service;
+
+import com.example.TriviaBackend.config.GradingProperties;
+import com.example.TriviaBackend.dto.request.AnswerRequest;
+import com.example.TriviaBackend.dto.response.AnswerResponse;
+import com.example.TriviaBackend.dto.response.BulkGradingError;
+import com.example.TriviaBackend.exception.InvalidAnswerBatchException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Grades batches of answers too large to bind in memory, such as those of offline grading jobs.
+ *
+ * <p>Answers are read one at a time with Jackson's streaming parser, from a JSON array or from
+ * newline-delimited JSON. Every {@code chunkSize} answers are graded together, with the answer
+ * keys the cache misses loaded in one id-sorted query, and their results are written as
+ * newline-delimited {@link AnswerResponse}s, in request order, before the next chunk is read.
+ * Memory is bounded by the chunk size, not by the batch. Rounds and the leaderboard are not
+ * involved.
+ */
+@Service
+public class BulkGradingService {
+  private final Logger LOG = LoggerFactory.getLogger(BulkGradingService.class);
+  private final AnswerGrader answerGrader;
+  private final int chunkSize;
+  private final ObjectReader answerReader;
+  private final NdjsonWriter lineWriter;
+
+  @Autowired
+  public BulkGradingService(
+      AnswerGrader answerGrader, GradingProperties properties, ObjectMapper objectMapper) {
+    this.answerGrader = answerGrader;
+    this.chunkSize = properties.chunkSize();
+    this.answerReader = objectMapper.readerFor(AnswerRequest.class);
+    this.lineWriter = new NdjsonWriter(objectMapper);
+  }
+
+  /**
+   * Grades every answer read from {@code in} and writes one result line per answer to {@code out};
+   * returns the number of answers graded. A malformed answer is thrown as an {@link
+   * InvalidAnswerBatchException} while nothing has been written; after that, the chunks before it
+   * stay written and a final {@link BulkGradingError} line reports where grading stopped.
+   */
+  public long gradeAnswers(InputStream in, OutputStream out) throws IOException {
+    long graded = 0;
+    final List<AnswerRequest> chunk = new ArrayList<>(chunkSize);
+    try (JsonParser parser = answerReader.createParser(in);
+        JsonGenerator generator = lineWriter.createGenerator(out)) {
+      JsonToken token = nextToken(parser, graded);
+      final boolean array = token == JsonToken.START_ARRAY;
+      if (array) {
+        token = nextToken(parser, graded);
+      }
+      try {
+        while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+          chunk.add(readAnswer(parser, token, graded));
+          if (chunk.size() == chunkSize) {
+            graded += write(generator, chunk);
+          }
+          token = nextToken(parser, graded);
+        }
+      } catch (InvalidAnswerBatchException e) {
+        if (graded == 0) {
+          throw e;
+        }
+        // The results sent so far committed the response as 200, so the stream has to say it
+        // stopped short; otherwise the client cannot tell it from a smaller batch
+        LOG.warn("{}", e.getMessage());
+        lineWriter.writeLine(generator, new BulkGradingError(e.getMessage(), graded));
+        return graded;
+      }
+      graded += write(generator, chunk);
+    }
+    LOG.info("Graded {} answers", graded);
+    return graded;
+  }
+
+  /** Grades and writes the chunk, then empties it for the next one. */
+  private int write(JsonGenerator generator, List<AnswerRequest> chunk) throws IOException {
+    if (chunk.isEmpty()) {
+      return 0;
+    }
+    for (AnswerResponse result : answerGrader.grade(chunk)) {
+      lineWriter.writeLine(generator, result);
+    }
+    // Hand the chunk's results to the client rather than holding them until the batch ends
+    generator.flush();
+    final int written = chunk.size();
+    chunk.clear();
+    return written;
+  }
+
+  private AnswerRequest readAnswer(JsonParser parser, JsonToken token, long graded)
+      throws IOException {
+    if (token != JsonToken.START_OBJECT) {
+      throw stopped(graded, "expected an answer object but found " + token);
+    }
+    try {
+      return answerReader.readValue(parser);
+    } catch (JsonProcessingException e) {
+      throw stopped(graded, e.getOriginalMessage());
+    }
+  }
+
+  private static JsonToken nextToken(JsonParser parser, long graded) throws IOException {
+    try {
+      return parser.nextToken();
+    } catch (JsonProcessingException e) {
+      throw stopped(graded, e.getOriginalMessage());
+    }
+  }
+
+  private static InvalidAnswerBatchException stopped(long graded, String reason) {
+    return new InvalidAnswerBatchException(
+        "Grading stopped after " + graded + " answers: " + reason);
+  }
+}
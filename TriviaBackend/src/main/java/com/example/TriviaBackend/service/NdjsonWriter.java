@@ -0,0 +1,34 @@
+package com.example.TriviaBackend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes newline-delimited JSON, one value per line. Lines are not flushed as they are written;
+ * callers flush the generator when the client should see what has been written so far.
+ */
+final class NdjsonWriter {
+  private final ObjectWriter writer;
+
+  NdjsonWriter(ObjectMapper objectMapper) {
+    // Each line ends in '\n' itself, so no separator between root values
+    this.writer =
+        objectMapper
+            .writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("");
+  }
+
+  JsonGenerator createGenerator(OutputStream out) throws IOException {
+    return writer.createGenerator(out);
+  }
+
+  void writeLine(JsonGenerator generator, Object value) throws IOException {
+    writer.writeValue(generator, value);
+    generator.writeRaw('\n');
+  }
+}
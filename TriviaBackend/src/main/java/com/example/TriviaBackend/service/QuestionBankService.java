@@ -0,0 +1,126 @@
+package com.example.TriviaBackend.service;
+
+import com.example.TriviaBackend.dto.response.TriviaResponse;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.exception.InvalidQuestionImportException;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.snapshot.QuestionSnapshot;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Bulk export and import of the question bank as newline-delimited JSON, one question per line in
+ * the Open Trivia API's {@link TriviaResponse.TriviaQuestion} shape.
+ *
+ * <p>Both directions stream: the export reads a projection stream with a bounded fetch size and
+ * writes each line as it arrives, and the import parses one line at a time and upserts in batches,
+ * each in its own transaction. Memory stays flat however large the bank is.
+ */
+@Service
+public class QuestionBankService {
+  /** Questions per import transaction; a multiple of the JDBC batch size. */
+  static final int IMPORT_BATCH_SIZE = 500;
+
+  private final Logger LOG = LoggerFactory.getLogger(QuestionBankService.class);
+  private final QuestionRepository questionRepository;
+  private final QuestionSnapshotStore snapshotStore;
+  private final NdjsonWriter lineWriter;
+  private final ObjectReader lineReader;
+
+  @Autowired
+  public QuestionBankService(
+      QuestionRepository questionRepository,
+      QuestionSnapshotStore snapshotStore,
+      ObjectMapper objectMapper) {
+    this.questionRepository = questionRepository;
+    this.snapshotStore = snapshotStore;
+    this.lineWriter = new NdjsonWriter(objectMapper);
+    this.lineReader = objectMapper.readerFor(TriviaResponse.TriviaQuestion.class);
+  }
+
+  /**
+   * Writes every stored question, snapshot questions first, to {@code out}; returns the number of
+   * lines written.
+   */
+  @Transactional(readOnly = true)
+  public long exportQuestions(OutputStream out) throws IOException {
+    long exported = 0;
+    try (Stream<TriviaResponse.TriviaQuestion> questions =
+            Stream.concat(snapshotQuestions(), questionRepository.streamAllForExport());
+        JsonGenerator generator = lineWriter.createGenerator(out)) {
+      for (TriviaResponse.TriviaQuestion question :
+          (Iterable<TriviaResponse.TriviaQuestion>) questions::iterator) {
+        lineWriter.writeLine(generator, question);
+        exported++;
+      }
+    }
+    LOG.info("Exported {} questions", exported);
+    return exported;
+  }
+
+  /**
+   * Reads questions from {@code in} until it ends and stores those not yet in the bank or the
+   * snapshot. Batches before a malformed line stay committed.
+   */
+  public long importQuestions(InputStream in) {
+    long imported = 0;
+    final List<QuestionEntity> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+    try (MappingIterator<TriviaResponse.TriviaQuestion> questions = lineReader.readValues(in)) {
+      while (questions.hasNextValue()) {
+        batch.add(new QuestionEntity(questions.nextValue()));
+        if (batch.size() == IMPORT_BATCH_SIZE) {
+          upsert(batch);
+          imported += batch.size();
+          batch.clear();
+        }
+      }
+    } catch (IOException e) {
+      throw new InvalidQuestionImportException(
+          "Import stopped after " + imported + " questions: " + e.getMessage());
+    }
+
+    if (!batch.isEmpty()) {
+      upsert(batch);
+      imported += batch.size();
+    }
+    LOG.info("Imported {} questions", imported);
+    return imported;
+  }
+
+  /** Questions this instance serves from its snapshot rather than the database. */
+  private Stream<TriviaResponse.TriviaQuestion> snapshotQuestions() {
+    return snapshotStore.snapshot().stream()
+        .flatMap(QuestionSnapshot::questions)
+        .map(
+            question ->
+                new TriviaResponse.TriviaQuestion(
+                    question.type(),
+                    question.difficulty(),
+                    question.category(),
+                    question.question(),
+                    question.correctAnswer(),
+                    question.incorrectAnswers()));
+  }
+
+  private void upsert(List<QuestionEntity> batch) {
+    final List<QuestionEntity> unseen = new ArrayList<>(batch);
+    unseen.removeIf(question -> snapshotStore.containsContentHash(question.getContentHash()));
+    if (!unseen.isEmpty()) {
+      questionRepository.upsertAll(unseen);
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package com.example.TriviaBackend.service;
+
+import com.example.TriviaBackend.cache.AnswerKeyCache;
+import com.example.TriviaBackend.cache.QuestionFragmentCache;
+import com.example.TriviaBackend.concurrent.SingleFlight;
+import com.example.TriviaBackend.config.QuestionPoolProperties;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.persistence.QuestionWriteBehind;
+import com.example.TriviaBackend.provider.QuestionProvider;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory pool of stored but not yet served questions.
+ *
+ * <p>Requests draw from the pool without touching the Open Trivia API. The pool is topped up by a
+ * single-flight refill from the {@link QuestionProvider}: at most one fetch-and-save is in
+ * flight at any time, and the spacing of upstream calls is left to the providers. Only when the
+ * pool cannot satisfy a request does the caller wait, and then it joins the in-flight refill
+ * instead of starting its own. An instance started from a question snapshot does not wait at all:
+ * a cold pool is topped up with random snapshot questions while the refill catches up.
+ */
+@Component
+public class QuestionPool {
+  private final Logger LOG = LoggerFactory.getLogger(QuestionPool.class);
+  private final QuestionProvider questionProvider;
+  private final QuestionWriteBehind questionWriter;
+  private final AnswerKeyCache answerKeyCache;
+  private final QuestionFragmentCache fragmentCache;
+  private final QuestionSnapshotStore snapshotStore;
+  private final QuestionPoolProperties properties;
+  private final Queue<QuestionEntity> questions = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final SingleFlight<Integer> refill = new SingleFlight<>();
+  private final AtomicBoolean backgroundRefillScheduled = new AtomicBoolean();
+  private final ScheduledExecutorService refillScheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("question-pool-refill").daemon().factory());
+
+  @Autowired
+  public QuestionPool(
+      QuestionProvider questionProvider,
+      QuestionWriteBehind questionWriter,
+      AnswerKeyCache answerKeyCache,
+      QuestionFragmentCache fragmentCache,
+      QuestionSnapshotStore snapshotStore,
+      QuestionPoolProperties properties) {
+    this.questionProvider = questionProvider;
+    this.questionWriter = questionWriter;
+    this.answerKeyCache = answerKeyCache;
+    this.fragmentCache = fragmentCache;
+    this.snapshotStore = snapshotStore;
+    this.properties = properties;
+  }
+
+  /**
+   * Takes up to {@code amount} questions, fewer only when the pool, the snapshot and a refill
+   * together cannot supply them; the caller decides how to make up the rest. When the refill fails,
+   * the questions already taken from the pool are put back before the failure propagates.
+   */
+  public List<QuestionEntity> take(int amount) {
+    final List<QuestionEntity> taken = new ArrayList<>(amount);
+    poll(taken, amount);
+    final int pooled = taken.size();
+    if (taken.size() < amount) {
+      final List<QuestionEntity> fromSnapshot =
+          snapshotStore.randomQuestions(amount - taken.size());
+      answerKeyCache.putQuestionsAfterCommit(fromSnapshot);
+      taken.addAll(fromSnapshot);
+    }
+    if (taken.size() < amount) {
+      // Cold pool: wait for the shared refill rather than failing the request
+      try {
+        refill.execute(this::fetchBatch);
+      } catch (RuntimeException e) {
+        offer(taken.subList(0, pooled));
+        throw e;
+      }
+      poll(taken, amount);
+    }
+    scheduleRefillIfLow();
+    return taken;
+  }
+
+  public int size() {
+    return size.get();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    scheduleRefillIfLow();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    refillScheduler.shutdownNow();
+  }
+
+  private int fetchBatch() {
+    final List<QuestionEntity> fetched = questionProvider.getQuestions();
+    if (fetched.isEmpty()) {
+      return 0;
+    }
+
+    // Questions seen before keep their row or snapshot record, and their id
+    final List<QuestionEntity> saved = new ArrayList<>(fetched.size());
+    final List<QuestionEntity> unseen = new ArrayList<>(fetched.size());
+    for (QuestionEntity question : fetched) {
+      snapshotStore
+          .findByContentHash(question.getContentHash())
+          .ifPresentOrElse(saved::add, () -> unseen.add(question));
+    }
+    if (!unseen.isEmpty()) {
+      // Returns without waiting for the INSERT in write-behind mode; ids are assigned already
+      saved.addAll(questionWriter.saveAll(unseen));
+    }
+    LOG.info("Stored {} questions", saved.size());
+    answerKeyCache.putQuestionsAfterCommit(saved);
+    // Serialized here, on the refill thread, so serving them only copies bytes
+    fragmentCache.putAll(saved);
+    offer(saved);
+    return saved.size();
+  }
+
+  private void offer(List<QuestionEntity> available) {
+    questions.addAll(available);
+    size.addAndGet(available.size());
+  }
+
+  private void poll(List<QuestionEntity> taken, int amount) {
+    while (taken.size() < amount) {
+      final QuestionEntity question = questions.poll();
+      if (question == null) {
+        return;
+      }
+      size.decrementAndGet();
+      taken.add(question);
+    }
+  }
+
+  private void scheduleRefillIfLow() {
+    if (properties.backgroundRefill()
+        && size.get() < properties.lowWatermark()
+        && backgroundRefillScheduled.compareAndSet(false, true)) {
+      refillScheduler.execute(this::backgroundRefill);
+    }
+  }
+
+  private void backgroundRefill() {
+    try {
+      while (size.get() < properties.highWatermark()) {
+        if (refill.submit(this::fetchBatch).join() == 0) {
+          LOG.warn("Question providers returned no questions, pausing pool refill");
+          return;
+        }
+      }
+    } catch (CompletionException e) {
+      LOG.warn("Refilling the question pool failed, retrying later", e.getCause());
+      refillScheduler.schedule(
+          this::scheduleRefillIfLow,
+          properties.retryDelay().toMillis(),
+          TimeUnit.MILLISECONDS);
+    } finally {
+      backgroundRefillScheduled.set(false);
+    }
+  }
+}
@@ -1,17 +1,30 @@
 package com.example.TriviaBackend.service;
 
-import com.example.TriviaBackend.client.TriviaClient;
+import com.example.TriviaBackend.cache.QuestionBucketIndex;
+import com.example.TriviaBackend.cache.QuestionFragmentCache;
+import com.example.TriviaBackend.dto.request.AnswerRequest;
 import com.example.TriviaBackend.dto.request.CheckAnswersRequest;
+import com.example.TriviaBackend.dto.request.QuestionFilter;
 import com.example.TriviaBackend.dto.response.AnswerResponse;
 import com.example.TriviaBackend.dto.response.CheckAnswersResponse;
 import com.example.TriviaBackend.dto.response.GetQuestionsResponse;
-import com.example.TriviaBackend.dto.response.QuestionResponse;
+import com.example.TriviaBackend.dto.response.SerializedQuestion;
 import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.exception.InvalidPlayerException;
+import com.example.TriviaBackend.exception.InvalidQuestionFilterException;
+import com.example.TriviaBackend.exception.InvalidRoundException;
 import com.example.TriviaBackend.exception.RateLimitExceededException;
+import com.example.TriviaBackend.exception.UpstreamUnavailableException;
+import com.example.TriviaBackend.leaderboard.Leaderboard;
+import com.example.TriviaBackend.metrics.TriviaMetrics;
 import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.round.RoundRegistry;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,56 +33,186 @@ import org.springframework.stereotype.Service;
 @Service
 public class QuestionService {
   private final Logger LOG = LoggerFactory.getLogger(QuestionService.class);
+  private static final int QUESTIONS_PER_REQUEST = 10;
+  private static final int MAX_QUESTIONS_PER_REQUEST = 50;
+  private static final int MAX_PLAYER_LENGTH = 64;
   private final QuestionRepository questionRepository;
-  private final TriviaClient triviaClient;
+  private final QuestionPool questionPool;
+  private final AnswerGrader answerGrader;
+  private final QuestionBucketIndex questionBucketIndex;
+  private final QuestionSnapshotStore snapshotStore;
+  private final QuestionFragmentCache fragmentCache;
+  private final RoundRegistry roundRegistry;
+  private final Leaderboard leaderboard;
+  private final TriviaMetrics metrics;
 
   @Autowired
-  public QuestionService(QuestionRepository questionRepository, TriviaClient triviaClient) {
+  public QuestionService(
+      QuestionRepository questionRepository,
+      QuestionPool questionPool,
+      AnswerGrader answerGrader,
+      QuestionBucketIndex questionBucketIndex,
+      QuestionSnapshotStore snapshotStore,
+      QuestionFragmentCache fragmentCache,
+      RoundRegistry roundRegistry,
+      Leaderboard leaderboard,
+      TriviaMetrics metrics) {
     this.questionRepository = questionRepository;
-    this.triviaClient = triviaClient;
+    this.questionPool = questionPool;
+    this.answerGrader = answerGrader;
+    this.questionBucketIndex = questionBucketIndex;
+    this.snapshotStore = snapshotStore;
+    this.fragmentCache = fragmentCache;
+    this.roundRegistry = roundRegistry;
+    this.leaderboard = leaderboard;
+    this.metrics = metrics;
   }
 
+  /**
+   * Questions from the pool. When the pool has to be refilled and the Open Trivia API is rate
+   * limited or unavailable, previously stored questions are served instead; only without any
+   * stored questions does the failure reach the caller.
+   */
   public GetQuestionsResponse getQuestions() {
     try {
-      List<QuestionEntity> questionEntities = triviaClient.getQuestions();
-      questionRepository.saveAll(questionEntities);
-      LOG.info("Saved {} questions to the database", questionEntities.size());
-      return new GetQuestionsResponse(
-          questionEntities.stream()
-              .map(
-                  questionEntity ->
-                      new QuestionResponse(
-                          questionEntity.getId(),
-                          questionEntity.getQuestion(),
-                          Stream.concat(
-                                  questionEntity.getIncorrectAnswers().stream(),
-                                  Stream.of(questionEntity.getCorrectAnswer()))
-                              .toList()))
-              .toList());
-    } catch (Exception e) {
-      LOG.error("Trivia API rate limit exceeded, throwing RateLimitExceededException");
-      throw new RateLimitExceededException();
+      final List<QuestionEntity> taken = questionPool.take(QUESTIONS_PER_REQUEST);
+      if (taken.size() < QUESTIONS_PER_REQUEST) {
+        topUpWithStoredQuestions(taken);
+      }
+      return toResponse(taken);
+    } catch (RateLimitExceededException | UpstreamUnavailableException e) {
+      final List<QuestionEntity> stored =
+          storedQuestions(new QuestionFilter(null, null, null, null), QUESTIONS_PER_REQUEST);
+      if (stored.isEmpty()) {
+        LOG.error("Open Trivia API failed and no questions are stored: {}", e.getMessage());
+        if (e instanceof RateLimitExceededException) {
+          metrics.rateLimitExceeded();
+        }
+        throw e;
+      }
+      LOG.warn("Open Trivia API failed, serving stored questions: {}", e.getMessage());
+      metrics.staleQuestionsServed();
+      return toResponse(stored);
     }
   }
 
+  /** Makes up a round the pool could not fill with stored questions it does not contain yet. */
+  private void topUpWithStoredQuestions(List<QuestionEntity> taken) {
+    final int pooled = taken.size();
+    final Set<Long> takenIds = new HashSet<>();
+    taken.forEach(question -> takenIds.add(question.getId()));
+    for (QuestionEntity stored :
+        storedQuestions(new QuestionFilter(null, null, null, null), QUESTIONS_PER_REQUEST)) {
+      if (taken.size() < QUESTIONS_PER_REQUEST && takenIds.add(stored.getId())) {
+        taken.add(stored);
+      }
+    }
+    final int toppedUp = taken.size() - pooled;
+    LOG.warn(
+        "Question pool was {} questions short, topped up with {} stored questions",
+        QUESTIONS_PER_REQUEST - pooled,
+        toppedUp);
+    if (toppedUp > 0) {
+      metrics.staleQuestionsServed();
+    }
+  }
+
+  /** Random stored questions matching the filter, without calling the Open Trivia API. */
+  public GetQuestionsResponse getQuestions(QuestionFilter filter) {
+    final int amount = filter.amount() == null ? QUESTIONS_PER_REQUEST : filter.amount();
+    if (amount < 1 || amount > MAX_QUESTIONS_PER_REQUEST) {
+      throw new InvalidQuestionFilterException(
+          "amount must be between 1 and " + MAX_QUESTIONS_PER_REQUEST);
+    }
+
+    return toResponse(storedQuestions(filter, amount));
+  }
+
+  private List<QuestionEntity> storedQuestions(QuestionFilter filter, int amount) {
+    final long[] ids =
+        questionBucketIndex.sample(filter.category(), filter.difficulty(), filter.type(), amount);
+    final List<QuestionEntity> questions = new ArrayList<>(ids.length);
+    final List<Long> storedIds = new ArrayList<>(ids.length);
+    for (long id : ids) {
+      snapshotStore.findById(id).ifPresentOrElse(questions::add, () -> storedIds.add(id));
+    }
+    if (!storedIds.isEmpty()) {
+      questions.addAll(questionRepository.findAllById(storedIds));
+    }
+    return questions;
+  }
+
+  /**
+   * Whether the round can still be graded, so a client holding its questions may keep using them.
+   */
+  public boolean isRoundOpen(String roundToken) {
+    return roundRegistry.isOpen(roundToken);
+  }
+
+  /**
+   * Grades the answers of a round issued by {@link #getQuestions()}. The round is used up, and
+   * answers to questions it did not serve, or to the same question twice, are not graded but get a
+   * {@link AnswerResponse.Status#NOT_IN_ROUND} result. The score is added to the request's player
+   * on the leaderboard.
+   */
   public CheckAnswersResponse checkAnswer(CheckAnswersRequest checkAnswersRequest) {
-    return new CheckAnswersResponse(
-        checkAnswersRequest.answerRequests().stream()
-            .map(
-                answer -> {
-                  Optional<QuestionEntity> result =
-                      questionRepository.findById(answer.questionId());
-                  if (result.isEmpty()) {
-                    LOG.warn("Could not find question with id {} in database", answer.questionId());
-                    return null;
-                  }
+    final String player = checkAnswersRequest.player();
+    if (player != null && (player.isBlank() || player.length() > MAX_PLAYER_LENGTH)) {
+      throw new InvalidPlayerException(
+          "player must be between 1 and " + MAX_PLAYER_LENGTH + " characters");
+    }
+    final long[] roundQuestionIds = roundRegistry.claim(checkAnswersRequest.roundToken());
+    if (roundQuestionIds == null) {
+      throw new InvalidRoundException("Unknown, expired or already graded round");
+    }
+    final List<AnswerRequest> answerRequests = checkAnswersRequest.answerRequests();
+    if (answerRequests == null || answerRequests.isEmpty()) {
+      return recordScore(player, new CheckAnswersResponse(List.of(), 0));
+    }
 
-                  if (result.get().getCorrectAnswer().equals(answer.answer())) {
-                    return new AnswerResponse(answer.questionId(), true);
-                  } else {
-                    return new AnswerResponse(answer.questionId(), false);
-                  }
-                })
-            .toList());
+    final boolean[] answered = new boolean[roundQuestionIds.length];
+    final List<AnswerRequest> servedAnswers = new ArrayList<>(answerRequests.size());
+    for (AnswerRequest answer : answerRequests) {
+      final int position = Arrays.binarySearch(roundQuestionIds, answer.questionId());
+      if (position < 0 || answered[position]) {
+        LOG.warn("Question {} was not served in this round or answered twice", answer.questionId());
+        servedAnswers.add(null);
+        continue;
+      }
+      answered[position] = true;
+      servedAnswers.add(answer);
+    }
+
+    final AnswerResponse[] answerResponses = answerGrader.grade(servedAnswers);
+    int score = 0;
+    for (int i = 0; i < answerResponses.length; i++) {
+      if (answerResponses[i] == null) {
+        answerResponses[i] = AnswerResponse.notInRound(answerRequests.get(i).questionId());
+      } else if (answerResponses[i].result()) {
+        score++;
+      }
+    }
+    return recordScore(player, new CheckAnswersResponse(Arrays.asList(answerResponses), score));
+  }
+
+  private CheckAnswersResponse recordScore(String player, CheckAnswersResponse graded) {
+    if (player != null) {
+      leaderboard.record(player, graded.score());
+    }
+    return graded;
+  }
+
+  /**
+   * Looks up each question's cached JSON, so nothing is serialized for questions served before,
+   * and issues the round that grades them.
+   */
+  private GetQuestionsResponse toResponse(List<QuestionEntity> questionEntities) {
+    final List<SerializedQuestion> questions = new ArrayList<>(questionEntities.size());
+    final long[] questionIds = new long[questionEntities.size()];
+    for (QuestionEntity questionEntity : questionEntities) {
+      questionIds[questions.size()] = questionEntity.getId();
+      questions.add(fragmentCache.get(questionEntity));
+    }
+    return new GetQuestionsResponse(roundRegistry.issue(questionIds), questions);
   }
 }
@@ -0,0 +1,461 @@
+package com.example.TriviaBackend.snapshot;
+
+import com.example.TriviaBackend.repository.StoredQuestion;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Read-only question bank in a single memory-mapped file, so that opening it costs the same
+ * whatever the number of questions.
+ *
+ * <p>The file starts with a fixed header followed by five sections, all integers big-endian:
+ *
+ * <pre>
+ * records       per question, in bucket order: id, SHA-256 content hash, question, correct
+ *               answer, incorrect answer count and incorrect answers; strings are UTF-8 with an
+ *               int length prefix, -1 for null
+ * record table  long offset of every record
+ * id index      (long id, int record) pairs sorted by id
+ * hash index    int record numbers sorted by content hash
+ * bucket table  per (category, difficulty, type) run of records: the three strings, first
+ *               record and record count
+ * </pre>
+ *
+ * <p>Opening reads the header and the bucket table only. Lookups by id or content hash
+ * binary-search the mapped indexes, and a question's strings are decoded when it is asked for.
+ * All reads are absolute, so one instance is safe to share between threads. A mapped buffer is
+ * int-indexed, which caps a snapshot at 2 GiB.
+ */
+public final class QuestionSnapshot {
+  static final long MAGIC = 0x5452495649415331L; // "TRIVIAS1"
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 64;
+  private static final int CONTENT_HASH_SIZE = 32;
+  private static final int ID_INDEX_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+  private static final int WRITE_BUFFER_SIZE = 1 << 16;
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final ByteBuffer buffer;
+  private final int size;
+  private final long maxId;
+  private final int recordTable;
+  private final int idIndex;
+  private final int hashIndex;
+  private final List<Bucket> buckets;
+  private final int[] bucketFirstRecords;
+
+  private QuestionSnapshot(ByteBuffer buffer) throws IOException {
+    if (buffer.capacity() < HEADER_SIZE
+        || buffer.getLong(0) != MAGIC
+        || buffer.getInt(8) != VERSION) {
+      throw new IOException("Not a version " + VERSION + " question snapshot");
+    }
+    this.buffer = buffer;
+    this.size = buffer.getInt(12);
+    final int bucketCount = buffer.getInt(16);
+    this.maxId = buffer.getLong(24);
+    this.recordTable = (int) buffer.getLong(32);
+    this.idIndex = (int) buffer.getLong(40);
+    this.hashIndex = (int) buffer.getLong(48);
+
+    final Bucket[] buckets = new Bucket[bucketCount];
+    this.bucketFirstRecords = new int[bucketCount];
+    int position = (int) buffer.getLong(56);
+    for (int i = 0; i < bucketCount; i++) {
+      final String category = readString(position);
+      position = skipString(position);
+      final String difficulty = readString(position);
+      position = skipString(position);
+      final String type = readString(position);
+      position = skipString(position);
+      buckets[i] =
+          new Bucket(
+              category, difficulty, type, buffer.getInt(position), buffer.getInt(position + 4));
+      bucketFirstRecords[i] = buckets[i].first();
+      position += 2 * Integer.BYTES;
+    }
+    this.buckets = List.of(buckets);
+  }
+
+  public static QuestionSnapshot open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Question snapshot " + path + " is larger than 2 GiB");
+      }
+      // The mapping stays valid once the channel is closed
+      return new QuestionSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Writes the questions to {@code path} through a temporary file that then replaces it, so
+   * readers never see a partial snapshot and instances that mapped the old file keep their view.
+   * Questions should arrive in bucket order; each change of bucket starts a new bucket table
+   * entry. Returns the number of questions written.
+   */
+  public static int write(Path path, Iterator<StoredQuestion> questions) throws IOException {
+    final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    final int count;
+    try (FileChannel channel =
+            FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        DataOutputStream out =
+            new DataOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE))) {
+      out.write(new byte[HEADER_SIZE]);
+      long position = HEADER_SIZE;
+      long[] recordOffsets = new long[1024];
+      long[] ids = new long[1024];
+      int written = 0;
+      long maxId = 0;
+      final List<Bucket> buckets = new ArrayList<>();
+      while (questions.hasNext()) {
+        final StoredQuestion question = questions.next();
+        if (written == ids.length) {
+          recordOffsets = Arrays.copyOf(recordOffsets, written * 2);
+          ids = Arrays.copyOf(ids, written * 2);
+        }
+        final Bucket last = buckets.isEmpty() ? null : buckets.getLast();
+        if (last == null || !last.contains(question)) {
+          if (last != null) {
+            buckets.set(buckets.size() - 1, last.withSize(written - last.first()));
+          }
+          buckets.add(
+              new Bucket(question.category(), question.difficulty(), question.type(), written, 0));
+        }
+        recordOffsets[written] = position;
+        ids[written] = question.id();
+        maxId = Math.max(maxId, question.id());
+        written++;
+        position += writeRecord(out, question);
+      }
+      if (!buckets.isEmpty()) {
+        final Bucket last = buckets.getLast();
+        buckets.set(buckets.size() - 1, last.withSize(written - last.first()));
+      }
+      count = written;
+      if (position > Integer.MAX_VALUE) {
+        throw new IOException("Question snapshot would be larger than 2 GiB");
+      }
+
+      final long recordTable = position;
+      for (int record = 0; record < count; record++) {
+        out.writeLong(recordOffsets[record]);
+      }
+
+      final long idIndex = recordTable + (long) count * Long.BYTES;
+      final long[] recordIds = ids;
+      final int[] byId = sortedRecords(count, (a, b) -> Long.compare(recordIds[a], recordIds[b]));
+      for (int record : byId) {
+        out.writeLong(ids[record]);
+        out.writeInt(record);
+      }
+
+      // Content hashes are compared in place in the records written so far
+      out.flush();
+      final ByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, 0, recordTable);
+      final long[] offsets = recordOffsets;
+      final long hashIndex = idIndex + (long) count * ID_INDEX_ENTRY_SIZE;
+      final int[] byHash =
+          sortedRecords(
+              count,
+              (a, b) ->
+                  compareContentHashes(
+                      records,
+                      (int) offsets[a] + Long.BYTES,
+                      records,
+                      (int) offsets[b] + Long.BYTES));
+      for (int record : byHash) {
+        out.writeInt(record);
+      }
+
+      final long bucketTable = hashIndex + (long) count * Integer.BYTES;
+      long end = bucketTable;
+      for (Bucket bucket : buckets) {
+        end += writeString(out, bucket.category());
+        end += writeString(out, bucket.difficulty());
+        end += writeString(out, bucket.type());
+        out.writeInt(bucket.first());
+        out.writeInt(bucket.size());
+        end += 2 * Integer.BYTES;
+      }
+      out.flush();
+      if (end > Integer.MAX_VALUE) {
+        throw new IOException("Question snapshot would be larger than 2 GiB");
+      }
+
+      final ByteBuffer header =
+          ByteBuffer.allocate(HEADER_SIZE)
+              .putLong(MAGIC)
+              .putInt(VERSION)
+              .putInt(count)
+              .putInt(buckets.size())
+              .putInt(0)
+              .putLong(maxId)
+              .putLong(recordTable)
+              .putLong(idIndex)
+              .putLong(hashIndex)
+              .putLong(bucketTable)
+              .flip();
+      channel.write(header, 0);
+      channel.force(true);
+    }
+    Files.move(
+        temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return count;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Highest question id in the snapshot, {@code 0} when it is empty. */
+  public long maxId() {
+    return maxId;
+  }
+
+  public List<Bucket> buckets() {
+    return buckets;
+  }
+
+  /** Returns the record holding the question with this id, or {@code -1}. */
+  public int recordOf(long id) {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int entry = idIndex + middle * ID_INDEX_ENTRY_SIZE;
+      final long candidate = buffer.getLong(entry);
+      if (candidate < id) {
+        low = middle + 1;
+      } else if (candidate > id) {
+        high = middle - 1;
+      } else {
+        return buffer.getInt(entry + Long.BYTES);
+      }
+    }
+    return -1;
+  }
+
+  /** Returns the record holding the question with this content hash, or {@code -1}. */
+  public int recordOfContentHash(String contentHash) {
+    if (contentHash == null || contentHash.length() != 2 * CONTENT_HASH_SIZE) {
+      return -1;
+    }
+    final ByteBuffer wanted = ByteBuffer.wrap(HEX.parseHex(contentHash));
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int record = buffer.getInt(hashIndex + middle * Integer.BYTES);
+      final int comparison =
+          compareContentHashes(buffer, recordOffset(record) + Long.BYTES, wanted, 0);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return record;
+      }
+    }
+    return -1;
+  }
+
+  public long id(int record) {
+    return buffer.getLong(recordOffset(record));
+  }
+
+  public String correctAnswer(int record) {
+    return readString(skipString(questionOffset(record)));
+  }
+
+  /** The record's incorrect answers, or {@code null} if it was written without any. */
+  public List<String> incorrectAnswers(int record) {
+    return readIncorrectAnswers(skipString(skipString(questionOffset(record))));
+  }
+
+  public StoredQuestion question(int record) {
+    final int offset = recordOffset(record);
+    final byte[] contentHash = new byte[CONTENT_HASH_SIZE];
+    buffer.get(offset + Long.BYTES, contentHash);
+
+    int position = questionOffset(record);
+    final String question = readString(position);
+    position = skipString(position);
+    final String correctAnswer = readString(position);
+    final List<String> incorrectAnswers = readIncorrectAnswers(skipString(position));
+
+    final Bucket bucket = bucketOf(record);
+    return new StoredQuestion(
+        buffer.getLong(offset),
+        HEX.formatHex(contentHash),
+        bucket.type(),
+        bucket.difficulty(),
+        bucket.category(),
+        question,
+        correctAnswer,
+        incorrectAnswers);
+  }
+
+  private List<String> readIncorrectAnswers(int position) {
+    final int incorrectCount = buffer.getInt(position);
+    if (incorrectCount < 0) {
+      return null;
+    }
+    position += Integer.BYTES;
+    final String[] answers = new String[incorrectCount];
+    for (int i = 0; i < incorrectCount; i++) {
+      answers[i] = readString(position);
+      position = skipString(position);
+    }
+    return Arrays.asList(answers);
+  }
+
+  /** Every question in record order, decoded one at a time. */
+  public Stream<StoredQuestion> questions() {
+    return IntStream.range(0, size).mapToObj(this::question);
+  }
+
+  private Bucket bucketOf(int record) {
+    final int found = Arrays.binarySearch(bucketFirstRecords, record);
+    return buckets.get(found >= 0 ? found : -found - 2);
+  }
+
+  private int recordOffset(int record) {
+    return (int) buffer.getLong(recordTable + record * Long.BYTES);
+  }
+
+  private int questionOffset(int record) {
+    return recordOffset(record) + Long.BYTES + CONTENT_HASH_SIZE;
+  }
+
+  private String readString(int position) {
+    final int length = buffer.getInt(position);
+    if (length < 0) {
+      return null;
+    }
+    final byte[] bytes = new byte[length];
+    buffer.get(position + Integer.BYTES, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private int skipString(int position) {
+    return position + Integer.BYTES + Math.max(0, buffer.getInt(position));
+  }
+
+  private static long writeRecord(DataOutputStream out, StoredQuestion question)
+      throws IOException {
+    final byte[] contentHash = HEX.parseHex(question.contentHash());
+    if (contentHash.length != CONTENT_HASH_SIZE) {
+      throw new IOException("Question " + question.id() + " has no SHA-256 content hash");
+    }
+    out.writeLong(question.id());
+    out.write(contentHash);
+    long written = Long.BYTES + CONTENT_HASH_SIZE;
+    written += writeString(out, question.question());
+    written += writeString(out, question.correctAnswer());
+    final List<String> incorrectAnswers = question.incorrectAnswers();
+    out.writeInt(incorrectAnswers == null ? -1 : incorrectAnswers.size());
+    written += Integer.BYTES;
+    if (incorrectAnswers != null) {
+      for (String incorrectAnswer : incorrectAnswers) {
+        written += writeString(out, incorrectAnswer);
+      }
+    }
+    return written;
+  }
+
+  private static int writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return Integer.BYTES;
+    }
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+    return Integer.BYTES + bytes.length;
+  }
+
+  private static int compareContentHashes(
+      ByteBuffer first, int firstOffset, ByteBuffer second, int secondOffset) {
+    for (int i = 0; i < CONTENT_HASH_SIZE; i++) {
+      final int comparison =
+          Byte.compareUnsigned(first.get(firstOffset + i), second.get(secondOffset + i));
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return 0;
+  }
+
+  /** Record numbers {@code 0..count-1} in the given order, merge-sorted without boxing. */
+  private static int[] sortedRecords(int count, IntBinaryOperator comparator) {
+    int[] records = IntStream.range(0, count).toArray();
+    int[] merged = new int[count];
+    for (int width = 1; width < count; width *= 2) {
+      for (int low = 0; low < count; low += 2 * width) {
+        final int middle = Math.min(low + width, count);
+        final int high = Math.min(low + 2 * width, count);
+        int left = low;
+        int right = middle;
+        for (int i = low; i < high; i++) {
+          merged[i] =
+              right >= high
+                      || (left < middle
+                          && comparator.applyAsInt(records[left], records[right]) <= 0)
+                  ? records[left++]
+                  : records[right++];
+        }
+      }
+      final int[] swap = records;
+      records = merged;
+      merged = swap;
+    }
+    return records;
+  }
+
+  /**
+   * A run of consecutive records sharing category, difficulty and type. The same combination may
+   * appear in more than one run.
+   */
+  public record Bucket(String category, String difficulty, String type, int first, int size) {
+    /** Whether this bucket matches a filter in which {@code null} matches any value. */
+    public boolean matches(String category, String difficulty, String type) {
+      return (category == null || category.equals(this.category))
+          && (difficulty == null || difficulty.equals(this.difficulty))
+          && (type == null || type.equals(this.type));
+    }
+
+    boolean contains(StoredQuestion question) {
+      return Objects.equals(category, question.category())
+          && Objects.equals(difficulty, question.difficulty())
+          && Objects.equals(type, question.type());
+    }
+
+    Bucket withSize(int size) {
+      return new Bucket(category, difficulty, type, first, size);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.example.TriviaBackend.snapshot;
+
+import com.example.TriviaBackend.cache.AnswerNormalizer;
+import com.example.TriviaBackend.cache.RandomSample;
+import com.example.TriviaBackend.config.QuestionSnapshotProperties;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.repository.AnswerKey;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * The question snapshot this instance started from, a read-only tier beneath the database.
+ *
+ * <p>The snapshot is mapped when the bean is created, so a new instance serves the previous bank as
+ * soon as it is up instead of waiting on the rate-limited Open Trivia API. Questions saved after
+ * startup go to the database as usual; {@link QuestionSnapshotWriter} has already moved the id
+ * sequence past the snapshot's ids, so the two never overlap. Every lookup returns empty when no
+ * snapshot was loaded.
+ */
+@Component
+public class QuestionSnapshotStore {
+  private final Logger LOG = LoggerFactory.getLogger(QuestionSnapshotStore.class);
+  private final QuestionSnapshot snapshot;
+
+  @Autowired
+  public QuestionSnapshotStore(QuestionSnapshotProperties properties) {
+    this.snapshot = load(properties);
+  }
+
+  public Optional<QuestionSnapshot> snapshot() {
+    return Optional.ofNullable(snapshot);
+  }
+
+  public Optional<QuestionEntity> findById(long id) {
+    final int record = snapshot == null ? -1 : snapshot.recordOf(id);
+    return record < 0 ? Optional.empty() : Optional.of(snapshot.question(record).toEntity());
+  }
+
+  public Optional<QuestionEntity> findByContentHash(String contentHash) {
+    final int record = snapshot == null ? -1 : snapshot.recordOfContentHash(contentHash);
+    return record < 0 ? Optional.empty() : Optional.of(snapshot.question(record).toEntity());
+  }
+
+  public boolean containsContentHash(String contentHash) {
+    return snapshot != null && snapshot.recordOfContentHash(contentHash) >= 0;
+  }
+
+  /** The snapshot keeps answers as served, so the key is normalized here, on the cache miss. */
+  public Optional<AnswerKey> findAnswerKey(long id) {
+    final int record = snapshot == null ? -1 : snapshot.recordOf(id);
+    if (record < 0) {
+      return Optional.empty();
+    }
+    final String correctAnswer = snapshot.correctAnswer(record);
+    return Optional.of(
+        new AnswerKey(
+            id,
+            correctAnswer,
+            AnswerNormalizer.normalize(correctAnswer),
+            snapshot.incorrectAnswers(record)));
+  }
+
+  /** Up to {@code amount} distinct, uniformly chosen snapshot questions. */
+  public List<QuestionEntity> randomQuestions(int amount) {
+    if (snapshot == null) {
+      return List.of();
+    }
+    final int[] records = RandomSample.distinctSorted(snapshot.size(), amount);
+    final List<QuestionEntity> questions = new ArrayList<>(records.length);
+    for (int record : records) {
+      questions.add(snapshot.question(record).toEntity());
+    }
+    return questions;
+  }
+
+  private QuestionSnapshot load(QuestionSnapshotProperties properties) {
+    if (properties.path() == null || !Files.isRegularFile(properties.path())) {
+      return null;
+    }
+
+    final long start = System.nanoTime();
+    try {
+      final QuestionSnapshot loaded = QuestionSnapshot.open(properties.path());
+      LOG.info(
+          "Mapped question snapshot {} with {} questions in {} ms",
+          properties.path(),
+          loaded.size(),
+          (System.nanoTime() - start) / 1_000_000);
+      return loaded;
+    } catch (IOException e) {
+      LOG.warn("Ignoring unreadable question snapshot {}", properties.path(), e);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package com.example.TriviaBackend.snapshot;
+
+import com.example.TriviaBackend.config.QuestionSnapshotProperties;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.repository.StoredQuestion;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically rewrites the question snapshot from the loaded snapshot plus every question saved
+ * since, merged in bucket order, so the next instance starts with the whole bank.
+ *
+ * <p>Before anything is saved it also restarts the id sequence above the loaded snapshot's ids.
+ */
+@Component
+public class QuestionSnapshotWriter {
+  /** Same order as {@link QuestionRepository#streamAllInBucketOrder()}. */
+  private static final Comparator<StoredQuestion> BUCKET_ORDER =
+      Comparator.comparing(
+              StoredQuestion::category, Comparator.nullsFirst(Comparator.naturalOrder()))
+          .thenComparing(
+              StoredQuestion::difficulty, Comparator.nullsFirst(Comparator.naturalOrder()))
+          .thenComparing(StoredQuestion::type, Comparator.nullsFirst(Comparator.naturalOrder()))
+          .thenComparingLong(StoredQuestion::id);
+
+  private final Logger LOG = LoggerFactory.getLogger(QuestionSnapshotWriter.class);
+  private final QuestionSnapshotProperties properties;
+  private final QuestionSnapshotStore snapshotStore;
+  private final QuestionRepository questionRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate readOnlyTransaction;
+  private final ScheduledExecutorService writeScheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("question-snapshot-writer").daemon().factory());
+
+  @Autowired
+  public QuestionSnapshotWriter(
+      QuestionSnapshotProperties properties,
+      QuestionSnapshotStore snapshotStore,
+      QuestionRepository questionRepository,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager) {
+    this.properties = properties;
+    this.snapshotStore = snapshotStore;
+    this.questionRepository = questionRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /** Runs while the context starts, before the pool or an import can insert a question. */
+  @PostConstruct
+  public void reserveSnapshotIds() {
+    snapshotStore
+        .snapshot()
+        .ifPresent(
+            snapshot -> {
+              final Long stored =
+                  jdbcTemplate.queryForObject(
+                      "select coalesce(max(id), 0) from question_entity", Long.class);
+              final long next = Math.max(snapshot.maxId(), stored == null ? 0 : stored) + 1;
+              jdbcTemplate.execute("alter sequence question_entity_seq restart with " + next);
+            });
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void scheduleWrites() {
+    if (properties.path() == null) {
+      return;
+    }
+    final long interval = properties.writeInterval().toMillis();
+    writeScheduler.scheduleWithFixedDelay(
+        this::writeQuietly, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    writeScheduler.shutdownNow();
+  }
+
+  /** Writes the snapshot now and returns the number of questions in it. */
+  public int write() {
+    final long start = System.nanoTime();
+    final Integer written =
+        readOnlyTransaction.execute(
+            status -> {
+              try (Stream<StoredQuestion> stored = questionRepository.streamAllInBucketOrder();
+                  Stream<StoredQuestion> snapshotted =
+                      snapshotStore.snapshot().stream().flatMap(QuestionSnapshot::questions)) {
+                return QuestionSnapshot.write(
+                    properties.path(), merge(snapshotted.iterator(), stored.iterator()));
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+    LOG.info(
+        "Wrote {} questions to snapshot {} in {} ms",
+        written,
+        properties.path(),
+        (System.nanoTime() - start) / 1_000_000);
+    return written == null ? 0 : written;
+  }
+
+  private void writeQuietly() {
+    try {
+      write();
+    } catch (RuntimeException e) {
+      LOG.warn("Writing the question snapshot failed, retrying at the next interval", e);
+    }
+  }
+
+  private static Iterator<StoredQuestion> merge(
+      Iterator<StoredQuestion> first, Iterator<StoredQuestion> second) {
+    return new Iterator<>() {
+      private StoredQuestion nextFirst = first.hasNext() ? first.next() : null;
+      private StoredQuestion nextSecond = second.hasNext() ? second.next() : null;
+
+      @Override
+      public boolean hasNext() {
+        return nextFirst != null || nextSecond != null;
+      }
+
+      @Override
+      public StoredQuestion next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final StoredQuestion next;
+        if (nextSecond == null
+            || (nextFirst != null && BUCKET_ORDER.compare(nextFirst, nextSecond) <= 0)) {
+          next = nextFirst;
+          nextFirst = first.hasNext() ? first.next() : null;
+        } else {
+          next = nextSecond;
+          nextSecond = second.hasNext() ? second.next() : null;
+        }
+        return next;
+      }
+    };
+  }
+}
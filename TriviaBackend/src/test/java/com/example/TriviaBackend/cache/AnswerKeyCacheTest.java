@@ -0,0 +1,79 @@
+package com.example.TriviaBackend.cache;
+
+import static com.example.TriviaBackend.repository.AnswerKeys.answerKey;
+
+import com.example.TriviaBackend.config.AnswerKeyCacheProperties;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import java.time.Duration;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AnswerKeyCacheTest {
+
+  @Test
+  void givenCachedAnswerKey_whenChecking_thenGradesAndCountsHits() {
+    final AnswerKeyCache sut = cache(10, Duration.ofHours(1));
+    sut.put(answerKey(1, "java"));
+
+    Assertions.assertThat(sut.check(1, "Java")).isEqualTo(AnswerKeyCache.Lookup.CORRECT);
+    Assertions.assertThat(sut.check(1, "Scala")).isEqualTo(AnswerKeyCache.Lookup.INCORRECT);
+    Assertions.assertThat(sut.check(2, "Java")).isEqualTo(AnswerKeyCache.Lookup.MISS);
+    Assertions.assertThat(sut.stats()).isEqualTo(new AnswerKeyCache.Stats(2, 1, 0, 1));
+  }
+
+  @Test
+  void givenEncodedQuestion_whenChecking_thenGradesDecodedAnswerIgnoringCase() {
+    final AnswerKeyCache sut = cache(10, Duration.ofHours(1));
+    sut.put(question(1, "Schr&ouml;dinger&#039;s Cat", List.of("Maxwell&#039;s Demon")));
+    // Only the case differs from an incorrect answer, so the exact answer is required
+    sut.put(question(2, "Mercury", List.of("MERCURY", "Venus")));
+
+    Assertions.assertThat(sut.check(1, "schrödinger's cat"))
+        .isEqualTo(AnswerKeyCache.Lookup.CORRECT);
+    Assertions.assertThat(sut.check(1, "Schr&ouml;dinger&#039;s Cat"))
+        .isEqualTo(AnswerKeyCache.Lookup.CORRECT);
+    Assertions.assertThat(sut.check(2, "Mercury")).isEqualTo(AnswerKeyCache.Lookup.CORRECT);
+    Assertions.assertThat(sut.check(2, "MERCURY")).isEqualTo(AnswerKeyCache.Lookup.INCORRECT);
+  }
+
+  @Test
+  void givenFullCache_whenPutting_thenEvictsOldestEntry() {
+    final AnswerKeyCache sut = cache(2, Duration.ofHours(1));
+    sut.put(answerKey(1, "java"));
+    sut.put(answerKey(2, "true"));
+    sut.put(answerKey(3, "false"));
+
+    Assertions.assertThat(sut.check(1, "Java")).isEqualTo(AnswerKeyCache.Lookup.MISS);
+    Assertions.assertThat(sut.check(2, "True")).isEqualTo(AnswerKeyCache.Lookup.CORRECT);
+    Assertions.assertThat(sut.check(3, "False")).isEqualTo(AnswerKeyCache.Lookup.CORRECT);
+    Assertions.assertThat(sut.stats().evictions()).isEqualTo(1);
+    Assertions.assertThat(sut.stats().size()).isEqualTo(2);
+  }
+
+  @Test
+  void givenExpiredEntry_whenChecking_thenMissesAndPurgesOnNextWrite()
+      throws InterruptedException {
+    final AnswerKeyCache sut = cache(10, Duration.ofMillis(20));
+    sut.put(answerKey(1, "java"));
+
+    Thread.sleep(50);
+
+    Assertions.assertThat(sut.check(1, "Java")).isEqualTo(AnswerKeyCache.Lookup.MISS);
+
+    sut.put(answerKey(2, "true"));
+
+    Assertions.assertThat(sut.stats().evictions()).isEqualTo(1);
+    Assertions.assertThat(sut.stats().size()).isEqualTo(1);
+  }
+
+  private static QuestionEntity question(
+      long id, String correctAnswer, List<String> incorrectAnswers) {
+    return new QuestionEntity(
+        id, "multiple", "easy", "science", "question " + id, correctAnswer, incorrectAnswers);
+  }
+
+  private static AnswerKeyCache cache(int maximumSize, Duration ttl) {
+    return new AnswerKeyCache(new AnswerKeyCacheProperties(maximumSize, ttl));
+  }
+}
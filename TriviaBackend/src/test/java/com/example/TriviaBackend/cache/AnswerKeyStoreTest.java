@@ -0,0 +1,102 @@
+package com.example.TriviaBackend.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AnswerKeyStoreTest {
+  private static final long NO_TTL = Long.MAX_VALUE;
+
+  @Test
+  void givenManyRandomWrites_whenReading_thenMatchesReferenceMap() {
+    final AnswerKeyStore sut = new AnswerKeyStore(1_000_000, NO_TTL);
+    final Map<Long, Long> reference = new HashMap<>();
+    final Random random = new Random(42);
+
+    for (int i = 0; i < 50_000; i++) {
+      final long id = 1 + random.nextInt(20_000);
+      final long answerHash = AnswerHash.of("answer " + random.nextInt(100));
+      sut.put(id, answerHash, 0);
+      reference.put(id, answerHash);
+    }
+
+    Assertions.assertThat(sut.size()).isEqualTo(reference.size());
+    reference.forEach(
+        (id, answerHash) -> Assertions.assertThat(sut.get(id, 0)).isEqualTo(answerHash));
+    Assertions.assertThat(sut.get(20_001, 0)).isEqualTo(AnswerHash.NONE);
+  }
+
+  @Test
+  void givenFullStore_whenPutting_thenEvictsInWriteOrderAndKeepsProbeChainsIntact() {
+    final AnswerKeyStore sut = new AnswerKeyStore(3_000, NO_TTL);
+
+    int evicted = 0;
+    for (long id = 1; id <= 10_000; id++) {
+      evicted += sut.put(id, AnswerHash.of("answer " + id), 0);
+    }
+
+    Assertions.assertThat(evicted).isEqualTo(7_000);
+    Assertions.assertThat(sut.size()).isEqualTo(3_000);
+    for (long id = 1; id <= 7_000; id++) {
+      Assertions.assertThat(sut.get(id, 0)).isEqualTo(AnswerHash.NONE);
+    }
+    for (long id = 7_001; id <= 10_000; id++) {
+      Assertions.assertThat(sut.get(id, 0)).isEqualTo(AnswerHash.of("answer " + id));
+    }
+  }
+
+  @Test
+  void givenRewrittenEntry_whenEvicting_thenUsesLatestWriteOrder() {
+    final AnswerKeyStore sut = new AnswerKeyStore(2, NO_TTL);
+    sut.put(1, AnswerHash.of("Java"), 0);
+    sut.put(2, AnswerHash.of("True"), 0);
+    sut.put(1, AnswerHash.of("Java"), 0);
+
+    final int evicted = sut.put(3, AnswerHash.of("False"), 0);
+
+    Assertions.assertThat(evicted).isEqualTo(1);
+    Assertions.assertThat(sut.get(1, 0)).isEqualTo(AnswerHash.of("Java"));
+    Assertions.assertThat(sut.get(2, 0)).isEqualTo(AnswerHash.NONE);
+    Assertions.assertThat(sut.get(3, 0)).isEqualTo(AnswerHash.of("False"));
+  }
+
+  @Test
+  void givenExpiredEntries_whenReadingAndWriting_thenMissesAndPurges() {
+    final AnswerKeyStore sut = new AnswerKeyStore(10, 100);
+    sut.put(1, AnswerHash.of("Java"), 0);
+    sut.put(2, AnswerHash.of("True"), 50);
+
+    Assertions.assertThat(sut.get(1, 120)).isEqualTo(AnswerHash.NONE);
+    Assertions.assertThat(sut.get(2, 120)).isEqualTo(AnswerHash.of("True"));
+
+    final int evicted = sut.put(3, AnswerHash.of("False"), 120);
+
+    Assertions.assertThat(evicted).isEqualTo(1);
+    Assertions.assertThat(sut.size()).isEqualTo(2);
+  }
+
+  @Test
+  void givenExactAnswers_whenEvictingExpiringOrReplacing_thenDropsThemWithTheirEntries() {
+    final AnswerKeyStore sut = new AnswerKeyStore(100, 1_000);
+    for (long id = 1; id <= 250; id++) {
+      sut.put(id, -1, "Answer " + id, id);
+    }
+
+    Assertions.assertThat(sut.exactAnswerCount()).isEqualTo(100);
+    Assertions.assertThat(sut.exactAnswer(150, 250)).isNull();
+    Assertions.assertThat(sut.exactAnswer(151, 250)).isEqualTo("Answer 151");
+
+    sut.put(251, AnswerHash.of("java"), 251);
+    sut.put(250, AnswerHash.of("java"), 251);
+
+    Assertions.assertThat(sut.exactAnswerCount()).isEqualTo(97);
+    Assertions.assertThat(sut.exactAnswer(250, 251)).isNull();
+
+    sut.put(252, AnswerHash.of("java"), 5_000);
+
+    Assertions.assertThat(sut.exactAnswerCount()).isZero();
+    Assertions.assertThat(sut.size()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,47 @@
+package com.example.TriviaBackend.cache;
+
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AnswerNormalizerTest {
+
+  @Test
+  void givenHtmlEncodedAnswer_whenNormalizing_thenDecodesFoldsAndCollapsesWhitespace() {
+    Assertions.assertThat(
+            AnswerNormalizer.normalize("  &quot;Schr&ouml;dinger&#039;s\t Cat&quot; "))
+        .isEqualTo("\"schrödinger's cat\"");
+    Assertions.assertThat(AnswerNormalizer.normalize("Tom &amp; Jerry")).isEqualTo("tom & jerry");
+    Assertions.assertThat(AnswerNormalizer.normalize("&#x3A3;&Omega;&nbsp;&pi;&#128512;"))
+        .isEqualTo("σω π😀");
+    Assertions.assertThat(AnswerNormalizer.normalize("  ")).isEmpty();
+    Assertions.assertThat(AnswerNormalizer.normalize(null)).isNull();
+  }
+
+  @Test
+  void givenUnknownOrMalformedEntity_whenNormalizing_thenKeepsItsText() {
+    Assertions.assertThat(AnswerNormalizer.normalize("AT&T &bogus; &#; &#xZZ; &#0; &"))
+        .isEqualTo("at&t &bogus; &#; &#xzz; &#0; &");
+  }
+
+  @Test
+  void givenAnswers_whenHashing_thenMatchesHashOfNormalizedAnswer() {
+    for (String answer :
+        List.of(
+            "Java",
+            " Print  'Hello World!' ",
+            "&quot;Schr&ouml;dinger&#039;s Cat&quot;",
+            "AT&T &bogus;",
+            "&#128512; &Sigma;&sigmaf;",
+            "",
+            "   ")) {
+      Assertions.assertThat(AnswerNormalizer.hash(answer))
+          .as(answer)
+          .isEqualTo(AnswerHash.of(AnswerNormalizer.normalize(answer)));
+    }
+    Assertions.assertThat(AnswerNormalizer.hash(null)).isEqualTo(AnswerHash.of(null));
+    Assertions.assertThat(AnswerNormalizer.hash("Tom &amp; Jerry"))
+        .isEqualTo(AnswerNormalizer.hash("tom & JERRY"))
+        .isNotEqualTo(AnswerNormalizer.hash("tom &amp;amp; jerry"));
+  }
+}
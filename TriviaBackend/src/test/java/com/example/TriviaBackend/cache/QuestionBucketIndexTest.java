@@ -0,0 +1,109 @@
+package com.example.TriviaBackend.cache;
+
+import com.example.TriviaBackend.repository.QuestionBucketEntry;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.repository.StoredQuestion;
+import com.example.TriviaBackend.snapshot.QuestionSnapshot;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+class QuestionBucketIndexTest {
+  private final QuestionRepository questionRepository = Mockito.mock();
+  private final QuestionSnapshotStore snapshotStore = Mockito.mock();
+  private final QuestionBucketIndex sut =
+      new QuestionBucketIndex(questionRepository, snapshotStore);
+
+  @Test
+  void givenSeveralBuckets_whenSampling_thenReturnsDistinctIdsMatchingEveryGivenFilter() {
+    for (long id = 1; id <= 30; id++) {
+      sut.add(id, id % 2 == 0 ? "history" : "science", id % 3 == 0 ? "hard" : "easy", "multiple");
+    }
+
+    Assertions.assertThat(sut.sample("history", "hard", null, 50))
+        .containsExactlyInAnyOrder(6, 12, 18, 24, 30);
+    final long[] easy = sut.sample(null, "easy", "multiple", 5);
+    Assertions.assertThat(easy).hasSize(5).doesNotHaveDuplicates();
+    Assertions.assertThat(Arrays.stream(easy)).allMatch(id -> id % 3 != 0);
+    Assertions.assertThat(sut.sample("science", null, "boolean", 10)).isEmpty();
+    Assertions.assertThat(sut.sample(null, null, null, 30)).hasSize(30).doesNotHaveDuplicates();
+  }
+
+  @Test
+  void givenRepeatedSampling_whenBucketIsLargerThanAmount_thenEveryQuestionIsEventuallyPicked() {
+    for (long id = 1; id <= 100; id++) {
+      sut.add(id, "science", "easy", "boolean");
+    }
+
+    final Set<Long> picked = new HashSet<>();
+    for (int i = 0; i < 200; i++) {
+      Arrays.stream(sut.sample("science", "easy", "boolean", 10)).forEach(picked::add);
+    }
+
+    Assertions.assertThat(picked).hasSize(100);
+  }
+
+  @Test
+  void givenStoredQuestions_whenRebuilding_thenReplacesIndexWithRepositoryContents() {
+    sut.add(99, "stale", "easy", "boolean");
+    Mockito.when(questionRepository.streamBucketEntries())
+        .thenReturn(
+            Stream.of(
+                new QuestionBucketEntry(1, "history", "easy", "boolean"),
+                new QuestionBucketEntry(2, "history", "easy", "boolean"),
+                new QuestionBucketEntry(3, "science", "hard", "multiple")));
+
+    sut.rebuild();
+
+    Assertions.assertThat(sut.size()).isEqualTo(3);
+    Assertions.assertThat(sut.sample("history", null, null, 10)).containsExactlyInAnyOrder(1, 2);
+    Assertions.assertThat(sut.sample("stale", null, null, 10)).isEmpty();
+  }
+
+  @Test
+  void givenSnapshot_whenSampling_thenDrawsFromIndexedAndSnapshotQuestions(@TempDir Path dir)
+      throws IOException {
+    final Path path = dir.resolve("questions.snapshot");
+    QuestionSnapshot.write(
+        path,
+        List.of(
+                stored(101, "history", "easy"),
+                stored(102, "history", "easy"),
+                stored(103, "history", "hard"),
+                stored(104, "science", "easy"))
+            .iterator());
+    Mockito.when(snapshotStore.snapshot()).thenReturn(Optional.of(QuestionSnapshot.open(path)));
+    sut.add(1, "history", "easy", "boolean");
+    sut.add(2, "science", "easy", "boolean");
+
+    Assertions.assertThat(sut.sample("history", null, null, 10))
+        .containsExactlyInAnyOrder(1, 101, 102, 103);
+    Assertions.assertThat(sut.sample(null, "easy", null, 10))
+        .containsExactlyInAnyOrder(1, 2, 101, 102, 104);
+    Assertions.assertThat(sut.sample(null, null, null, 3)).hasSize(3).doesNotHaveDuplicates();
+  }
+
+  private static StoredQuestion stored(long id, String category, String difficulty) {
+    final String question = "Question " + id + "?";
+    return new StoredQuestion(
+        id,
+        QuestionEntity.contentHash(question, "True", List.of("False")),
+        "boolean",
+        difficulty,
+        category,
+        question,
+        "True",
+        List.of("False"));
+  }
+}
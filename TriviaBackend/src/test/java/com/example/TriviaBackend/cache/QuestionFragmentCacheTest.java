@@ -0,0 +1,89 @@
+package com.example.TriviaBackend.cache;
+
+import com.example.TriviaBackend.config.AnswerShuffleProperties;
+import com.example.TriviaBackend.config.QuestionFragmentCacheProperties;
+import com.example.TriviaBackend.dto.response.QuestionResponse;
+import com.example.TriviaBackend.dto.response.SerializedQuestion;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class QuestionFragmentCacheTest {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void givenQuestion_whenServedTwice_thenSerializesItOnce() {
+    final QuestionFragmentCache sut = cache(10);
+    final QuestionEntity question = question(1, "Is \"Java\" <b>typed</b>?");
+
+    final SerializedQuestion first = sut.get(question);
+
+    Assertions.assertThat(sut.get(question)).isSameAs(first);
+    Assertions.assertThat(first.id()).isEqualTo(1);
+    Assertions.assertThat(first.json())
+        .isEqualTo(
+            "{\"id\":1,\"question\":\"Is \\\"Java\\\" <b>typed</b>?\","
+                + "\"answerOptions\":[\"False\",\"True\"]}");
+    Assertions.assertThat(first.length()).isEqualTo(first.json().length());
+  }
+
+  @Test
+  void givenFullCache_whenPutting_thenEvictsOldestQuestion() {
+    final QuestionFragmentCache sut = cache(2);
+    final QuestionEntity oldest = question(1, "One?");
+    sut.putAll(List.of(oldest, question(2, "Two?"), question(3, "Three?")));
+    Assertions.assertThat(sut.size()).isEqualTo(2);
+
+    final SerializedQuestion reserialized = sut.get(oldest);
+
+    Assertions.assertThat(reserialized.json()).contains("\"One?\"");
+    Assertions.assertThat(sut.size()).isEqualTo(2);
+  }
+
+  @Test
+  void givenShuffleSeed_whenSerializing_thenPermutesOptionsPerQuestionAndRepeatably()
+      throws JsonProcessingException {
+    final AnswerShuffleProperties shuffle = new AnswerShuffleProperties(true, 7L);
+    final QuestionFragmentCache sut =
+        new QuestionFragmentCache(objectMapper, new QuestionFragmentCacheProperties(10), shuffle);
+    final QuestionFragmentCache otherInstance =
+        new QuestionFragmentCache(objectMapper, new QuestionFragmentCacheProperties(10), shuffle);
+    final Set<Integer> correctPositions = new HashSet<>();
+
+    for (long id = 1; id <= 200; id++) {
+      final QuestionEntity question = question(id, "Question " + id + "?");
+      question.setIncorrectAnswers(List.of("A", "B", "C"));
+      final SerializedQuestion serialized = sut.get(question);
+      final QuestionResponse response =
+          objectMapper.readValue(serialized.json(), QuestionResponse.class);
+
+      Assertions.assertThat(response.answerOptions())
+          .containsExactlyInAnyOrder("A", "B", "C", "True");
+      Assertions.assertThat(otherInstance.get(question).json()).isEqualTo(serialized.json());
+      correctPositions.add(response.answerOptions().indexOf("True"));
+    }
+
+    Assertions.assertThat(correctPositions).containsExactlyInAnyOrder(0, 1, 2, 3);
+  }
+
+  private QuestionFragmentCache cache(int maximumSize) {
+    return new QuestionFragmentCache(
+        objectMapper,
+        new QuestionFragmentCacheProperties(maximumSize),
+        new AnswerShuffleProperties(false, null));
+  }
+
+  private static QuestionEntity question(long id, String text) {
+    final QuestionEntity question = new QuestionEntity();
+    question.setId(id);
+    question.setQuestion(text);
+    question.setCorrectAnswer("True");
+    question.setIncorrectAnswers(List.of("False"));
+    return question;
+  }
+}
@@ -1,16 +1,48 @@
 package com.example.TriviaBackend.client;
 
+import com.example.TriviaBackend.config.TriviaClientProperties;
 import com.example.TriviaBackend.dto.response.TriviaResponse;
 import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.exception.RateLimitExceededException;
+import com.example.TriviaBackend.exception.UpstreamUnavailableException;
+import com.example.TriviaBackend.metrics.TriviaMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.stream.IntStream;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 class TriviaClientTest {
   private final RestTemplate restTemplate = Mockito.mock();
-  private final TriviaClient sut = new TriviaClient(restTemplate);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final TriviaClientProperties properties =
+      new TriviaClientProperties(
+          "https://opentdb.com/api.php?amount=10",
+          Duration.ofSeconds(2),
+          Duration.ofSeconds(5),
+          Duration.ZERO,
+          1,
+          Duration.ofSeconds(1),
+          Duration.ZERO,
+          Duration.ZERO,
+          Duration.ZERO,
+          1);
+  private final UpstreamCircuitBreaker circuitBreaker =
+      new UpstreamCircuitBreaker(4, 2, 50, Duration.ofMinutes(1), 1);
+  private final TriviaClient sut =
+      new TriviaClient(
+          restTemplate,
+          new UpstreamRateLimiter(
+              properties.upstreamInterval(), properties.burst(), properties.maxQueueWait()),
+          circuitBreaker,
+          properties,
+          new TriviaMetrics(meterRegistry));
 
   @Test
   void givenTwoQuestions_whenRequestingQuestionsResponseCode0_returnsResult() {
@@ -77,9 +109,11 @@ class TriviaClientTest {
         .thenReturn(triviaResponse);
 
     Assertions.assertThatThrownBy(sut::getQuestions)
-        .isInstanceOf(RuntimeException.class)
-        .hasMessageContaining("Rate limit reached");
+        .isInstanceOf(RateLimitExceededException.class)
+        .hasMessageContaining("Please wait 1 second before retrying");
 
+    Assertions.assertThat(upstreamResponses("5")).isEqualTo(1);
+    Assertions.assertThat(upstreamResponses("0")).isZero();
     Mockito.verify(restTemplate)
         .getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class));
     Mockito.verifyNoMoreInteractions(restTemplate);
@@ -112,4 +146,119 @@ class TriviaClientTest {
         .getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class));
     Mockito.verifyNoMoreInteractions(restTemplate);
   }
+
+  @Test
+  void givenConcurrentCallers_whenRequestingQuestions_thenUpstreamIsCalledOnce() {
+    final TriviaResponse triviaResponse =
+        new TriviaResponse(
+            0,
+            List.of(
+                new TriviaResponse.TriviaQuestion(
+                    "boolean",
+                    "easy",
+                    "programming",
+                    "Is Java a programming language?",
+                    "True",
+                    List.of("False"))));
+
+    Mockito.when(restTemplate.getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class)))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(200);
+              return triviaResponse;
+            });
+
+    final CyclicBarrier start = new CyclicBarrier(5);
+    final List<CompletableFuture<List<QuestionEntity>>> callers =
+        IntStream.range(0, 5)
+            .mapToObj(
+                i ->
+                    CompletableFuture.supplyAsync(
+                        () -> {
+                          try {
+                            start.await();
+                          } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                          }
+                          return sut.getQuestions();
+                        }))
+            .toList();
+
+    Assertions.assertThat(callers)
+        .allSatisfy(
+            caller ->
+                Assertions.assertThat(caller.join())
+                    .extracting(QuestionEntity::getQuestion)
+                    .containsExactly("Is Java a programming language?"));
+
+    Assertions.assertThat(upstreamResponses("0")).isEqualTo(1);
+    Assertions.assertThat(meterRegistry.get("trivia.upstream.requests").timer().count())
+        .isEqualTo(1);
+    Assertions.assertThat(meterRegistry.get("trivia.client.questions").timer().count())
+        .isEqualTo(5);
+    Mockito.verify(restTemplate, Mockito.times(1))
+        .getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class));
+    Mockito.verifyNoMoreInteractions(restTemplate);
+  }
+
+  @Test
+  void givenFailingUpstream_whenRequestingQuestions_thenOpensCircuitAndStopsCalling() {
+    Mockito.when(restTemplate.getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class)))
+        .thenThrow(new ResourceAccessException("Read timed out"));
+
+    for (int call = 0; call < 2; call++) {
+      Assertions.assertThatThrownBy(sut::getQuestions)
+          .isInstanceOf(UpstreamUnavailableException.class)
+          .hasMessage("Open Trivia API request failed")
+          .hasCauseInstanceOf(ResourceAccessException.class);
+    }
+    Assertions.assertThat(circuitBreaker.state()).isEqualTo(UpstreamCircuitBreaker.State.OPEN);
+    Assertions.assertThatThrownBy(sut::getQuestions)
+        .isInstanceOf(UpstreamUnavailableException.class)
+        .hasMessageContaining("circuit is open");
+
+    Mockito.verify(restTemplate, Mockito.times(2))
+        .getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class));
+    Mockito.verifyNoMoreInteractions(restTemplate);
+  }
+
+  @Test
+  void givenRateLimitedUpstream_whenRequestingQuestions_thenBacksOffAndRecoversSpacing() {
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final TriviaClient adaptive =
+        new TriviaClient(
+            restTemplate,
+            new UpstreamRateLimiter(
+                Duration.ofMillis(100),
+                Duration.ofMillis(50),
+                Duration.ofSeconds(10),
+                Duration.ofMillis(50),
+                2,
+                1,
+                Duration.ofSeconds(5)),
+            circuitBreaker,
+            properties,
+            new TriviaMetrics(registry));
+    Mockito.when(restTemplate.getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class)))
+        .thenReturn(new TriviaResponse(5, List.of()))
+        .thenReturn(new TriviaResponse(0, List.of()));
+
+    Assertions.assertThatThrownBy(adaptive::getQuestions)
+        .isInstanceOfSatisfying(
+            RateLimitExceededException.class,
+            e -> Assertions.assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+    Assertions.assertThat(registry.get("trivia.upstream.interval").gauge().value()).isEqualTo(0.2);
+
+    final long start = System.nanoTime();
+    Assertions.assertThat(adaptive.getQuestions()).isEmpty();
+
+    Assertions.assertThat(Duration.ofNanos(System.nanoTime() - start))
+        .isGreaterThanOrEqualTo(Duration.ofMillis(150));
+    Assertions.assertThat(registry.get("trivia.upstream.interval").gauge().value())
+        .isEqualTo(0.15);
+  }
+
+  private double upstreamResponses(String code) {
+    return meterRegistry.get("trivia.upstream.responses").tag("code", code).counter().count();
+  }
 }
@@ -0,0 +1,65 @@
+package com.example.TriviaBackend.client;
+
+import com.example.TriviaBackend.exception.UpstreamUnavailableException;
+import java.time.Duration;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class UpstreamCircuitBreakerTest {
+
+  @Test
+  void givenFailureRateBelowThreshold_whenRecording_thenStaysClosed() {
+    final UpstreamCircuitBreaker sut =
+        new UpstreamCircuitBreaker(4, 4, 50, Duration.ofMinutes(1), 1);
+
+    sut.onFailure();
+    sut.onSuccess();
+    sut.onSuccess();
+    sut.onSuccess();
+    sut.onFailure();
+
+    // The oldest failure has left the window: 1 of 4 failed
+    Assertions.assertThat(sut.state()).isEqualTo(UpstreamCircuitBreaker.State.CLOSED);
+    sut.acquirePermission();
+  }
+
+  @Test
+  void givenFailureRateAtThreshold_whenMinimumCallsRecorded_thenOpensAndRejects() {
+    final UpstreamCircuitBreaker sut =
+        new UpstreamCircuitBreaker(10, 4, 50, Duration.ofMinutes(1), 1);
+
+    sut.onFailure();
+    sut.onFailure();
+    sut.onFailure();
+    Assertions.assertThat(sut.state()).isEqualTo(UpstreamCircuitBreaker.State.CLOSED);
+    sut.onSuccess();
+
+    Assertions.assertThat(sut.state()).isEqualTo(UpstreamCircuitBreaker.State.OPEN);
+    Assertions.assertThatThrownBy(sut::acquirePermission)
+        .isInstanceOf(UpstreamUnavailableException.class);
+  }
+
+  @Test
+  void givenOpenDurationPassed_whenProbing_thenOneProbeDecidesTheState()
+      throws InterruptedException {
+    final UpstreamCircuitBreaker sut =
+        new UpstreamCircuitBreaker(2, 2, 50, Duration.ofMillis(20), 1);
+    sut.onFailure();
+    sut.onFailure();
+    Thread.sleep(40);
+
+    sut.acquirePermission();
+    Assertions.assertThat(sut.state()).isEqualTo(UpstreamCircuitBreaker.State.HALF_OPEN);
+    Assertions.assertThatThrownBy(sut::acquirePermission)
+        .isInstanceOf(UpstreamUnavailableException.class);
+    sut.onFailure();
+    Assertions.assertThat(sut.state()).isEqualTo(UpstreamCircuitBreaker.State.OPEN);
+
+    Thread.sleep(40);
+    sut.acquirePermission();
+    sut.onSuccess();
+    Assertions.assertThat(sut.state()).isEqualTo(UpstreamCircuitBreaker.State.CLOSED);
+    sut.onFailure();
+    Assertions.assertThat(sut.state()).isEqualTo(UpstreamCircuitBreaker.State.CLOSED);
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.TriviaBackend.client;
+
+import com.example.TriviaBackend.exception.RateLimitExceededException;
+import java.time.Duration;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class UpstreamRateLimiterTest {
+
+  @Test
+  void givenBurstOfCalls_whenAcquiring_thenCallsAreSpacedByInterval() {
+    final UpstreamRateLimiter sut =
+        new UpstreamRateLimiter(Duration.ofMillis(100), 1, Duration.ofSeconds(1));
+
+    final long start = System.nanoTime();
+    sut.acquire();
+    sut.acquire();
+    sut.acquire();
+    final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    Assertions.assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+  }
+
+  @Test
+  void givenBurstCapacity_whenAcquiring_thenBurstPassesWithoutWaiting() {
+    final UpstreamRateLimiter sut =
+        new UpstreamRateLimiter(Duration.ofSeconds(5), 3, Duration.ofSeconds(1));
+
+    final long start = System.nanoTime();
+    sut.acquire();
+    sut.acquire();
+    sut.acquire();
+    final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    Assertions.assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+  }
+
+  @Test
+  void givenQueueLongerThanMaxWait_whenAcquiring_thenRejectsCaller() {
+    final UpstreamRateLimiter sut =
+        new UpstreamRateLimiter(Duration.ofSeconds(5), 1, Duration.ofSeconds(1));
+
+    sut.acquire();
+
+    Assertions.assertThatThrownBy(sut::acquire)
+        .isInstanceOfSatisfying(
+            RateLimitExceededException.class,
+            e -> Assertions.assertThat(e.getRetryAfterSeconds()).isEqualTo(5));
+  }
+
+  @Test
+  void givenRateLimitedCalls_whenAdapting_thenBacksOffMultiplicativelyAndRecoversAdditively() {
+    final UpstreamRateLimiter sut =
+        new UpstreamRateLimiter(
+            Duration.ofSeconds(5),
+            Duration.ofSeconds(4),
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(1),
+            2,
+            1,
+            Duration.ofMinutes(1));
+
+    Assertions.assertThat(sut.onThrottled())
+        .isGreaterThan(Duration.ofSeconds(9))
+        .isLessThanOrEqualTo(Duration.ofSeconds(10));
+    Assertions.assertThat(sut.interval()).isEqualTo(Duration.ofSeconds(10));
+    sut.onThrottled();
+    sut.onThrottled();
+    Assertions.assertThat(sut.interval()).isEqualTo(Duration.ofSeconds(30));
+
+    for (int call = 0; call < 30; call++) {
+      sut.onSuccess();
+    }
+    Assertions.assertThat(sut.interval()).isEqualTo(Duration.ofSeconds(4));
+  }
+}
@@ -0,0 +1,51 @@
+package com.example.TriviaBackend.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+  private final SingleFlight<Integer> sut = new SingleFlight<>();
+
+  @Test
+  void givenCallFailingWithError_whenJoined_thenEveryCallerSeesTheError() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CompletableFuture<Throwable> leader =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                sut.execute(
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      throw new AssertionError("boom");
+                    });
+                return null;
+              } catch (Throwable e) {
+                return e;
+              }
+            });
+    Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    final CompletableFuture<Integer> follower = sut.submit(() -> 1);
+
+    release.countDown();
+
+    Assertions.assertThat(leader.get(5, TimeUnit.SECONDS)).isInstanceOf(AssertionError.class);
+    Assertions.assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(AssertionError.class);
+    // The failed call no longer blocks new ones
+    Assertions.assertThat(sut.execute(() -> 2)).isEqualTo(2);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.example.TriviaBackend.controller;
+
+import com.example.TriviaBackend.TriviaBackendApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Revalidates and compresses rounds over a real connection, with questions from a local bank. */
+class QuestionCachingIntegTest {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir private Path dir;
+
+  @Test
+  void givenServedRound_whenRevalidating_thenNotModifiedUntilGradedAndLargeBodiesAreGzipped()
+      throws Exception {
+    try (ConfigurableApplicationContext context = start();
+        HttpClient httpClient = HttpClient.newHttpClient()) {
+      final int port = context.getEnvironment().getRequiredProperty("local.server.port", int.class);
+      final URI questions = URI.create("http://localhost:" + port + "/api/questions");
+
+      final HttpResponse<byte[]> served =
+          send(httpClient, HttpRequest.newBuilder(questions).header("Accept-Encoding", "gzip"));
+      Assertions.assertThat(served.statusCode()).isEqualTo(200);
+      Assertions.assertThat(served.headers().firstValue("Content-Encoding")).hasValue("gzip");
+      final String roundToken =
+          objectMapper.readTree(gunzip(served.body())).get("roundToken").asText();
+      final String eTag = "W/\"" + roundToken + "\"";
+      Assertions.assertThat(served.headers().firstValue("ETag")).hasValue(eTag);
+
+      final HttpResponse<byte[]> revalidated =
+          send(httpClient, HttpRequest.newBuilder(questions).header("If-None-Match", eTag));
+      Assertions.assertThat(revalidated.statusCode()).isEqualTo(304);
+      Assertions.assertThat(revalidated.headers().firstValue("ETag")).hasValue(eTag);
+
+      // Grading closes the round
+      final HttpResponse<byte[]> graded =
+          send(
+              httpClient,
+              HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/checkanswers"))
+                  .header("Content-Type", "application/json")
+                  .POST(
+                      HttpRequest.BodyPublishers.ofString(
+                          "{\"roundToken\":\"%s\",\"answerRequests\":[]}".formatted(roundToken))));
+      Assertions.assertThat(graded.statusCode()).isEqualTo(200);
+
+      final HttpResponse<byte[]> next =
+          send(httpClient, HttpRequest.newBuilder(questions).header("If-None-Match", eTag));
+      Assertions.assertThat(next.statusCode()).isEqualTo(200);
+      Assertions.assertThat(next.headers().firstValue("ETag")).isPresent().get().isNotEqualTo(eTag);
+    }
+  }
+
+  private ConfigurableApplicationContext start() throws IOException {
+    final Path bank =
+        Files.writeString(
+            dir.resolve("bank.ndjson"),
+            // Long enough that a round of 10 passes the compression threshold
+            IntStream.range(0, 20)
+                .mapToObj(
+                    i ->
+                        """
+                        {"type":"boolean","difficulty":"easy","category":"Caching",\
+                        "question":"Is statement %d about the caching of trivia rounds true?",\
+                        "correct_answer":"True","incorrect_answers":["False"]}
+                        """
+                            .formatted(i))
+                .collect(Collectors.joining()));
+    return new SpringApplicationBuilder(TriviaBackendApplication.class)
+        .run(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:question-caching",
+            "--trivia.pool.background-refill=false",
+            "--trivia.providers.open-trivia=false",
+            "--trivia.providers.file=" + bank);
+  }
+
+  private static HttpResponse<byte[]> send(HttpClient httpClient, HttpRequest.Builder request)
+      throws Exception {
+    return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  private static String gunzip(byte[] body) throws IOException {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
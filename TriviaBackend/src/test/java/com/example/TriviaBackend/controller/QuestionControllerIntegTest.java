@@ -3,28 +3,53 @@ package com.example.TriviaBackend.controller;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.TriviaBackend.dto.response.TriviaResponse;
 import com.example.TriviaBackend.entity.QuestionEntity;
 import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.round.RoundRegistry;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
-@SpringBootTest
+@SpringBootTest(
+    properties = {
+      "trivia.pool.background-refill=false",
+      "trivia.client.upstream-interval=0s",
+      "trivia.write-behind.enabled=false",
+      "trivia.grading.bulk-enabled=true",
+      "trivia.bank.transfer-enabled=true",
+      "trivia.grading.chunk-size=1000",
+      "spring.jpa.properties.hibernate.generate_statistics=true"
+    })
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 @Transactional
 class QuestionControllerIntegTest {
 
@@ -32,6 +57,10 @@ class QuestionControllerIntegTest {
 
   @Autowired private QuestionRepository questionRepository;
 
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Autowired private RoundRegistry roundRegistry;
+
   @MockitoBean private RestTemplate restTemplate;
 
   @Nested
@@ -84,6 +113,50 @@ class QuestionControllerIntegTest {
       Mockito.verifyNoMoreInteractions(restTemplate);
     }
 
+    @Test
+    void givenSameQuestionsFetchedTwice_whenRequestingQuestions_thenReusesStoredRows()
+        throws Exception {
+      Mockito.when(restTemplate.getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class)))
+          .thenReturn(
+              new TriviaResponse(
+                  0,
+                  List.of(
+                      new TriviaResponse.TriviaQuestion(
+                          "boolean",
+                          "easy",
+                          "programming",
+                          "Is Java a programming language?",
+                          "True",
+                          List.of("False")),
+                      new TriviaResponse.TriviaQuestion(
+                          "boolean",
+                          "easy",
+                          "programming",
+                          "Is Java a programming language?",
+                          "True",
+                          List.of("False")))));
+
+      final List<Integer> firstIds = questionIds();
+      final List<Integer> secondIds = questionIds();
+
+      Assertions.assertThat(firstIds).hasSize(1);
+      Assertions.assertThat(secondIds).isEqualTo(firstIds);
+      Assertions.assertThat(questionRepository.count()).isEqualTo(1);
+      Mockito.verify(restTemplate, Mockito.times(2))
+          .getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class));
+    }
+
+    private List<Integer> questionIds() throws Exception {
+      return JsonPath.read(
+          mockMvc
+              .perform(get("/api/questions"))
+              .andExpect(status().isOk())
+              .andReturn()
+              .getResponse()
+              .getContentAsString(),
+          "$.questionResponse[*].id");
+    }
+
     @Test
     void givenZeroQuestions_whenRequestingQuestions_returnsEmptyAndSavesNothing() throws Exception {
       Mockito.when(restTemplate.getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class)))
@@ -110,7 +183,11 @@ class QuestionControllerIntegTest {
       Mockito.when(restTemplate.getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class)))
           .thenReturn(response);
 
-      mockMvc.perform(get("/api/questions")).andExpect(status().is4xxClientError());
+      // Rate limited upstream and nothing stored to fall back to
+      mockMvc
+          .perform(get("/api/questions"))
+          .andExpect(status().isTooManyRequests())
+          .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
 
       final List<QuestionEntity> savedQuestions = questionRepository.findAll();
 
@@ -144,6 +221,157 @@ class QuestionControllerIntegTest {
     }
   }
 
+  @Nested
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  class GetFilteredQuestions {
+
+    @AfterEach
+    void deleteCommittedQuestions() {
+      questionRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void givenStoredQuestions_whenFiltering_thenServesMatchingQuestionsWithoutUpstream()
+        throws Exception {
+      // Committed, so the bucket index picks the questions up
+      questionRepository.saveAll(
+          List.of(
+              question("Filtered history", "easy", "In which year did WW2 end?", "1945"),
+              question("Filtered history", "hard", "Who was the first Roman emperor?", "Augustus"),
+              question("Filtered science", "easy", "What is H2O?", "Water")));
+
+      mockMvc
+          .perform(get("/api/questions").param("category", "Filtered history").param("amount", "5"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.questionResponse.length()").value(2));
+      mockMvc
+          .perform(
+              get("/api/questions")
+                  .param("category", "Filtered history")
+                  .param("difficulty", "hard"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.questionResponse.length()").value(1))
+          .andExpect(
+              jsonPath("$.questionResponse[0].question").value("Who was the first Roman emperor?"));
+
+      Mockito.verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void givenAmountAboveLimit_whenFiltering_thenReturnsBadRequest() throws Exception {
+      mockMvc
+          .perform(get("/api/questions").param("amount", "51"))
+          .andExpect(status().isBadRequest());
+    }
+
+    private static QuestionEntity question(
+        String category, String difficulty, String question, String correctAnswer) {
+      return new QuestionEntity(
+          new TriviaResponse.TriviaQuestion(
+              "multiple", difficulty, category, question, correctAnswer, List.of("A", "B", "C")));
+    }
+  }
+
+  @Nested
+  class ExportAndImport {
+
+    @Test
+    void givenExportedBank_whenImportingIntoEmptyBank_thenRestoresEveryQuestion()
+        throws Exception {
+      questionRepository.saveAllAndFlush(
+          List.of(
+              new QuestionEntity(
+                  new TriviaResponse.TriviaQuestion(
+                      "multiple",
+                      "hard",
+                      "programming",
+                      "what is the best programming language?",
+                      "Java",
+                      List.of("C#", "Python", "Scala"))),
+              new QuestionEntity(
+                  new TriviaResponse.TriviaQuestion(
+                      "boolean",
+                      "easy",
+                      "programming",
+                      "Is Java a programming language?",
+                      "True",
+                      List.of("False")))));
+
+      final String export =
+          mockMvc
+              .perform(get("/api/questions/export"))
+              .andExpect(status().isOk())
+              .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+      Assertions.assertThat(export.lines()).hasSize(2);
+
+      questionRepository.deleteAllInBatch();
+      // The second copy of each line is deduplicated by content hash
+      mockMvc
+          .perform(
+              post("/api/questions/import")
+                  .contentType(MediaType.APPLICATION_NDJSON)
+                  .content(export + export))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.imported").value(4));
+
+      Assertions.assertThat(questionRepository.findAll())
+          .extracting(QuestionEntity::getQuestion, QuestionEntity::getIncorrectAnswers)
+          .containsExactlyInAnyOrder(
+              Assertions.tuple(
+                  "what is the best programming language?", List.of("C#", "Python", "Scala")),
+              Assertions.tuple("Is Java a programming language?", List.of("False")));
+    }
+
+    @Test
+    void givenMalformedBody_whenImporting_thenReturnsBadRequest() throws Exception {
+      mockMvc
+          .perform(
+              post("/api/questions/import")
+                  .contentType(MediaType.APPLICATION_NDJSON)
+                  .content("{\"type\": "))
+          .andExpect(status().isBadRequest());
+    }
+  }
+
+  @Nested
+  class SaveQuestions {
+
+    @Test
+    void givenPageOfQuestions_whenSaving_thenInsertsInOneBatch() {
+      final List<QuestionEntity> questions =
+          IntStream.range(0, 10)
+              .mapToObj(
+                  i ->
+                      new QuestionEntity(
+                          new TriviaResponse.TriviaQuestion(
+                              "multiple",
+                              "hard",
+                              "programming",
+                              "Which language runs on the JVM? #" + i,
+                              "Kotlin",
+                              List.of("C#", "Python", "Go"))))
+              .toList();
+
+      final Statistics statistics =
+          entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+      statistics.clear();
+
+      questionRepository.saveAllAndFlush(questions);
+
+      // At most one sequence call for the id block, then one prepared and batched INSERT
+      Assertions.assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+      Assertions.assertThat(statistics.getEntityInsertCount()).isEqualTo(10);
+      Assertions.assertThat(questionRepository.findById(questions.getFirst().getId()))
+          .hasValueSatisfying(
+              question ->
+                  Assertions.assertThat(question.getIncorrectAnswers())
+                      .containsExactly("C#", "Python", "Go"));
+    }
+  }
+
   @Nested
   class CheckAnswers {
 
@@ -178,6 +406,7 @@ class QuestionControllerIntegTest {
       final String requestBody =
           """
             {
+              "roundToken": "%s",
               "answerRequests": [
                 {
                   "questionId": "%s",
@@ -190,7 +419,10 @@ class QuestionControllerIntegTest {
               ]
             }
             """
-              .formatted(questionId1, questionId2);
+              .formatted(
+                  roundRegistry.issue(new long[] {questionId1, questionId2}),
+                  questionId1,
+                  questionId2);
 
       mockMvc
           .perform(
@@ -202,14 +434,80 @@ class QuestionControllerIntegTest {
           .andExpect(jsonPath("$.answerResponse[0].questionId").value(questionId1))
           .andExpect(jsonPath("$.answerResponse[0].result").value(true))
           .andExpect(jsonPath("$.answerResponse[1].questionId").value(questionId2))
-          .andExpect(jsonPath("$.answerResponse[1].result").value(false));
+          .andExpect(jsonPath("$.answerResponse[1].result").value(false))
+          .andExpect(jsonPath("$.score").value(1));
+    }
+
+    @Test
+    void givenHtmlEncodedAnswer_whenCheckingDecodedAnswer_thenIsCorrect() throws Exception {
+      final QuestionEntity question =
+          new QuestionEntity(
+              0,
+              "multiple",
+              "medium",
+              "science",
+              "Which thought experiment involves a box?",
+              "Schr&ouml;dinger&#039;s Cat",
+              List.of("Maxwell&#039;s Demon", "Newton&#039;s Cradle", "Zeno&#039;s Arrow"));
+      questionRepository.save(question);
+
+      final String requestBody =
+          """
+            {
+              "roundToken": "%s",
+              "answerRequests": [{"questionId": "%s", "answer": "  schrödinger's  CAT "}]
+            }
+            """
+              .formatted(roundRegistry.issue(new long[] {question.getId()}), question.getId());
+
+      mockMvc
+          .perform(
+              post("/api/checkanswers")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(requestBody))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.answerResponse[0].result").value(true));
     }
 
     @Test
-    void givenZeroQuestions_whenCheckingAnswers_thenReturnEmpty() throws Exception {
+    void givenStoredQuestionWithCollidingAnswers_whenCheckingAnswers_thenRequiresExactAnswer()
+        throws Exception {
+      final QuestionEntity question =
+          new QuestionEntity(
+              0,
+              "multiple",
+              "easy",
+              "science",
+              "Which is the chemical symbol of cobalt?",
+              "Co",
+              List.of("CO", "C", "Cb"));
+      questionRepository.save(question);
+
       final String requestBody =
           """
             {
+              "roundToken": "%s",
+              "answerRequests": [{"questionId": "%s", "answer": "CO"}]
+            }
+            """
+              .formatted(roundRegistry.issue(new long[] {question.getId()}), question.getId());
+
+      mockMvc
+          .perform(
+              post("/api/checkanswers")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(requestBody))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.answerResponse[0].result").value(false))
+          .andExpect(jsonPath("$.score").value(0));
+    }
+
+    @Test
+    void givenZeroQuestions_whenCheckingAnswers_thenReturnsUnknownQuestions() throws Exception {
+      final String requestBody =
+          """
+            {
+              "roundToken": "%s",
               "answerRequests": [
                 {
                   "questionId": "1",
@@ -221,7 +519,8 @@ class QuestionControllerIntegTest {
                 }
               ]
             }
-            """;
+            """
+              .formatted(roundRegistry.issue(new long[] {1, 2}));
 
       mockMvc
           .perform(
@@ -230,8 +529,307 @@ class QuestionControllerIntegTest {
                   .content(requestBody))
           .andExpect(status().isOk())
           .andExpect(jsonPath("$.answerResponse.length()").value(2))
-          .andExpect(jsonPath("$.answerResponse[0]").isEmpty())
-          .andExpect(jsonPath("$.answerResponse[1]").isEmpty());
+          .andExpect(jsonPath("$.answerResponse[0].status").value("UNKNOWN_QUESTION"))
+          .andExpect(jsonPath("$.answerResponse[1].status").value("UNKNOWN_QUESTION"))
+          .andExpect(jsonPath("$.score").value(0));
+    }
+
+    @Test
+    void givenAnswerOutsideRound_whenCheckingAnswers_thenReportsItNotInRound() throws Exception {
+      final String requestBody =
+          """
+            {
+              "roundToken": "%s",
+              "answerRequests": [
+                {
+                  "questionId": "2",
+                  "answer": "Java"
+                }
+              ]
+            }
+            """
+              .formatted(roundRegistry.issue(new long[] {1}));
+
+      mockMvc
+          .perform(
+              post("/api/checkanswers")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(requestBody))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.answerResponse[0].questionId").value(2))
+          .andExpect(jsonPath("$.answerResponse[0].result").value(false))
+          .andExpect(jsonPath("$.answerResponse[0].status").value("NOT_IN_ROUND"))
+          .andExpect(jsonPath("$.score").value(0));
+    }
+
+    @Test
+    void givenServedRound_whenCheckingAnswersTwice_thenScoresOnceAndRejectsReplay()
+        throws Exception {
+      Mockito.when(restTemplate.getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class)))
+          .thenReturn(
+              new TriviaResponse(
+                  0,
+                  List.of(
+                      new TriviaResponse.TriviaQuestion(
+                          "boolean",
+                          "easy",
+                          "programming",
+                          "Is Java a programming language? (round)",
+                          "True",
+                          List.of("False")))));
+      final String served =
+          mockMvc
+              .perform(get("/api/questions"))
+              .andExpect(status().isOk())
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+      final String requestBody =
+          """
+            {
+              "roundToken": "%s",
+              "player": "round-tester",
+              "answerRequests": [ { "questionId": %s, "answer": "True" } ]
+            }
+            """
+              .formatted(
+                  JsonPath.<String>read(served, "$.roundToken"),
+                  JsonPath.<Integer>read(served, "$.questionResponse[0].id"));
+
+      mockMvc
+          .perform(
+              post("/api/checkanswers")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(requestBody))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.answerResponse[0].result").value(true))
+          .andExpect(jsonPath("$.score").value(1));
+      mockMvc
+          .perform(
+              post("/api/checkanswers")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(requestBody))
+          .andExpect(status().isBadRequest());
+
+      mockMvc
+          .perform(get("/api/leaderboard/round-tester"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.player").value("round-tester"))
+          .andExpect(jsonPath("$.score").value(1));
+      mockMvc
+          .perform(get("/api/leaderboard").param("limit", "1000"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.leaderboard[?(@.player == 'round-tester')].score").value(1));
+      mockMvc.perform(get("/api/leaderboard/nobody")).andExpect(status().isNotFound());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void givenGrowingBatch_whenCheckingAnswers_thenStatementCountStaysConstant(int batchSize)
+        throws Exception {
+      final List<QuestionEntity> questions =
+          questionRepository.saveAllAndFlush(
+              IntStream.range(0, batchSize)
+                  .mapToObj(
+                      i ->
+                          new QuestionEntity(
+                              0,
+                              "boolean",
+                              "easy",
+                              "programming",
+                              "Is Java a programming language? #" + i,
+                              "True",
+                              List.of("False")))
+                  .toList());
+
+      final String requestBody =
+          questions.stream()
+              .map(
+                  question ->
+                      """
+                        { "questionId": "%s", "answer": "True" }
+                        """
+                          .formatted(question.getId()))
+              .collect(
+                  Collectors.joining(
+                      ",",
+                      "{ \"roundToken\": \"%s\", \"answerRequests\": ["
+                          .formatted(
+                              roundRegistry.issue(
+                                  questions.stream().mapToLong(QuestionEntity::getId).toArray())),
+                      "] }"));
+
+      final Statistics statistics =
+          entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+      statistics.clear();
+
+      mockMvc
+          .perform(
+              post("/api/checkanswers")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(requestBody))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.answerResponse.length()").value(batchSize));
+
+      Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+      Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+  }
+
+  @Nested
+  class BulkGrading {
+
+    @Test
+    void givenLargeBatch_whenGradingInBulk_thenStreamsResultsInOrderWithOneQueryPerChunk()
+        throws Exception {
+      final List<QuestionEntity> questions =
+          questionRepository.saveAllAndFlush(
+              IntStream.range(0, 3)
+                  .mapToObj(
+                      i ->
+                          new QuestionEntity(
+                              0,
+                              "boolean",
+                              "easy",
+                              "programming",
+                              "Is bulk grading question #" + i + " true?",
+                              "True",
+                              List.of("False")))
+                  .toList());
+      final long unknownId = questions.getLast().getId() + 1_000;
+      // 2500 answers cycle through the questions, an answer to an unknown id and a wrong answer
+      final List<String> answers =
+          IntStream.range(0, 2500)
+              .mapToObj(
+                  i ->
+                      switch (i % 5) {
+                        case 3 -> "{\"questionId\":%d,\"answer\":\"True\"}".formatted(unknownId);
+                        case 4 ->
+                            "{\"questionId\":%d,\"answer\":\"False\"}"
+                                .formatted(questions.getFirst().getId());
+                        default ->
+                            "{\"questionId\":%d,\"answer\":\"True\"}"
+                                .formatted(questions.get(i % 5).getId());
+                      })
+              .toList();
+
+      final Statistics statistics =
+          entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+      statistics.clear();
+
+      final List<String> results =
+          mockMvc
+              .perform(
+                  post("/api/checkanswers/bulk")
+                      .contentType(MediaType.APPLICATION_JSON)
+                      .content(answers.stream().collect(Collectors.joining(",", "[", "]"))))
+              .andExpect(status().isOk())
+              .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+              .andReturn()
+              .getResponse()
+              .getContentAsString()
+              .lines()
+              .toList();
+
+      Assertions.assertThat(results).hasSize(2500);
+      for (int i = 0; i < 5; i++) {
+        final String status = JsonPath.read(results.get(i), "$.status");
+        Assertions.assertThat(status)
+            .isEqualTo(i == 3 ? "UNKNOWN_QUESTION" : i == 4 ? "INCORRECT" : "CORRECT");
+      }
+      Assertions.assertThat(results.subList(2495, 2500)).isEqualTo(results.subList(0, 5));
+      // One query per chunk of 1000 answers
+      Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void givenMalformedBatch_whenGradingInBulk_thenReturnsBadRequest() throws Exception {
+      mockMvc
+          .perform(
+              post("/api/checkanswers/bulk")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content("[{\"questionId\":1,\"answer\":\"True\"}, 42]"))
+          .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenMalformedAnswerAfterFirstChunk_whenGradingInBulk_thenEndsStreamWithError()
+        throws Exception {
+      final String body =
+          IntStream.range(0, 1001)
+                  .mapToObj(i -> "{\"questionId\":1,\"answer\":\"True\"}\n")
+                  .collect(Collectors.joining())
+              + "{\"questionId\":\"one\"}\n";
+
+      final List<String> results =
+          mockMvc
+              .perform(
+                  post("/api/checkanswers/bulk")
+                      .contentType(MediaType.APPLICATION_NDJSON)
+                      .content(body))
+              .andExpect(status().isOk())
+              .andReturn()
+              .getResponse()
+              .getContentAsString()
+              .lines()
+              .toList();
+
+      // The chunk of 1000 answers was sent before the malformed one was read
+      Assertions.assertThat(results).hasSize(1001);
+      Assertions.assertThat(JsonPath.<Integer>read(results.getLast(), "$.graded")).isEqualTo(1000);
+      Assertions.assertThat(JsonPath.<String>read(results.getLast(), "$.error"))
+          .startsWith("Grading stopped after 1000 answers");
+    }
+  }
+
+  @Nested
+  class Metrics {
+
+    @Test
+    void givenServedRequests_whenScraping_thenExposesLatencyHistogramsAndResponseCodes()
+        throws Exception {
+      Mockito.when(restTemplate.getForObject(Mockito.anyString(), Mockito.eq(TriviaResponse.class)))
+          .thenReturn(
+              new TriviaResponse(
+                  0,
+                  List.of(
+                      new TriviaResponse.TriviaQuestion(
+                          "boolean",
+                          "easy",
+                          "programming",
+                          "Is Java a programming language?",
+                          "True",
+                          List.of("False")))));
+      mockMvc.perform(get("/api/questions")).andExpect(status().isOk());
+
+      final String scrape =
+          mockMvc
+              .perform(get("/actuator/prometheus"))
+              .andExpect(status().isOk())
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+
+      Assertions.assertThat(scrape)
+          .contains(
+              "http_server_requests_seconds_bucket{error=\"none\",exception=\"none\","
+                  + "method=\"GET\",outcome=\"SUCCESS\",status=\"200\","
+                  + "uri=\"/api/questions\"",
+              "spring_data_repository_invocations_seconds_bucket",
+              "trivia_client_questions_seconds_bucket",
+              "trivia_upstream_requests_seconds_bucket",
+              "trivia_upstream_responses_total{code=\"0\"}",
+              "trivia_upstream_responses_total{code=\"5\"}",
+              "trivia_rate_limit_exceeded_total",
+              "trivia_answer_key_cache_hits_total",
+              "trivia_answer_key_cache_misses_total",
+              "trivia_answer_key_cache_evictions_total",
+              "trivia_answer_key_cache_size",
+              "trivia_write_behind_queued",
+              "trivia_write_behind_written_total",
+              "trivia_write_behind_dropped_total",
+              "trivia_rounds_open",
+              "trivia_rounds_evictions_total");
     }
   }
 }
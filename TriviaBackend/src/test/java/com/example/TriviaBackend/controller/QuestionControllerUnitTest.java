@@ -9,8 +9,12 @@ import com.example.TriviaBackend.dto.response.AnswerResponse;
 import com.example.TriviaBackend.dto.response.CheckAnswersResponse;
 import com.example.TriviaBackend.dto.response.GetQuestionsResponse;
 import com.example.TriviaBackend.dto.response.QuestionResponse;
+import com.example.TriviaBackend.dto.response.SerializedQuestion;
+import com.example.TriviaBackend.exception.InvalidRoundException;
 import com.example.TriviaBackend.exception.RateLimitExceededException;
 import com.example.TriviaBackend.service.QuestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
 import java.util.List;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -18,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -38,10 +43,12 @@ class QuestionControllerUnitTest {
     void givenTwoQuestions_whenRequestingQuestions_returnResult() throws Exception {
       final GetQuestionsResponse response =
           new GetQuestionsResponse(
+              "0123456789abcdef",
               List.of(
-                  new QuestionResponse(1L, "What is 2 + 2?", List.of("3", "4", "5")),
-                  new QuestionResponse(
-                      2L, "Capital of France?", List.of("Paris", "Berlin", "Rome"))));
+                  serialized(new QuestionResponse(1L, "What is 2 + 2?", List.of("3", "4", "5"))),
+                  serialized(
+                      new QuestionResponse(
+                          2L, "Capital of France?", List.of("Paris", "Berlin", "Rome")))));
 
       Mockito.when(questionService.getQuestions()).thenReturn(response);
 
@@ -49,19 +56,60 @@ class QuestionControllerUnitTest {
           .perform(get("/api/questions"))
           .andExpect(status().isOk())
           .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+          .andExpect(jsonPath("$.roundToken").value("0123456789abcdef"))
           .andExpect(jsonPath("$.questionResponse.length()").value(2))
           .andExpect(jsonPath("$.questionResponse[0].id").value(1))
           .andExpect(jsonPath("$.questionResponse[1].id").value(2))
           .andExpect(jsonPath("$.questionResponse[0].question").value("What is 2 + 2?"))
-          .andExpect(jsonPath("$.questionResponse[1].question").value("Capital of France?"));
+          .andExpect(jsonPath("$.questionResponse[1].question").value("Capital of France?"))
+          .andExpect(jsonPath("$.questionResponse[1].answerOptions[0]").value("Paris"))
+          .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 204))
+          .andExpect(header().string(HttpHeaders.ETAG, "W/\"0123456789abcdef\""))
+          .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
 
       Mockito.verify(questionService).getQuestions();
       Mockito.verifyNoMoreInteractions(questionService);
     }
 
+    @Test
+    void givenETagOfOpenRound_whenRequestingQuestions_thenReturnsNotModifiedWithoutFetching()
+        throws Exception {
+      Mockito.when(questionService.isRoundOpen("0123456789abcdef")).thenReturn(true);
+
+      mockMvc
+          .perform(
+              get("/api/questions")
+                  .header(
+                      HttpHeaders.IF_NONE_MATCH, "W/\"fedcba9876543210\", \"0123456789abcdef\""))
+          .andExpect(status().isNotModified())
+          .andExpect(header().string(HttpHeaders.ETAG, "W/\"0123456789abcdef\""))
+          .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+          .andExpect(content().string(""));
+
+      Mockito.verify(questionService).isRoundOpen("fedcba9876543210");
+      Mockito.verify(questionService).isRoundOpen("0123456789abcdef");
+      Mockito.verifyNoMoreInteractions(questionService);
+    }
+
+    @Test
+    void givenETagOfClosedRound_whenRequestingQuestions_thenServesNewRound() throws Exception {
+      Mockito.when(questionService.getQuestions())
+          .thenReturn(new GetQuestionsResponse("fedcba9876543210", List.of()));
+
+      mockMvc
+          .perform(get("/api/questions").header(HttpHeaders.IF_NONE_MATCH, "\"0123456789abcdef\""))
+          .andExpect(status().isOk())
+          .andExpect(header().string(HttpHeaders.ETAG, "W/\"fedcba9876543210\""))
+          .andExpect(jsonPath("$.roundToken").value("fedcba9876543210"));
+
+      Mockito.verify(questionService).isRoundOpen("0123456789abcdef");
+      Mockito.verify(questionService).getQuestions();
+      Mockito.verifyNoMoreInteractions(questionService);
+    }
+
     @Test
     void givenZeroQuestions_whenRequestingQuestions_returnEmpty() throws Exception {
-      final GetQuestionsResponse response = new GetQuestionsResponse(List.of());
+      final GetQuestionsResponse response = new GetQuestionsResponse("0123456789abcdef", List.of());
 
       Mockito.when(questionService.getQuestions()).thenReturn(response);
 
@@ -77,9 +125,13 @@ class QuestionControllerUnitTest {
 
     @Test
     void givenZeroQuestion_whenRequestingQuestions_returnError() throws Exception {
-      Mockito.when(questionService.getQuestions()).thenThrow(RateLimitExceededException.class);
+      Mockito.when(questionService.getQuestions())
+          .thenThrow(new RateLimitExceededException(Duration.ofMillis(7500)));
 
-      mockMvc.perform(get("/api/questions")).andExpect(status().is4xxClientError());
+      mockMvc
+          .perform(get("/api/questions"))
+          .andExpect(status().isTooManyRequests())
+          .andExpect(header().string(HttpHeaders.RETRY_AFTER, "8"));
 
       Mockito.verify(questionService).getQuestions();
       Mockito.verifyNoMoreInteractions(questionService);
@@ -93,7 +145,7 @@ class QuestionControllerUnitTest {
     void givenTwoAnswers_whenCheckAnswers_returnResult() throws Exception {
       final CheckAnswersResponse response =
           new CheckAnswersResponse(
-              List.of(new AnswerResponse(1L, true), new AnswerResponse(2L, false)));
+              List.of(new AnswerResponse(1L, true), new AnswerResponse(2L, false)), 1);
 
       Mockito.when(questionService.checkAnswer(Mockito.any(CheckAnswersRequest.class)))
           .thenReturn(response);
@@ -105,6 +157,7 @@ class QuestionControllerUnitTest {
                   .content(
                       """
                         {
+                          "roundToken": "0123456789abcdef",
                           "answerRequests": [
                               {
                                 "questionId": 1,
@@ -123,7 +176,8 @@ class QuestionControllerUnitTest {
           .andExpect(jsonPath("$.answerResponse[0].questionId").value(1))
           .andExpect(jsonPath("$.answerResponse[1].questionId").value(2))
           .andExpect(jsonPath("$.answerResponse[0].result").value(true))
-          .andExpect(jsonPath("$.answerResponse[1].result").value(false));
+          .andExpect(jsonPath("$.answerResponse[1].result").value(false))
+          .andExpect(jsonPath("$.score").value(1));
 
       Mockito.verify(questionService).checkAnswer(Mockito.any(CheckAnswersRequest.class));
       Mockito.verifyNoMoreInteractions(questionService);
@@ -131,7 +185,7 @@ class QuestionControllerUnitTest {
 
     @Test
     void givenZeroAnswers_whenCheckAnswers_returnEmpty() throws Exception {
-      final CheckAnswersResponse response = new CheckAnswersResponse(List.of());
+      final CheckAnswersResponse response = new CheckAnswersResponse(List.of(), 0);
 
       Mockito.when(questionService.checkAnswer(Mockito.any(CheckAnswersRequest.class)))
           .thenReturn(response);
@@ -148,7 +202,7 @@ class QuestionControllerUnitTest {
 
     @Test
     void givenTwoAnswers_whenCheckAnswersAnswersNotFound_returnEmpty() throws Exception {
-      final CheckAnswersResponse response = new CheckAnswersResponse(List.of());
+      final CheckAnswersResponse response = new CheckAnswersResponse(List.of(), 0);
 
       Mockito.when(questionService.checkAnswer(Mockito.any(CheckAnswersRequest.class)))
           .thenReturn(response);
@@ -160,6 +214,7 @@ class QuestionControllerUnitTest {
                   .content(
                       """
                         {
+                          "roundToken": "0123456789abcdef",
                           "answerRequests": [
                               {
                                 "questionId": 1,
@@ -179,5 +234,26 @@ class QuestionControllerUnitTest {
       Mockito.verify(questionService).checkAnswer(Mockito.any(CheckAnswersRequest.class));
       Mockito.verifyNoMoreInteractions(questionService);
     }
+
+    @Test
+    void givenUnknownRound_whenCheckAnswers_returnBadRequest() throws Exception {
+      Mockito.when(questionService.checkAnswer(Mockito.any(CheckAnswersRequest.class)))
+          .thenThrow(new InvalidRoundException("Unknown, expired or already graded round"));
+
+      mockMvc
+          .perform(
+              post("/api/checkanswers")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content("{\"roundToken\": \"0123456789abcdef\", \"answerRequests\": []}"))
+          .andExpect(status().isBadRequest());
+
+      Mockito.verify(questionService)
+          .checkAnswer(new CheckAnswersRequest("0123456789abcdef", List.of(), null));
+      Mockito.verifyNoMoreInteractions(questionService);
+    }
+  }
+
+  private static SerializedQuestion serialized(QuestionResponse question) {
+    return SerializedQuestion.of(question, new ObjectMapper().writer());
   }
 }
@@ -0,0 +1,185 @@
+package com.example.TriviaBackend.controller;
+
+import com.example.TriviaBackend.TriviaBackendApplication;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Fires many concurrent {@code GET /api/questions} calls against a cold question pool backed by a
+ * slow stub upstream, once on platform request threads and once on virtual threads, and reports
+ * the peak platform thread count and latency percentiles of both runs.
+ *
+ * <p>Excluded from the default build; run with {@code mvn -Pload-test test}.
+ */
+@Tag("load")
+class QuestionsEndpointLoadTest {
+  private static final int CONCURRENT_REQUESTS = 500;
+  private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(100);
+  private static final int QUESTIONS_PER_UPSTREAM_CALL = 50;
+
+  private final Logger LOG = LoggerFactory.getLogger(QuestionsEndpointLoadTest.class);
+  private final AtomicLong questionCounter = new AtomicLong();
+  private HttpServer upstream;
+
+  @BeforeEach
+  void startUpstream() throws IOException {
+    upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    upstream.createContext(
+        "/api.php",
+        exchange -> {
+          try {
+            Thread.sleep(UPSTREAM_LATENCY);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          final byte[] body = upstreamResponse().getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+    upstream.start();
+  }
+
+  @AfterEach
+  void stopUpstream() {
+    upstream.stop(0);
+  }
+
+  @Test
+  void givenManyConcurrentRequests_whenComparingThreadModels_thenVirtualThreadsUseFewerThreads()
+      throws Exception {
+    final LoadResult platform = runLoad(false);
+    final LoadResult virtual = runLoad(true);
+
+    LOG.info(
+        "Load of {} concurrent requests:\n{}\n{}\n{}",
+        CONCURRENT_REQUESTS,
+        "%-10s %12s %10s %10s %10s"
+            .formatted("threads", "peakThreads", "p50 ms", "p99 ms", "max ms"),
+        platform.format("platform"),
+        virtual.format("virtual"));
+
+    Assertions.assertThat(platform.failures()).isZero();
+    Assertions.assertThat(virtual.failures()).isZero();
+    Assertions.assertThat(virtual.peakThreads()).isLessThan(platform.peakThreads());
+  }
+
+  private LoadResult runLoad(boolean virtualThreads) throws Exception {
+    try (ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(TriviaBackendApplication.class)
+            .run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads,
+                "--trivia.client.uri=http://localhost:%d/api.php"
+                    .formatted(upstream.getAddress().getPort()),
+                "--trivia.client.upstream-interval=0s",
+                "--trivia.client.max-queue-wait=1m",
+                "--trivia.pool.background-refill=false")) {
+      final int port = context.getEnvironment().getRequiredProperty("local.server.port", int.class);
+      final URI questions = URI.create("http://localhost:" + port + "/api/questions");
+
+      final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+      threads.resetPeakThreadCount();
+
+      try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+          HttpClient httpClient = HttpClient.newBuilder().executor(callers).build()) {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<CompletableFuture<Long>> requests = new ArrayList<>();
+        IntStream.range(0, CONCURRENT_REQUESTS)
+            .forEach(
+                i ->
+                    requests.add(
+                        CompletableFuture.supplyAsync(
+                            () -> timedRequest(httpClient, questions, start), callers)));
+        start.countDown();
+
+        final long[] latencies =
+            requests.stream().map(CompletableFuture::join).mapToLong(Long::longValue).toArray();
+        final long failures = Arrays.stream(latencies).filter(latency -> latency < 0).count();
+        final long[] sorted = Arrays.stream(latencies).filter(l -> l >= 0).sorted().toArray();
+        return new LoadResult(
+            threads.getPeakThreadCount(),
+            percentile(sorted, 0.50),
+            percentile(sorted, 0.99),
+            sorted.length == 0 ? 0 : sorted[sorted.length - 1],
+            failures);
+      }
+    }
+  }
+
+  private static long timedRequest(HttpClient httpClient, URI uri, CountDownLatch start) {
+    try {
+      start.await();
+      final long begin = System.nanoTime();
+      final HttpResponse<String> response =
+          httpClient.send(
+              HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+      final long elapsedMillis = Duration.ofNanos(System.nanoTime() - begin).toMillis();
+      return response.statusCode() == 200 ? elapsedMillis : -1;
+    } catch (IOException e) {
+      return -1;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return -1;
+    }
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+  }
+
+  private String upstreamResponse() {
+    return IntStream.range(0, QUESTIONS_PER_UPSTREAM_CALL)
+        .mapToObj(
+            i ->
+                """
+                {"type":"boolean","difficulty":"easy","category":"Load","question":"Question %d?",\
+                "correct_answer":"True","incorrect_answers":["False"]}"""
+                    .formatted(questionCounter.incrementAndGet()))
+        .collect(Collectors.joining(",", "{\"response_code\":0,\"results\":[", "]}"));
+  }
+
+  private record LoadResult(
+      int peakThreads, long p50Millis, long p99Millis, long maxMillis, long failures) {
+    String format(String label) {
+      return "%-10s %12d %10d %10d %10d"
+          .formatted(label, peakThreads, p50Millis, p99Millis, maxMillis);
+    }
+  }
+}
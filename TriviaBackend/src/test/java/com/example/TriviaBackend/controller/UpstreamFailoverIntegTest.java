@@ -0,0 +1,182 @@
+package com.example.TriviaBackend.controller;
+
+import com.example.TriviaBackend.TriviaBackendApplication;
+import com.example.TriviaBackend.client.UpstreamCircuitBreaker;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs {@code GET /api/questions} against a local stub of the Open Trivia API that can answer
+ * normally, slower than the read timeout, with a server error or with response code 5.
+ */
+class UpstreamFailoverIntegTest {
+  private static final Duration READ_TIMEOUT = Duration.ofMillis(300);
+  private static final Duration OPEN_DURATION = Duration.ofMillis(500);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AtomicInteger upstreamCalls = new AtomicInteger();
+  private final AtomicInteger questionCounter = new AtomicInteger();
+  private volatile Upstream behavior = Upstream.HEALTHY;
+  private HttpServer upstream;
+
+  private enum Upstream {
+    HEALTHY,
+    SLOW,
+    FAILING,
+    RATE_LIMITED
+  }
+
+  @BeforeEach
+  void startUpstream() throws IOException {
+    upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    upstream.createContext("/api.php", this::answer);
+    upstream.start();
+  }
+
+  @AfterEach
+  void stopUpstream() {
+    upstream.stop(0);
+  }
+
+  @Test
+  void givenFailingUpstream_whenRequestingQuestions_thenServesStoredQuestionsUntilItRecovers()
+      throws Exception {
+    try (ConfigurableApplicationContext context = start();
+        HttpClient httpClient = HttpClient.newHttpClient()) {
+      final int port = context.getEnvironment().getRequiredProperty("local.server.port", int.class);
+      final URI questions = URI.create("http://localhost:" + port + "/api/questions");
+      final UpstreamCircuitBreaker circuitBreaker = context.getBean(UpstreamCircuitBreaker.class);
+
+      // Nothing stored yet, so there is nothing to fall back to
+      behavior = Upstream.FAILING;
+      Assertions.assertThat(get(httpClient, questions).statusCode()).isEqualTo(503);
+
+      behavior = Upstream.HEALTHY;
+      final List<String> fresh = questionTexts(get(httpClient, questions));
+      Assertions.assertThat(fresh).hasSize(10);
+
+      behavior = Upstream.RATE_LIMITED;
+      Assertions.assertThat(questionTexts(get(httpClient, questions)))
+          .containsExactlyInAnyOrderElementsOf(fresh);
+
+      behavior = Upstream.SLOW;
+      final long start = System.nanoTime();
+      Assertions.assertThat(questionTexts(get(httpClient, questions)))
+          .containsExactlyInAnyOrderElementsOf(fresh);
+      Assertions.assertThat(Duration.ofNanos(System.nanoTime() - start))
+          .isGreaterThanOrEqualTo(READ_TIMEOUT);
+      // 3 of the last 4 calls failed
+      Assertions.assertThat(circuitBreaker.state()).isEqualTo(UpstreamCircuitBreaker.State.OPEN);
+
+      final int callsBeforeOpen = upstreamCalls.get();
+      Assertions.assertThat(questionTexts(get(httpClient, questions)))
+          .containsExactlyInAnyOrderElementsOf(fresh);
+      Assertions.assertThat(upstreamCalls.get()).isEqualTo(callsBeforeOpen);
+
+      Thread.sleep(OPEN_DURATION.plusMillis(100));
+      behavior = Upstream.HEALTHY;
+      Assertions.assertThat(questionTexts(get(httpClient, questions)))
+          .hasSize(10)
+          .doesNotContainAnyElementsOf(fresh);
+      Assertions.assertThat(circuitBreaker.state())
+          .isEqualTo(UpstreamCircuitBreaker.State.CLOSED);
+    }
+  }
+
+  private ConfigurableApplicationContext start() {
+    return new SpringApplicationBuilder(TriviaBackendApplication.class)
+        .run(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:upstream-failover",
+            "--trivia.client.uri=http://localhost:%d/api.php"
+                .formatted(upstream.getAddress().getPort()),
+            "--trivia.client.upstream-interval=0s",
+            "--trivia.client.read-timeout=" + READ_TIMEOUT.toMillis() + "ms",
+            "--trivia.client.circuit-breaker.window-size=4",
+            "--trivia.client.circuit-breaker.minimum-calls=4",
+            "--trivia.client.circuit-breaker.open-duration=" + OPEN_DURATION.toMillis() + "ms",
+            "--trivia.pool.background-refill=false",
+            // Stored questions must be visible to the fallback as soon as they are served
+            "--trivia.write-behind.enabled=false");
+  }
+
+  private static HttpResponse<String> get(HttpClient httpClient, URI uri) throws Exception {
+    return httpClient.send(
+        HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private List<String> questionTexts(HttpResponse<String> response) throws IOException {
+    Assertions.assertThat(response.statusCode()).isEqualTo(200);
+    final List<String> texts = new ArrayList<>();
+    for (JsonNode question : objectMapper.readTree(response.body()).get("questionResponse")) {
+      texts.add(question.get("question").asText());
+    }
+    return texts;
+  }
+
+  private void answer(HttpExchange exchange) throws IOException {
+    upstreamCalls.incrementAndGet();
+    final String body =
+        switch (behavior) {
+          case HEALTHY -> questions();
+          case SLOW -> {
+            try {
+              Thread.sleep(READ_TIMEOUT.multipliedBy(3));
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            yield questions();
+          }
+          case FAILING -> null;
+          case RATE_LIMITED -> "{\"response_code\":5,\"results\":[]}";
+        };
+    if (body == null) {
+      exchange.sendResponseHeaders(500, -1);
+      exchange.close();
+      return;
+    }
+    final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    } catch (IOException e) {
+      // The client gave up waiting for a slow answer
+    }
+  }
+
+  private String questions() {
+    return IntStream.range(0, 10)
+        .mapToObj(
+            i ->
+                """
+                {"type":"boolean","difficulty":"easy","category":"Failover",\
+                "question":"Question %d?","correct_answer":"True","incorrect_answers":["False"]}"""
+                    .formatted(questionCounter.incrementAndGet()))
+        .collect(Collectors.joining(",", "{\"response_code\":0,\"results\":[", "]}"));
+  }
+}
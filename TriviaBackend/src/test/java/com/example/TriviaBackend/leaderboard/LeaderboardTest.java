@@ -0,0 +1,81 @@
+package com.example.TriviaBackend.leaderboard;
+
+import com.example.TriviaBackend.dto.response.LeaderboardEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LeaderboardTest {
+
+  @Test
+  void givenRecordedRounds_whenQueryingTop_thenRanksByTotalWithSharedRanksForTies() {
+    final Leaderboard sut = new Leaderboard();
+    sut.record("ada", 7);
+    sut.record("bob", 9);
+    sut.record("cy", 3);
+    sut.record("ada", 2);
+    sut.record("dee", 0);
+
+    Assertions.assertThat(sut.top(10))
+        .containsExactly(
+            new LeaderboardEntry(1, "ada", 9),
+            new LeaderboardEntry(1, "bob", 9),
+            new LeaderboardEntry(3, "cy", 3),
+            new LeaderboardEntry(4, "dee", 0));
+    Assertions.assertThat(sut.top(2))
+        .extracting(LeaderboardEntry::player)
+        .containsExactly("ada", "bob");
+    Assertions.assertThat(sut.standing("cy")).contains(new LeaderboardEntry(3, "cy", 3));
+    Assertions.assertThat(sut.standing("bob")).contains(new LeaderboardEntry(1, "bob", 9));
+    Assertions.assertThat(sut.standing("eve")).isEmpty();
+    Assertions.assertThat(sut.players()).isEqualTo(4);
+  }
+
+  @Test
+  void givenScoresBeyondIndex_whenQueryingStanding_thenCountsTopPlayersExactly() {
+    final Leaderboard sut = new Leaderboard(8);
+    sut.record("low", 2);
+    sut.record("high", 20);
+    sut.record("higher", 30);
+    sut.record("edge", 7);
+
+    Assertions.assertThat(sut.standing("higher")).contains(new LeaderboardEntry(1, "higher", 30));
+    Assertions.assertThat(sut.standing("high")).contains(new LeaderboardEntry(2, "high", 20));
+    Assertions.assertThat(sut.standing("edge")).contains(new LeaderboardEntry(3, "edge", 7));
+    Assertions.assertThat(sut.standing("low")).contains(new LeaderboardEntry(4, "low", 2));
+  }
+
+  @Test
+  void givenConcurrentRounds_whenAllRecorded_thenTotalsAndRanksAreConsistent() throws Exception {
+    final Leaderboard sut = new Leaderboard();
+    final int players = 200;
+    final int roundsPerPlayer = 50;
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      final List<Future<?>> rounds = new ArrayList<>();
+      for (int round = 0; round < roundsPerPlayer; round++) {
+        for (int player = 0; player < players; player++) {
+          final String name = "player-" + player;
+          final int score = player % 10;
+          rounds.add(executor.submit(() -> sut.record(name, score)));
+        }
+      }
+      for (Future<?> round : rounds) {
+        round.get();
+      }
+    }
+
+    Assertions.assertThat(sut.players()).isEqualTo(players);
+    Assertions.assertThat(sut.top(players))
+        .hasSize(players)
+        .allSatisfy(
+            entry -> {
+              Assertions.assertThat(sut.standing(entry.player())).contains(entry);
+              Assertions.assertThat(entry.rank()).isEqualTo(1 + (9 - entry.score() / 50) * 20);
+            });
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.TriviaBackend.persistence;
+
+import com.example.TriviaBackend.TriviaBackendApplication;
+import com.example.TriviaBackend.cache.QuestionBucketIndex;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.service.QuestionBankService;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+class QuestionWriteBehindIntegTest {
+
+  @Test
+  void givenFetchedQuestions_whenSaving_thenAssignsIdsAtOnceAndWritesThemBehind() throws Exception {
+    try (ConfigurableApplicationContext context = start()) {
+      final QuestionRepository questionRepository = context.getBean(QuestionRepository.class);
+      final QuestionWriteBehind sut = context.getBean(QuestionWriteBehind.class);
+      context
+          .getBean(QuestionBankService.class)
+          .importQuestions(
+              new ByteArrayInputStream(
+                  """
+                  {"type":"boolean","difficulty":"easy","category":"WriteBehind",\
+                  "question":"Question 0?","correct_answer":"True","incorrect_answers":["False"]}
+                  """
+                      .getBytes(StandardCharsets.UTF_8)));
+      final long importedId = questionRepository.findAll().getFirst().getId();
+
+      // Question 0 is stored already and question 5 comes twice
+      final List<QuestionEntity> saved =
+          sut.saveAll(
+              Stream.concat(IntStream.range(0, 60).boxed(), Stream.of(5))
+                  .map(QuestionWriteBehindIntegTest::question)
+                  .toList());
+      sut.shutdown();
+
+      Assertions.assertThat(saved).hasSize(60);
+      Assertions.assertThat(saved.getFirst().getId()).isEqualTo(importedId);
+      Assertions.assertThat(saved).extracting(QuestionEntity::getId).doesNotHaveDuplicates();
+      Assertions.assertThat(sut.stats()).isEqualTo(new QuestionWriteBehind.Stats(0, 59, 0));
+      Assertions.assertThat(questionRepository.findAll())
+          .usingRecursiveFieldByFieldElementComparator()
+          .containsExactlyInAnyOrderElementsOf(saved);
+      Assertions.assertThat(context.getBean(QuestionBucketIndex.class).size()).isEqualTo(60);
+
+      // A question still remembered by content hash is not queued again
+      Assertions.assertThat(sut.saveAll(List.of(question(7))))
+          .extracting(QuestionEntity::getId)
+          .containsExactly(saved.get(7).getId());
+      Assertions.assertThat(sut.stats().written()).isEqualTo(59);
+    }
+  }
+
+  private static ConfigurableApplicationContext start() {
+    return new SpringApplicationBuilder(TriviaBackendApplication.class)
+        .web(WebApplicationType.NONE)
+        .run(
+            "--spring.datasource.url=jdbc:h2:mem:write-behind",
+            "--trivia.pool.background-refill=false",
+            // Smaller than one save, so the save has to wait for the writer
+            "--trivia.write-behind.queue-capacity=8",
+            "--trivia.write-behind.batch-size=5");
+  }
+
+  private static QuestionEntity question(int i) {
+    return new QuestionEntity(
+        0, "boolean", "easy", "WriteBehind", "Question " + i + "?", "True", List.of("False"));
+  }
+}
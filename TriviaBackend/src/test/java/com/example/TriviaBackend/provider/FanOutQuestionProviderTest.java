@@ -0,0 +1,124 @@
+package com.example.TriviaBackend.provider;
+
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.exception.UpstreamUnavailableException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FanOutQuestionProviderTest {
+  private FanOutQuestionProvider sut;
+
+  @AfterEach
+  void tearDown() {
+    sut.close();
+  }
+
+  @Test
+  void givenFastProviders_whenBatchIsFilled_thenMergesWithoutDuplicatesOrWaitingForBudget() {
+    final StubProvider first = new StubProvider("first", Duration.ZERO, questions(0, 6));
+    final StubProvider second = new StubProvider("second", Duration.ZERO, questions(4, 10));
+    sut = new FanOutQuestionProvider(List.of(first, second), 10, Duration.ofSeconds(10));
+
+    final long start = System.nanoTime();
+    final List<QuestionEntity> questions = sut.getQuestions();
+
+    Assertions.assertThat(Duration.ofNanos(System.nanoTime() - start))
+        .isLessThan(Duration.ofSeconds(5));
+    Assertions.assertThat(questions)
+        .extracting(QuestionEntity::getQuestion)
+        .containsExactlyInAnyOrderElementsOf(texts(0, 10));
+  }
+
+  @Test
+  void givenSlowProvider_whenBudgetPasses_thenServesFastAnswerAndKeepsSlowOneForNextCall()
+      throws InterruptedException {
+    final StubProvider fast = new StubProvider("fast", Duration.ZERO, questions(0, 3));
+    final StubProvider slow = new StubProvider("slow", Duration.ofMillis(300), questions(10, 20));
+    sut = new FanOutQuestionProvider(List.of(fast, slow), 10, Duration.ofMillis(50));
+
+    Assertions.assertThat(sut.getQuestions())
+        .extracting(QuestionEntity::getQuestion)
+        .containsExactlyElementsOf(texts(0, 3));
+    Thread.sleep(500);
+
+    Assertions.assertThat(sut.getQuestions())
+        .extracting(QuestionEntity::getQuestion)
+        .containsExactlyElementsOf(texts(10, 20));
+    // The kept answer filled the batch, so nobody was asked again
+    Assertions.assertThat(fast.calls.get()).isEqualTo(1);
+    Assertions.assertThat(slow.calls.get()).isEqualTo(1);
+  }
+
+  @Test
+  void givenOnlySlowProvider_whenBudgetPasses_thenWaitsForItsAnswer() {
+    final StubProvider slow = new StubProvider("slow", Duration.ofMillis(200), questions(0, 2));
+    sut = new FanOutQuestionProvider(List.of(slow), 10, Duration.ofMillis(20));
+
+    Assertions.assertThat(sut.getQuestions()).hasSize(2);
+  }
+
+  @Test
+  void givenFailingProvider_whenAnotherAnswers_thenServesTheAnswerAndOnlyFailsWhenAllFail() {
+    final StubProvider failing = new StubProvider("failing", Duration.ZERO, null);
+    final StubProvider working = new StubProvider("working", Duration.ZERO, questions(0, 10));
+    sut = new FanOutQuestionProvider(List.of(failing, working), 10, Duration.ofSeconds(1));
+
+    Assertions.assertThat(sut.getQuestions()).hasSize(10);
+
+    sut.close();
+    sut = new FanOutQuestionProvider(List.of(failing), 10, Duration.ofSeconds(1));
+    Assertions.assertThatThrownBy(sut::getQuestions)
+        .isInstanceOf(UpstreamUnavailableException.class)
+        .hasMessage("failing is down");
+  }
+
+  private static List<QuestionEntity> questions(int from, int to) {
+    return texts(from, to).stream()
+        .map(
+            text ->
+                new QuestionEntity(0, "boolean", "easy", "Stub", text, "True", List.of("False")))
+        .toList();
+  }
+
+  private static List<String> texts(int from, int to) {
+    return IntStream.range(from, to).mapToObj(i -> "Question " + i + "?").toList();
+  }
+
+  /** Answers after a fixed latency, or fails when it has no questions. */
+  private static final class StubProvider implements QuestionProvider {
+    private final String name;
+    private final Duration latency;
+    private final List<QuestionEntity> questions;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    StubProvider(String name, Duration latency, List<QuestionEntity> questions) {
+      this.name = name;
+      this.latency = latency;
+      this.questions = questions;
+    }
+
+    @Override
+    public String name() {
+      return name;
+    }
+
+    @Override
+    public List<QuestionEntity> getQuestions() {
+      calls.incrementAndGet();
+      try {
+        Thread.sleep(latency);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (questions == null) {
+        throw new UpstreamUnavailableException(name + " is down");
+      }
+      return questions;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.TriviaBackend.provider;
+
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileQuestionProviderTest {
+  @TempDir private Path dir;
+
+  @Test
+  void givenQuestionBank_whenRequestingQuestions_thenSamplesDistinctUnsavedQuestions()
+      throws IOException {
+    final Path bank = bank(dir.resolve("bank.ndjson"), 25);
+
+    final FileQuestionProvider sut = new FileQuestionProvider(bank, 10, new ObjectMapper());
+
+    Assertions.assertThat(sut.size()).isEqualTo(25);
+    Assertions.assertThat(sut.name()).isEqualTo("file bank.ndjson");
+    Assertions.assertThat(sut.getQuestions())
+        .hasSize(10)
+        .allSatisfy(question -> Assertions.assertThat(question.getId()).isZero())
+        .extracting(QuestionEntity::getQuestion)
+        .doesNotHaveDuplicates()
+        .allMatch(text -> text.matches("Question \\d+\\?"));
+  }
+
+  @Test
+  void givenBankSmallerThanBatch_whenRequestingQuestions_thenReturnsWholeBank()
+      throws IOException {
+    final FileQuestionProvider sut =
+        new FileQuestionProvider(bank(dir.resolve("small.ndjson"), 3), 10, new ObjectMapper());
+
+    Assertions.assertThat(sut.getQuestions()).hasSize(3);
+  }
+
+  static Path bank(Path path, int questions) throws IOException {
+    return Files.writeString(
+        path,
+        IntStream.range(0, questions)
+            .mapToObj(
+                i ->
+                    """
+                    {"type":"boolean","difficulty":"easy","category":"File",\
+                    "question":"Question %d?","correct_answer":"True","incorrect_answers":["False"]}
+                    """
+                        .formatted(i))
+            .collect(Collectors.joining()));
+  }
+}
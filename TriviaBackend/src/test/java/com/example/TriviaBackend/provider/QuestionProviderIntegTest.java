@@ -0,0 +1,56 @@
+package com.example.TriviaBackend.provider;
+
+import com.example.TriviaBackend.TriviaBackendApplication;
+import com.example.TriviaBackend.dto.request.AnswerRequest;
+import com.example.TriviaBackend.dto.request.CheckAnswersRequest;
+import com.example.TriviaBackend.dto.response.AnswerResponse;
+import com.example.TriviaBackend.dto.response.GetQuestionsResponse;
+import com.example.TriviaBackend.service.QuestionService;
+import java.nio.file.Path;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Serves rounds from a local question bank alone, with the Open Trivia API switched off. */
+class QuestionProviderIntegTest {
+  @TempDir private Path dir;
+
+  @Test
+  void givenFileProviderOnly_whenRequestingQuestions_thenServesAndGradesBankQuestions()
+      throws Exception {
+    final Path bank = FileQuestionProviderTest.bank(dir.resolve("bank.ndjson"), 40);
+
+    try (ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(TriviaBackendApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:providers",
+                "--trivia.pool.background-refill=false",
+                "--trivia.providers.open-trivia=false",
+                "--trivia.providers.file=" + bank)) {
+      Assertions.assertThat(context.getBean(FanOutQuestionProvider.class).providers())
+          .extracting(QuestionProvider::name)
+          .containsExactly("file bank.ndjson");
+
+      final QuestionService questionService = context.getBean(QuestionService.class);
+      final GetQuestionsResponse round = questionService.getQuestions();
+
+      Assertions.assertThat(round.questionResponse()).hasSize(10);
+      Assertions.assertThat(
+              questionService
+                  .checkAnswer(
+                      new CheckAnswersRequest(
+                          round.roundToken(),
+                          round.questionResponse().stream()
+                              .map(question -> new AnswerRequest(question.id(), "True"))
+                              .toList(),
+                          null))
+                  .answerResponse())
+          .hasSize(10)
+          .allMatch(AnswerResponse::result);
+    }
+  }
+}
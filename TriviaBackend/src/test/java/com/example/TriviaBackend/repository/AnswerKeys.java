@@ -0,0 +1,17 @@
+package com.example.TriviaBackend.repository;
+
+import com.example.TriviaBackend.entity.QuestionEntity;
+import java.util.List;
+
+/** Answer keys for tests, derived from a question the way saved questions are. */
+public final class AnswerKeys {
+
+  private AnswerKeys() {}
+
+  /** The key of a question with the given correct answer and no incorrect ones. */
+  public static AnswerKey answerKey(long id, String correctAnswer) {
+    return AnswerKey.of(
+        new QuestionEntity(
+            id, "boolean", "easy", "general", "Question " + id, correctAnswer, List.of()));
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.TriviaBackend.round;
+
+import com.example.TriviaBackend.config.RoundProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RoundRegistryTest {
+
+  @Test
+  void givenIssuedRound_whenClaimingTwice_thenReturnsSortedIdsOnlyOnce() {
+    final RoundRegistry sut = registry(Duration.ofMinutes(30), 100);
+
+    final String roundToken = sut.issue(new long[] {42, 7, 19});
+
+    Assertions.assertThat(roundToken).matches("[0-9a-f]{16}");
+    Assertions.assertThat(sut.stats().size()).isEqualTo(1);
+    Assertions.assertThat(sut.claim(roundToken)).containsExactly(7, 19, 42);
+    Assertions.assertThat(sut.claim(roundToken)).isNull();
+    Assertions.assertThat(sut.stats().size()).isZero();
+  }
+
+  @Test
+  void givenMalformedOrUnknownToken_whenClaiming_thenReturnsNull() {
+    final RoundRegistry sut = registry(Duration.ofMinutes(30), 100);
+    sut.issue(new long[] {1});
+
+    Assertions.assertThat(sut.claim(null)).isNull();
+    Assertions.assertThat(sut.claim("abc")).isNull();
+    Assertions.assertThat(sut.claim("not-a-hex-token!")).isNull();
+    Assertions.assertThat(sut.claim("0000000000000000")).isNull();
+    Assertions.assertThat(sut.stats().size()).isEqualTo(1);
+  }
+
+  @Test
+  void givenExpiredRound_whenClaiming_thenReturnsNull() throws InterruptedException {
+    final RoundRegistry sut = registry(Duration.ofMillis(20), 100);
+    final String roundToken = sut.issue(new long[] {1});
+
+    Thread.sleep(50);
+
+    Assertions.assertThat(sut.claim(roundToken)).isNull();
+  }
+
+  @Test
+  void givenIssuedRound_whenCheckingIfOpen_thenOpenUntilClaimedOrExpired()
+      throws InterruptedException {
+    final RoundRegistry sut = registry(Duration.ofMillis(200), 100);
+    final String claimed = sut.issue(new long[] {1});
+    final String expiring = sut.issue(new long[] {2});
+
+    Assertions.assertThat(sut.isOpen(claimed)).isTrue();
+    Assertions.assertThat(sut.isOpen(claimed)).isTrue();
+    sut.claim(claimed);
+    Assertions.assertThat(sut.isOpen(claimed)).isFalse();
+    Assertions.assertThat(sut.isOpen("not-a-hex-token!")).isFalse();
+
+    Thread.sleep(250);
+    Assertions.assertThat(sut.isOpen(expiring)).isFalse();
+  }
+
+  @Test
+  void givenMoreRoundsThanMaximumSize_whenIssuing_thenEvictsOldestAndStaysBounded() {
+    final RoundRegistry sut = registry(Duration.ofMinutes(30), 160);
+    final List<String> roundTokens = new ArrayList<>();
+
+    for (int round = 0; round < 10_000; round++) {
+      roundTokens.add(sut.issue(new long[] {round + 1}));
+    }
+
+    Assertions.assertThat(sut.stats().size()).isLessThanOrEqualTo(160);
+    Assertions.assertThat(sut.stats().evictions()).isEqualTo(10_000 - sut.stats().size());
+    Assertions.assertThat(sut.claim(roundTokens.getFirst())).isNull();
+    Assertions.assertThat(sut.claim(roundTokens.getLast())).containsExactly(10_000);
+  }
+
+  private static RoundRegistry registry(Duration ttl, int maximumSize) {
+    return new RoundRegistry(new RoundProperties(ttl, maximumSize));
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.TriviaBackend.service;
+
+import static com.example.TriviaBackend.repository.AnswerKeys.answerKey;
+
+import com.example.TriviaBackend.cache.AnswerKeyCache;
+import com.example.TriviaBackend.config.AnswerKeyCacheProperties;
+import com.example.TriviaBackend.config.GradingProperties;
+import com.example.TriviaBackend.dto.request.AnswerRequest;
+import com.example.TriviaBackend.dto.response.AnswerResponse;
+import com.example.TriviaBackend.repository.AnswerKey;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class AnswerGraderTest {
+  private static final int BATCH_SIZE = 5000;
+
+  private final QuestionRepository questionRepository = Mockito.mock();
+  private final AnswerKeyCache answerKeyCache =
+      new AnswerKeyCache(new AnswerKeyCacheProperties(10_000, Duration.ofHours(1)));
+  private final Set<String> queryingThreads = ConcurrentHashMap.newKeySet();
+  private AnswerGrader sut;
+
+  @AfterEach
+  void tearDown() {
+    sut.shutdown();
+  }
+
+  @Test
+  void givenBatchAboveThreshold_whenGrading_thenGradesOnPoolAndKeepsRequestOrder() {
+    sut = grader(1000, 4);
+    final List<AnswerRequest> answers = answers();
+
+    final AnswerResponse[] results = sut.grade(answers);
+
+    assertGradedInOrder(answers, results);
+    Assertions.assertThat(queryingThreads)
+        .isNotEmpty()
+        .allMatch(name -> name.startsWith("answer-grader-"));
+  }
+
+  @Test
+  void givenBatchBelowThreshold_whenGrading_thenGradesOnCallingThread() {
+    sut = grader(BATCH_SIZE + 1, 4);
+    final List<AnswerRequest> answers = answers();
+
+    final AnswerResponse[] results = sut.grade(answers);
+
+    assertGradedInOrder(answers, results);
+    Assertions.assertThat(queryingThreads).containsExactly(Thread.currentThread().getName());
+    Mockito.verify(questionRepository).findAnswerKeysByIdIn(Mockito.any());
+  }
+
+  @Test
+  void givenLoadedKeyWithCollidingIncorrectAnswer_whenGrading_thenRequiresExactAnswer() {
+    sut = grader(BATCH_SIZE + 1, 1);
+    Mockito.when(questionRepository.findAnswerKeysByIdIn(Set.of(1L)))
+        .thenReturn(List.of(new AnswerKey(1, "Co", "co", List.of("CO", "Cu"))));
+    final List<AnswerRequest> answers =
+        List.of(new AnswerRequest(1, "CO"), new AnswerRequest(1, "Co"));
+
+    final AnswerResponse[] loaded = sut.grade(answers);
+    final AnswerResponse[] cached = sut.grade(answers);
+
+    Assertions.assertThat(loaded)
+        .containsExactly(new AnswerResponse(1, false), new AnswerResponse(1, true));
+    Assertions.assertThat(cached).containsExactly(loaded);
+    Mockito.verify(questionRepository).findAnswerKeysByIdIn(Set.of(1L));
+  }
+
+  /**
+   * Answers {@code i} to question {@code i + 1}: odd questions are cached, even ones are stored up
+   * to 4000 and unknown above. Every tenth answer is skipped and every third one is wrong.
+   */
+  private List<AnswerRequest> answers() {
+    final List<AnswerRequest> answers = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      if (i % 2 == 0) {
+        answerKeyCache.put(answerKey(i + 1, "true"));
+      }
+      answers.add(i % 10 == 9 ? null : new AnswerRequest(i + 1, i % 3 == 0 ? "False" : "True"));
+    }
+    Mockito.when(questionRepository.findAnswerKeysByIdIn(Mockito.any()))
+        .thenAnswer(
+            invocation -> {
+              queryingThreads.add(Thread.currentThread().getName());
+              final List<AnswerKey> answerKeys = new ArrayList<>();
+              for (long id : invocation.<Collection<Long>>getArgument(0)) {
+                if (id <= 4000) {
+                  answerKeys.add(answerKey(id, "true"));
+                }
+              }
+              return answerKeys;
+            });
+    return answers;
+  }
+
+  private static void assertGradedInOrder(List<AnswerRequest> answers, AnswerResponse[] results) {
+    Assertions.assertThat(results).hasSize(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      final AnswerResponse expected;
+      if (answers.get(i) == null) {
+        expected = null;
+      } else if (i >= 4000 && i % 2 == 1) {
+        expected = AnswerResponse.unknownQuestion(i + 1);
+      } else {
+        expected = new AnswerResponse(i + 1, i % 3 != 0);
+      }
+      Assertions.assertThat(results[i]).as("result %d", i).isEqualTo(expected);
+    }
+  }
+
+  private AnswerGrader grader(int parallelThreshold, int parallelism) {
+    return new AnswerGrader(
+        questionRepository,
+        answerKeyCache,
+        Mockito.mock(QuestionSnapshotStore.class),
+        new GradingProperties(false, BATCH_SIZE, parallelThreshold, parallelism));
+  }
+}
@@ -0,0 +1,138 @@
+package com.example.TriviaBackend.service;
+
+import static com.example.TriviaBackend.repository.AnswerKeys.answerKey;
+
+import com.example.TriviaBackend.cache.AnswerKeyCache;
+import com.example.TriviaBackend.config.AnswerKeyCacheProperties;
+import com.example.TriviaBackend.config.GradingProperties;
+import com.example.TriviaBackend.dto.response.AnswerResponse;
+import com.example.TriviaBackend.dto.response.BulkGradingError;
+import com.example.TriviaBackend.exception.InvalidAnswerBatchException;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class BulkGradingServiceTest {
+  private final QuestionRepository questionRepository = Mockito.mock();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final GradingProperties properties = new GradingProperties(true, 2, 2048, 1);
+  private final BulkGradingService sut =
+      new BulkGradingService(
+          new AnswerGrader(
+              questionRepository,
+              new AnswerKeyCache(new AnswerKeyCacheProperties(1000, Duration.ofHours(1))),
+              Mockito.mock(QuestionSnapshotStore.class),
+              properties),
+          properties,
+          objectMapper);
+
+  @Test
+  void givenAnswerArray_whenGrading_thenWritesResultsInOrderAndLoadsEachChunkSorted()
+      throws IOException {
+    Mockito.when(questionRepository.findAnswerKeysByIdIn(Mockito.any()))
+        .thenReturn(List.of(answerKey(3, "java"), answerKey(1, "true")))
+        .thenReturn(List.of(answerKey(2, "paris")));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    final long graded =
+        sut.gradeAnswers(
+            in(
+                """
+                [{"questionId":3,"answer":"Java"},{"questionId":1,"answer":"False"},
+                 {"questionId":9,"answer":"Rome"},{"questionId":2,"answer":"Paris"},
+                 {"questionId":3,"answer":"Kotlin"}]"""),
+            out);
+
+    Assertions.assertThat(graded).isEqualTo(5);
+    Assertions.assertThat(results(out))
+        .containsExactly(
+            new AnswerResponse(3, true),
+            new AnswerResponse(1, false),
+            AnswerResponse.unknownQuestion(9),
+            new AnswerResponse(2, true),
+            // Cached by the first chunk
+            new AnswerResponse(3, false));
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+    Mockito.verify(questionRepository, Mockito.times(2)).findAnswerKeysByIdIn(ids.capture());
+    Assertions.assertThat(ids.getAllValues())
+        .satisfiesExactly(
+            first -> Assertions.assertThat(first).containsExactly(1L, 3L),
+            second -> Assertions.assertThat(second).containsExactly(2L, 9L));
+  }
+
+  @Test
+  void givenNewlineDelimitedAnswers_whenGrading_thenGradesEachLine() throws IOException {
+    Mockito.when(questionRepository.findAnswerKeysByIdIn(Mockito.any()))
+        .thenReturn(List.of(answerKey(1, "true")));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    sut.gradeAnswers(
+        in(
+            """
+            {"questionId":1,"answer":"True"}
+            {"questionId":1,"answer":"False"}
+            """),
+        out);
+
+    Assertions.assertThat(results(out))
+        .containsExactly(new AnswerResponse(1, true), new AnswerResponse(1, false));
+  }
+
+  @Test
+  void givenMalformedAnswer_whenGrading_thenEndsWrittenChunksWithErrorLine() throws IOException {
+    Mockito.when(questionRepository.findAnswerKeysByIdIn(Mockito.any()))
+        .thenReturn(List.of(answerKey(1, "true"), answerKey(2, "true")));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    final long graded =
+        sut.gradeAnswers(
+            in(
+                """
+                [{"questionId":1,"answer":"True"},{"questionId":2,"answer":"True"},
+                 {"questionId":3,"answer":"True"},"True"]"""),
+            out);
+
+    final List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+    Assertions.assertThat(graded).isEqualTo(2);
+    Assertions.assertThat(lines).hasSize(3);
+    final BulkGradingError error = objectMapper.readValue(lines.getLast(), BulkGradingError.class);
+    Assertions.assertThat(error.graded()).isEqualTo(2);
+    Assertions.assertThat(error.error()).startsWith("Grading stopped after 2 answers");
+  }
+
+  @Test
+  void givenMalformedFirstChunk_whenGrading_thenThrowsWithoutWriting() {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    Assertions.assertThatThrownBy(
+            () -> sut.gradeAnswers(in("[{\"questionId\":1,\"answer\":\"True\"},42]"), out))
+        .isInstanceOf(InvalidAnswerBatchException.class)
+        .hasMessageStartingWith("Grading stopped after 0 answers");
+    Assertions.assertThat(out.size()).isZero();
+  }
+
+  private static ByteArrayInputStream in(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private List<AnswerResponse> results(ByteArrayOutputStream out) throws IOException {
+    final List<AnswerResponse> results = new ArrayList<>();
+    for (String line : out.toString(StandardCharsets.UTF_8).lines().toList()) {
+      results.add(objectMapper.readValue(line, AnswerResponse.class));
+    }
+    return results;
+  }
+}
@@ -0,0 +1,106 @@
+package com.example.TriviaBackend.service;
+
+import com.example.TriviaBackend.config.QuestionSnapshotProperties;
+import com.example.TriviaBackend.dto.response.TriviaResponse;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.exception.InvalidQuestionImportException;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class QuestionBankServiceTest {
+  private final QuestionRepository questionRepository = Mockito.mock();
+  private final QuestionBankService sut =
+      new QuestionBankService(
+          questionRepository,
+          new QuestionSnapshotStore(new QuestionSnapshotProperties(null, Duration.ofMinutes(15))),
+          new ObjectMapper());
+
+  @Test
+  void givenStoredQuestions_whenExporting_thenWritesOneJsonLinePerQuestion() throws Exception {
+    Mockito.when(questionRepository.streamAllForExport())
+        .thenReturn(Stream.of(question(1), question(2)));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    final long exported = sut.exportQuestions(out);
+
+    Assertions.assertThat(exported).isEqualTo(2);
+    Assertions.assertThat(out.toString(StandardCharsets.UTF_8))
+        .isEqualTo(
+            """
+            {"type":"boolean","difficulty":"easy","category":"programming",\
+            "question":"Question 1?","correct_answer":"True","incorrect_answers":["False"]}
+            {"type":"boolean","difficulty":"easy","category":"programming",\
+            "question":"Question 2?","correct_answer":"True","incorrect_answers":["False"]}
+            """);
+  }
+
+  @Test
+  void givenMoreQuestionsThanOneBatch_whenImporting_thenUpsertsInBatches() {
+    final List<Integer> batchSizes = new ArrayList<>();
+    Mockito.when(questionRepository.upsertAll(Mockito.anyList()))
+        .thenAnswer(
+            invocation -> {
+              final List<QuestionEntity> batch = invocation.getArgument(0);
+              batchSizes.add(batch.size());
+              return batch;
+            });
+    final int questions = QuestionBankService.IMPORT_BATCH_SIZE * 2 + 1;
+
+    final long imported = sut.importQuestions(ndjson(questions));
+
+    Assertions.assertThat(imported).isEqualTo(questions);
+    Assertions.assertThat(batchSizes)
+        .containsExactly(
+            QuestionBankService.IMPORT_BATCH_SIZE, QuestionBankService.IMPORT_BATCH_SIZE, 1);
+  }
+
+  @Test
+  void givenMalformedLine_whenImporting_thenRejectsWithProgress() {
+    final ByteArrayInputStream in =
+        new ByteArrayInputStream(
+            """
+            {"type":"boolean","difficulty":"easy","category":"programming",\
+            "question":"Question 1?","correct_answer":"True","incorrect_answers":["False"]}
+            {"type":"boolean",
+            """
+                .getBytes(StandardCharsets.UTF_8));
+
+    Assertions.assertThatThrownBy(() -> sut.importQuestions(in))
+        .isInstanceOf(InvalidQuestionImportException.class)
+        .hasMessageContaining("Import stopped after 0 questions");
+
+    Mockito.verify(questionRepository, Mockito.never()).upsertAll(Mockito.any());
+  }
+
+  private static TriviaResponse.TriviaQuestion question(int number) {
+    return new TriviaResponse.TriviaQuestion(
+        "boolean", "easy", "programming", "Question " + number + "?", "True", List.of("False"));
+  }
+
+  private static ByteArrayInputStream ndjson(int questions) {
+    return new ByteArrayInputStream(
+        IntStream.rangeClosed(1, questions)
+            .mapToObj(
+                i ->
+                    """
+                    {"type":"boolean","difficulty":"easy","category":"programming",\
+                    "question":"Question %d?","correct_answer":"True",\
+                    "incorrect_answers":["False"]}"""
+                        .formatted(i))
+            .collect(Collectors.joining("\n"))
+            .getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,222 @@
+package com.example.TriviaBackend.service;
+
+import com.example.TriviaBackend.cache.AnswerKeyCache;
+import com.example.TriviaBackend.cache.QuestionFragmentCache;
+import com.example.TriviaBackend.client.TriviaClient;
+import com.example.TriviaBackend.config.AnswerKeyCacheProperties;
+import com.example.TriviaBackend.config.AnswerShuffleProperties;
+import com.example.TriviaBackend.config.QuestionFragmentCacheProperties;
+import com.example.TriviaBackend.config.QuestionPoolProperties;
+import com.example.TriviaBackend.config.QuestionWriteBehindProperties;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.exception.UpstreamUnavailableException;
+import com.example.TriviaBackend.persistence.QuestionWriteBehind;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class QuestionPoolTest {
+  private final TriviaClient triviaClient = Mockito.mock();
+  private final QuestionRepository questionRepository = Mockito.mock();
+  private final QuestionSnapshotStore snapshotStore = Mockito.mock();
+  private final AnswerKeyCache answerKeyCache =
+      new AnswerKeyCache(new AnswerKeyCacheProperties(1000, Duration.ofHours(1)));
+  private final QuestionFragmentCache fragmentCache =
+      new QuestionFragmentCache(
+          new ObjectMapper(),
+          new QuestionFragmentCacheProperties(1000),
+          new AnswerShuffleProperties(false, null));
+  private final AtomicLong nextId = new AtomicLong(1);
+
+  private QuestionPool sut;
+
+  @AfterEach
+  void tearDown() {
+    sut.shutdown();
+  }
+
+  @Test
+  void givenFilledPool_whenTakingQuestions_thenServesFromPoolWithoutUpstreamCall() {
+    sut = pool(false);
+    Mockito.when(triviaClient.getQuestions()).thenAnswer(invocation -> questions(12));
+    Mockito.when(questionRepository.upsertAll(Mockito.anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    final List<QuestionEntity> first = sut.take(10);
+    final List<QuestionEntity> second = sut.take(2);
+
+    Assertions.assertThat(first).hasSize(10);
+    Assertions.assertThat(second).hasSize(2).doesNotContainAnyElementsOf(first);
+    Assertions.assertThat(sut.size()).isZero();
+    Assertions.assertThat(fragmentCache.size()).isEqualTo(12);
+    Assertions.assertThat(first)
+        .allSatisfy(
+            question ->
+                Assertions.assertThat(answerKeyCache.check(question.getId(), "True"))
+                    .isEqualTo(AnswerKeyCache.Lookup.CORRECT));
+
+    Mockito.verify(triviaClient).getQuestions();
+    Mockito.verifyNoMoreInteractions(triviaClient);
+  }
+
+  @Test
+  void givenConcurrentRequestsOnColdPool_whenTakingQuestions_thenUpstreamIsCalledOnce() {
+    sut = pool(false);
+    Mockito.when(triviaClient.getQuestions())
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(200);
+              return questions(10);
+            });
+    Mockito.when(questionRepository.upsertAll(Mockito.anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    final CyclicBarrier start = new CyclicBarrier(5);
+    final List<CompletableFuture<List<QuestionEntity>>> requests =
+        IntStream.range(0, 5)
+            .mapToObj(
+                i ->
+                    CompletableFuture.supplyAsync(
+                        () -> {
+                          try {
+                            start.await();
+                          } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                          }
+                          return sut.take(2);
+                        }))
+            .toList();
+
+    Assertions.assertThat(requests)
+        .allSatisfy(request -> Assertions.assertThat(request.join()).hasSize(2));
+    Assertions.assertThat(requests.stream().flatMap(request -> request.join().stream()))
+        .doesNotHaveDuplicates();
+
+    Mockito.verify(triviaClient, Mockito.times(1)).getQuestions();
+  }
+
+  @Test
+  void givenBackgroundRefill_whenPoolBelowLowWatermark_thenRefillsToHighWatermark()
+      throws InterruptedException {
+    sut = pool(true);
+    Mockito.when(triviaClient.getQuestions()).thenAnswer(invocation -> questions(10));
+    Mockito.when(questionRepository.upsertAll(Mockito.anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    sut.warmUp();
+
+    final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (sut.size() < 20 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    Assertions.assertThat(sut.size()).isEqualTo(20);
+    Mockito.verify(triviaClient, Mockito.times(2)).getQuestions();
+  }
+
+  @Test
+  void givenUpstreamFails_whenTakingFromColdPool_thenRethrowsUpstreamError() {
+    sut = pool(false);
+    Mockito.when(triviaClient.getQuestions()).thenThrow(new RuntimeException("Rate limit reached"));
+
+    Assertions.assertThatThrownBy(() -> sut.take(10))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("Rate limit reached");
+
+    Mockito.verify(questionRepository, Mockito.never()).upsertAll(Mockito.any());
+  }
+
+  @Test
+  void givenSnapshot_whenTakingFromColdPool_thenServesSnapshotQuestionsWithoutUpstreamCall() {
+    sut = pool(false);
+    final List<QuestionEntity> snapshotQuestions = questions(10);
+    Mockito.when(snapshotStore.randomQuestions(10)).thenReturn(snapshotQuestions);
+
+    Assertions.assertThat(sut.take(10)).isEqualTo(snapshotQuestions);
+    Assertions.assertThat(answerKeyCache.check(snapshotQuestions.getFirst().getId(), "True"))
+        .isEqualTo(AnswerKeyCache.Lookup.CORRECT);
+
+    Mockito.verifyNoInteractions(triviaClient);
+    Mockito.verifyNoInteractions(questionRepository);
+  }
+
+  @Test
+  void givenFetchedQuestionInSnapshot_whenRefilling_thenKeepsSnapshotQuestionAndSavesTheRest() {
+    sut = pool(false);
+    final QuestionEntity known = question(1, "Is Java a programming language?");
+    final QuestionEntity fresh = question(2, "Is Kotlin a programming language?");
+    final QuestionEntity snapshotted = question(500, "Is Java a programming language?");
+    Mockito.when(triviaClient.getQuestions()).thenReturn(List.of(known, fresh));
+    Mockito.when(snapshotStore.findByContentHash(known.getContentHash()))
+        .thenReturn(Optional.of(snapshotted));
+    Mockito.when(questionRepository.upsertAll(List.of(fresh))).thenReturn(List.of(fresh));
+
+    Assertions.assertThat(sut.take(2)).containsExactly(snapshotted, fresh);
+
+    Mockito.verify(questionRepository).upsertAll(List.of(fresh));
+  }
+
+  @Test
+  void givenFailingRefill_whenTakingMoreThanPooled_thenPutsTakenQuestionsBack() {
+    sut = pool(false);
+    Mockito.when(triviaClient.getQuestions())
+        .thenAnswer(invocation -> questions(3))
+        .thenThrow(new UpstreamUnavailableException("Open Trivia API request failed"));
+    Mockito.when(questionRepository.upsertAll(Mockito.anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    sut.take(1);
+
+    Assertions.assertThatThrownBy(() -> sut.take(10))
+        .isInstanceOf(UpstreamUnavailableException.class);
+
+    Assertions.assertThat(sut.size()).isEqualTo(2);
+    Assertions.assertThat(sut.take(2)).hasSize(2);
+  }
+
+  private QuestionPool pool(boolean backgroundRefill) {
+    return new QuestionPool(
+        triviaClient,
+        new QuestionWriteBehind(
+            new QuestionWriteBehindProperties(false, 1, 1, Duration.ZERO),
+            questionRepository,
+            null,
+            null,
+            null,
+            null),
+        answerKeyCache,
+        fragmentCache,
+        snapshotStore,
+        new QuestionPoolProperties(5, 20, Duration.ZERO, backgroundRefill));
+  }
+
+  private static QuestionEntity question(long id, String text) {
+    return new QuestionEntity(
+        id, "boolean", "easy", "programming", text, "True", List.of("False"));
+  }
+
+  private List<QuestionEntity> questions(int amount) {
+    return IntStream.range(0, amount)
+        .mapToObj(
+            i ->
+                new QuestionEntity(
+                    nextId.getAndIncrement(),
+                    "boolean",
+                    "easy",
+                    "programming",
+                    "Is Java a programming language?",
+                    "True",
+                    List.of("False")))
+        .toList();
+  }
+}
@@ -1,15 +1,46 @@
 package com.example.TriviaBackend.service;
 
+import static com.example.TriviaBackend.repository.AnswerKeys.answerKey;
+
+import com.example.TriviaBackend.cache.AnswerKeyCache;
+import com.example.TriviaBackend.cache.QuestionBucketIndex;
+import com.example.TriviaBackend.cache.QuestionFragmentCache;
 import com.example.TriviaBackend.client.TriviaClient;
+import com.example.TriviaBackend.config.AnswerKeyCacheProperties;
+import com.example.TriviaBackend.config.AnswerShuffleProperties;
+import com.example.TriviaBackend.config.GradingProperties;
+import com.example.TriviaBackend.config.QuestionFragmentCacheProperties;
+import com.example.TriviaBackend.config.QuestionPoolProperties;
+import com.example.TriviaBackend.config.QuestionWriteBehindProperties;
+import com.example.TriviaBackend.config.RoundProperties;
 import com.example.TriviaBackend.dto.request.AnswerRequest;
 import com.example.TriviaBackend.dto.request.CheckAnswersRequest;
+import com.example.TriviaBackend.dto.request.QuestionFilter;
 import com.example.TriviaBackend.dto.response.AnswerResponse;
+import com.example.TriviaBackend.dto.response.CheckAnswersResponse;
+import com.example.TriviaBackend.dto.response.GetQuestionsResponse;
+import com.example.TriviaBackend.dto.response.LeaderboardEntry;
 import com.example.TriviaBackend.dto.response.QuestionResponse;
 import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.exception.InvalidPlayerException;
+import com.example.TriviaBackend.exception.InvalidQuestionFilterException;
+import com.example.TriviaBackend.exception.InvalidRoundException;
 import com.example.TriviaBackend.exception.RateLimitExceededException;
+import com.example.TriviaBackend.exception.UpstreamUnavailableException;
+import com.example.TriviaBackend.leaderboard.Leaderboard;
+import com.example.TriviaBackend.metrics.TriviaMetrics;
+import com.example.TriviaBackend.persistence.QuestionWriteBehind;
+import com.example.TriviaBackend.repository.AnswerKey;
 import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.round.RoundRegistry;
+import com.example.TriviaBackend.snapshot.QuestionSnapshotStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -18,8 +49,54 @@ import org.mockito.Mockito;
 class QuestionServiceTest {
   private final TriviaClient triviaClient = Mockito.mock();
   private final QuestionRepository questionRepository = Mockito.mock();
+  private final QuestionSnapshotStore snapshotStore = Mockito.mock();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final QuestionFragmentCache fragmentCache =
+      new QuestionFragmentCache(
+          objectMapper,
+          new QuestionFragmentCacheProperties(1000),
+          new AnswerShuffleProperties(false, null));
+
+  private final AnswerKeyCache answerKeyCache =
+      new AnswerKeyCache(new AnswerKeyCacheProperties(1000, Duration.ofHours(1)));
+  private final QuestionPool questionPool =
+      new QuestionPool(
+          triviaClient,
+          new QuestionWriteBehind(
+              new QuestionWriteBehindProperties(false, 1, 1, Duration.ZERO),
+              questionRepository,
+              null,
+              null,
+              null,
+              null),
+          answerKeyCache,
+          fragmentCache,
+          snapshotStore,
+          new QuestionPoolProperties(20, 100, Duration.ZERO, false));
+  private final QuestionBucketIndex questionBucketIndex =
+      new QuestionBucketIndex(questionRepository, snapshotStore);
+
+  private final RoundRegistry roundRegistry =
+      new RoundRegistry(new RoundProperties(Duration.ofMinutes(30), 1000));
+
+  private final Leaderboard leaderboard = new Leaderboard();
 
-  private final QuestionService sut = new QuestionService(questionRepository, triviaClient);
+  private final QuestionService sut =
+      new QuestionService(
+          questionRepository,
+          questionPool,
+          new AnswerGrader(
+              questionRepository,
+              answerKeyCache,
+              snapshotStore,
+              new GradingProperties(false, 4096, 2048, 1)),
+          questionBucketIndex,
+          snapshotStore,
+          fragmentCache,
+          roundRegistry,
+          leaderboard,
+          new TriviaMetrics(meterRegistry));
 
   @Nested
   class GetQuestions {
@@ -46,12 +123,11 @@ class QuestionServiceTest {
                   List.of("Open up IntelliJ", "Read the docu", "Phone a Friend")));
 
       Mockito.when(triviaClient.getQuestions()).thenReturn(questions);
-      Mockito.when(questionRepository.saveAll(Mockito.any())).thenReturn(questions);
+      Mockito.when(questionRepository.upsertAll(Mockito.any())).thenReturn(questions);
 
       final var result = sut.getQuestions();
 
-      Assertions.assertThat(result.questionResponse())
-          .isNotNull()
+      Assertions.assertThat(questionResponses(result))
           .satisfiesExactly(
               question ->
                   Assertions.assertThat(question)
@@ -73,7 +149,7 @@ class QuestionServiceTest {
                                   "Print 'Hello World!'"))));
 
       Mockito.verify(triviaClient).getQuestions();
-      Mockito.verify(questionRepository).saveAll(questions);
+      Mockito.verify(questionRepository).upsertAll(questions);
       Mockito.verifyNoMoreInteractions(triviaClient);
       Mockito.verifyNoMoreInteractions(questionRepository);
     }
@@ -81,30 +157,121 @@ class QuestionServiceTest {
     @Test
     void givenNoQuestions_whenRequestingQuestions_thenReturnEmptyResult() {
       Mockito.when(triviaClient.getQuestions()).thenReturn(List.of());
-      Mockito.when(questionRepository.saveAll(Mockito.any())).thenReturn(null);
 
       final var result = sut.getQuestions();
 
       Assertions.assertThat(result.questionResponse()).isEmpty();
 
       Mockito.verify(triviaClient).getQuestions();
-      Mockito.verify(questionRepository).saveAll(Mockito.any());
+      Mockito.verify(questionRepository, Mockito.never()).upsertAll(Mockito.any());
       Mockito.verifyNoMoreInteractions(triviaClient);
       Mockito.verifyNoMoreInteractions(questionRepository);
     }
 
     @Test
     void givenRateLimitReached_whenRequestingQuestions_thenReturnError() {
-      Mockito.when(triviaClient.getQuestions()).thenThrow(new RuntimeException());
+      Mockito.when(triviaClient.getQuestions())
+          .thenThrow(new RateLimitExceededException(Duration.ofSeconds(5)));
 
       Assertions.assertThatThrownBy(sut::getQuestions)
           .isInstanceOf(RateLimitExceededException.class)
           .hasMessageContaining("Please wait 5 seconds before retrying");
 
-      Mockito.verify(questionRepository, Mockito.never()).saveAll(Mockito.any());
+      Assertions.assertThat(meterRegistry.get("trivia.rate.limit.exceeded").counter().count())
+          .isEqualTo(1);
+      Mockito.verify(questionRepository, Mockito.never()).upsertAll(Mockito.any());
       Mockito.verify(triviaClient).getQuestions();
       Mockito.verifyNoMoreInteractions(triviaClient);
     }
+
+    @Test
+    void givenUpstreamUnavailable_whenRequestingQuestions_thenServesStoredQuestions() {
+      final QuestionEntity stored =
+          new QuestionEntity(
+              7, "boolean", "easy", "programming", "Is Java a language?", "True", List.of("False"));
+      questionBucketIndex.add(7, "programming", "easy", "boolean");
+      Mockito.when(questionRepository.findAllById(List.of(7L))).thenReturn(List.of(stored));
+      Mockito.when(triviaClient.getQuestions())
+          .thenThrow(new UpstreamUnavailableException("Open Trivia API request failed"));
+
+      final var result = sut.getQuestions();
+
+      Assertions.assertThat(questionResponses(result))
+          .containsExactly(
+              new QuestionResponse(7, "Is Java a language?", List.of("False", "True")));
+      Assertions.assertThat(result.roundToken()).isNotNull();
+      Assertions.assertThat(meterRegistry.get("trivia.questions.stale.served").counter().count())
+          .isEqualTo(1);
+      Mockito.verify(questionRepository, Mockito.never()).upsertAll(Mockito.any());
+    }
+
+    @Test
+    void givenShortRefill_whenRequestingQuestions_thenTopsUpWithOtherStoredQuestions() {
+      final QuestionEntity fetched =
+          new QuestionEntity(
+              1, "boolean", "easy", "programming", "Is Java a language?", "True", List.of("False"));
+      final QuestionEntity stored =
+          new QuestionEntity(
+              7, "boolean", "easy", "programming", "Is Go a language?", "True", List.of("False"));
+      questionBucketIndex.add(1, "programming", "easy", "boolean");
+      questionBucketIndex.add(7, "programming", "easy", "boolean");
+      Mockito.when(triviaClient.getQuestions()).thenReturn(List.of(fetched));
+      Mockito.when(questionRepository.upsertAll(List.of(fetched))).thenReturn(List.of(fetched));
+      Mockito.when(questionRepository.findAllById(Mockito.anyList()))
+          .thenReturn(List.of(stored, fetched));
+
+      final var result = sut.getQuestions();
+
+      Assertions.assertThat(questionResponses(result))
+          .extracting(QuestionResponse::id)
+          .containsExactly(1L, 7L);
+      Assertions.assertThat(meterRegistry.get("trivia.questions.stale.served").counter().count())
+          .isEqualTo(1);
+    }
+
+    @Test
+    void givenUnexpectedFailure_whenRequestingQuestions_thenItIsNotReportedAsRateLimit() {
+      Mockito.when(triviaClient.getQuestions()).thenThrow(new IllegalStateException("boom"));
+
+      Assertions.assertThatThrownBy(sut::getQuestions)
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("boom");
+
+      Assertions.assertThat(meterRegistry.get("trivia.rate.limit.exceeded").counter().count())
+          .isZero();
+    }
+  }
+
+  @Nested
+  class GetFilteredQuestions {
+
+    @Test
+    void givenIndexedQuestions_whenFilteringByCategory_thenLoadsOnlyMatchingIdsByPrimaryKey() {
+      final QuestionEntity java =
+          new QuestionEntity(
+              1, "boolean", "easy", "programming", "Is Java a language?", "True", List.of("False"));
+      questionBucketIndex.add(1, "programming", "easy", "boolean");
+      questionBucketIndex.add(2, "history", "easy", "boolean");
+      Mockito.when(questionRepository.findAllById(List.of(1L))).thenReturn(List.of(java));
+
+      final var result = sut.getQuestions(new QuestionFilter("programming", null, null, null));
+
+      Assertions.assertThat(questionResponses(result))
+          .containsExactly(
+              new QuestionResponse(1, "Is Java a language?", List.of("False", "True")));
+      Mockito.verify(questionRepository).findAllById(List.of(1L));
+      Mockito.verifyNoInteractions(triviaClient);
+    }
+
+    @Test
+    void givenAmountAboveLimit_whenFiltering_thenRejectsRequest() {
+      Assertions.assertThatThrownBy(
+              () -> sut.getQuestions(new QuestionFilter(null, "easy", null, 51)))
+          .isInstanceOf(InvalidQuestionFilterException.class)
+          .hasMessageContaining("between 1 and 50");
+
+      Mockito.verifyNoInteractions(questionRepository);
+    }
   }
 
   @Nested
@@ -132,10 +299,17 @@ class QuestionServiceTest {
                   List.of("Open up IntelliJ", "Read the docu", "Phone a Friend")));
       final CheckAnswersRequest checkAnswersRequest =
           new CheckAnswersRequest(
-              List.of(new AnswerRequest(1, "Java"), new AnswerRequest(2, "Open up IntelliJ")));
+              round(1, 2),
+              List.of(new AnswerRequest(1, "Java"), new AnswerRequest(2, "Open up IntelliJ")),
+              null);
 
-      Mockito.when(questionRepository.findById(1L)).thenReturn(Optional.of(questions.getFirst()));
-      Mockito.when(questionRepository.findById(2L)).thenReturn(Optional.of(questions.get(1)));
+      Mockito.when(questionRepository.findAnswerKeysByIdIn(Set.of(1L, 2L)))
+          .thenReturn(
+              questions.stream()
+                  .map(
+                      question ->
+                          AnswerKey.of(question))
+                  .toList());
 
       final var result = sut.checkAnswer(checkAnswersRequest);
 
@@ -145,29 +319,259 @@ class QuestionServiceTest {
               answer -> Assertions.assertThat(answer).isEqualTo(new AnswerResponse(1, true)),
               answer -> Assertions.assertThat(answer).isEqualTo(new AnswerResponse(2, false)));
 
-      Mockito.verify(questionRepository, Mockito.times(2)).findById(Mockito.any());
+      Mockito.verify(questionRepository).findAnswerKeysByIdIn(Set.of(1L, 2L));
       Mockito.verifyNoMoreInteractions(questionRepository);
     }
 
     @Test
-    void givenTwoAnswers_whenCannotFindQuestions_thenReturnEmtpyResult() {
+    void givenTwoAnswers_whenCannotFindQuestions_thenReturnsUnknownQuestionResults() {
       final CheckAnswersRequest checkAnswersRequest =
           new CheckAnswersRequest(
-              List.of(new AnswerRequest(1, "Java"), new AnswerRequest(2, "Open up IntelliJ")));
+              round(1, 2),
+              List.of(new AnswerRequest(1, "Java"), new AnswerRequest(2, "Open up IntelliJ")),
+              null);
 
-      Mockito.when(questionRepository.findById(1L)).thenReturn(Optional.empty());
-      Mockito.when(questionRepository.findById(2L)).thenReturn(Optional.empty());
+      Mockito.when(questionRepository.findAnswerKeysByIdIn(Set.of(1L, 2L))).thenReturn(List.of());
 
       final var result = sut.checkAnswer(checkAnswersRequest);
 
       Assertions.assertThat(result.answerResponse())
           .isNotNull()
-          .satisfiesExactly(
-              answer -> Assertions.assertThat(answer).isNull(),
-              answer -> Assertions.assertThat(answer).isNull());
+          .containsExactly(
+              AnswerResponse.unknownQuestion(1), AnswerResponse.unknownQuestion(2));
 
-      Mockito.verify(questionRepository, Mockito.times(2)).findById(Mockito.any());
+      Mockito.verify(questionRepository).findAnswerKeysByIdIn(Set.of(1L, 2L));
       Mockito.verifyNoMoreInteractions(questionRepository);
     }
+
+    @Test
+    void givenNoAnswers_whenCheckingAnswers_thenDoesNotQueryDatabase() {
+      final var result = sut.checkAnswer(new CheckAnswersRequest(round(), List.of(), null));
+
+      Assertions.assertThat(result.answerResponse()).isEmpty();
+
+      Mockito.verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    void givenCachedAnswerKeys_whenCheckingAnswers_thenDoesNotQueryDatabase() {
+      answerKeyCache.put(answerKey(1, "java"));
+      answerKeyCache.put(answerKey(2, "print 'hello world!'"));
+      final CheckAnswersRequest checkAnswersRequest =
+          new CheckAnswersRequest(
+              round(1, 2),
+              List.of(new AnswerRequest(1, "Java"), new AnswerRequest(2, "Open up IntelliJ")),
+              null);
+
+      final var result = sut.checkAnswer(checkAnswersRequest);
+
+      Assertions.assertThat(result.answerResponse())
+          .containsExactly(new AnswerResponse(1, true), new AnswerResponse(2, false));
+      Assertions.assertThat(answerKeyCache.stats().hits()).isEqualTo(2);
+
+      Mockito.verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    void givenPartiallyCachedAnswerKeys_whenCheckingAnswers_thenQueriesOnlyMisses() {
+      answerKeyCache.put(answerKey(1, "java"));
+      final CheckAnswersRequest checkAnswersRequest =
+          new CheckAnswersRequest(
+              round(1, 2),
+              List.of(new AnswerRequest(1, "Java"), new AnswerRequest(2, "Print 'Hello World!'")),
+              null);
+
+      Mockito.when(questionRepository.findAnswerKeysByIdIn(Set.of(2L)))
+          .thenReturn(List.of(answerKey(2, "print 'hello world!'")));
+
+      final var result = sut.checkAnswer(checkAnswersRequest);
+
+      Assertions.assertThat(result.answerResponse())
+          .containsExactly(new AnswerResponse(1, true), new AnswerResponse(2, true));
+      Assertions.assertThat(answerKeyCache.check(2, "Print 'Hello World!'"))
+          .isEqualTo(AnswerKeyCache.Lookup.CORRECT);
+
+      Mockito.verify(questionRepository).findAnswerKeysByIdIn(Set.of(2L));
+      Mockito.verifyNoMoreInteractions(questionRepository);
+    }
+
+    @Test
+    void givenSnapshotQuestions_whenCheckingAnswers_thenQueriesOnlyQuestionsOutsideSnapshot() {
+      Mockito.when(snapshotStore.findAnswerKey(1L))
+          .thenReturn(Optional.of(answerKey(1, "java")));
+      Mockito.when(questionRepository.findAnswerKeysByIdIn(Set.of(2L)))
+          .thenReturn(List.of(answerKey(2, "print 'hello world!'")));
+      final CheckAnswersRequest checkAnswersRequest =
+          new CheckAnswersRequest(
+              round(1, 2),
+              List.of(new AnswerRequest(1, "Java"), new AnswerRequest(2, "Open up IntelliJ")),
+              null);
+
+      final var result = sut.checkAnswer(checkAnswersRequest);
+
+      Assertions.assertThat(result.answerResponse())
+          .containsExactly(new AnswerResponse(1, true), new AnswerResponse(2, false));
+      Assertions.assertThat(answerKeyCache.check(1, "Java"))
+          .isEqualTo(AnswerKeyCache.Lookup.CORRECT);
+
+      Mockito.verify(questionRepository).findAnswerKeysByIdIn(Set.of(2L));
+      Mockito.verifyNoMoreInteractions(questionRepository);
+    }
+
+    @Test
+    void givenServedRound_whenGradedTwice_thenRejectsReplay() {
+      final List<QuestionEntity> questions =
+          List.of(
+              new QuestionEntity(
+                  1,
+                  "multiple",
+                  "hard",
+                  "programming",
+                  "what is the best programming language?",
+                  "Java",
+                  List.of("C#", "Python", "Scala")));
+      Mockito.when(triviaClient.getQuestions()).thenReturn(questions);
+      Mockito.when(questionRepository.upsertAll(Mockito.any())).thenReturn(questions);
+      final String roundToken = sut.getQuestions().roundToken();
+      final CheckAnswersRequest checkAnswersRequest =
+          new CheckAnswersRequest(roundToken, List.of(new AnswerRequest(1, "Java")), null);
+
+      final var result = sut.checkAnswer(checkAnswersRequest);
+
+      Assertions.assertThat(roundToken).matches("[0-9a-f]{16}");
+      Assertions.assertThat(result)
+          .isEqualTo(new CheckAnswersResponse(List.of(new AnswerResponse(1, true)), 1));
+      Assertions.assertThatThrownBy(() -> sut.checkAnswer(checkAnswersRequest))
+          .isInstanceOf(InvalidRoundException.class);
+    }
+
+    @Test
+    void givenAnswersOutsideRound_whenCheckingAnswers_thenGradesOnlyServedQuestionsOnce() {
+      answerKeyCache.put(answerKey(1, "java"));
+      final CheckAnswersRequest checkAnswersRequest =
+          new CheckAnswersRequest(
+              round(1),
+              List.of(
+                  new AnswerRequest(1, "Java"),
+                  new AnswerRequest(2, "Print 'Hello World!'"),
+                  new AnswerRequest(1, "Java")),
+              null);
+
+      final var result = sut.checkAnswer(checkAnswersRequest);
+
+      Assertions.assertThat(result.answerResponse())
+          .containsExactly(
+              new AnswerResponse(1, true),
+              AnswerResponse.notInRound(2),
+              AnswerResponse.notInRound(1));
+      Assertions.assertThat(result.score()).isEqualTo(1);
+      Mockito.verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    void givenMissingOrUnknownRound_whenCheckingAnswers_thenRejectsRequest() {
+      final List<AnswerRequest> answers = List.of(new AnswerRequest(1, "Java"));
+
+      Assertions.assertThatThrownBy(
+              () -> sut.checkAnswer(new CheckAnswersRequest(null, answers, null)))
+          .isInstanceOf(InvalidRoundException.class)
+          .hasMessageContaining("round");
+      Assertions.assertThatThrownBy(
+              () -> sut.checkAnswer(new CheckAnswersRequest("0123456789abcdef", answers, null)))
+          .isInstanceOf(InvalidRoundException.class);
+      Mockito.verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    void givenPlayer_whenCheckingAnswers_thenAddsRoundScoreToLeaderboard() {
+      answerKeyCache.put(answerKey(1, "java"));
+      answerKeyCache.put(answerKey(2, "print 'hello world!'"));
+
+      sut.checkAnswer(
+          new CheckAnswersRequest(round(1, 2), List.of(new AnswerRequest(1, "Java")), "ada"));
+      sut.checkAnswer(
+          new CheckAnswersRequest(
+              round(1, 2),
+              List.of(new AnswerRequest(1, "Java"), new AnswerRequest(2, "Print 'Hello World!'")),
+              "ada"));
+
+      Assertions.assertThat(leaderboard.standing("ada"))
+          .contains(new LeaderboardEntry(1, "ada", 3));
+    }
+
+    @Test
+    void givenInvalidPlayer_whenCheckingAnswers_thenRejectsRequestAndKeepsRound() {
+      answerKeyCache.put(answerKey(1, "java"));
+      final String roundToken = round(1);
+      final List<AnswerRequest> answers = List.of(new AnswerRequest(1, "Java"));
+
+      Assertions.assertThatThrownBy(
+              () -> sut.checkAnswer(new CheckAnswersRequest(roundToken, answers, " ")))
+          .isInstanceOf(InvalidPlayerException.class);
+      Assertions.assertThat(
+              sut.checkAnswer(new CheckAnswersRequest(roundToken, answers, "ada")).score())
+          .isEqualTo(1);
+    }
+
+    @Test
+    void givenShuffledAnswerOptions_whenAnsweringEachServedOption_thenOnlyCorrectAnswerIsRight()
+        throws JsonProcessingException {
+      final QuestionEntity question =
+          new QuestionEntity(
+              1,
+              "multiple",
+              "hard",
+              "programming",
+              "what is the best programming language?",
+              "Java",
+              List.of("C#", "Python", "Scala"));
+      final QuestionFragmentCache shuffledFragments =
+          new QuestionFragmentCache(
+              objectMapper,
+              new QuestionFragmentCacheProperties(1000),
+              new AnswerShuffleProperties(true, 3L));
+      answerKeyCache.put(answerKey(1, "java"));
+      final List<String> answerOptions =
+          objectMapper
+              .readValue(shuffledFragments.get(question).json(), QuestionResponse.class)
+              .answerOptions();
+
+      // One round per option, since a round grades each question only once
+      final List<Boolean> results =
+          answerOptions.stream()
+              .map(
+                  option ->
+                      sut.checkAnswer(
+                              new CheckAnswersRequest(
+                                  round(1), List.of(new AnswerRequest(1, option)), null))
+                          .answerResponse()
+                          .getFirst()
+                          .result())
+              .toList();
+
+      Assertions.assertThat(answerOptions)
+          .containsExactlyInAnyOrder("C#", "Python", "Scala", "Java");
+      Assertions.assertThat(results)
+          .containsExactlyElementsOf(
+              answerOptions.stream().map(option -> option.equals("Java")).toList());
+      Mockito.verifyNoInteractions(questionRepository);
+    }
+  }
+
+  private String round(long... questionIds) {
+    return roundRegistry.issue(questionIds);
+  }
+
+  private List<QuestionResponse> questionResponses(GetQuestionsResponse response) {
+    return response.questionResponse().stream()
+        .map(
+            question -> {
+              try {
+                return objectMapper.readValue(question.json(), QuestionResponse.class);
+              } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+              }
+            })
+        .toList();
   }
 }
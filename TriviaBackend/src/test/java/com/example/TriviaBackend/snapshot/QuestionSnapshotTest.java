@@ -0,0 +1,106 @@
+package com.example.TriviaBackend.snapshot;
+
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.repository.StoredQuestion;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class QuestionSnapshotTest {
+  @TempDir private Path dir;
+
+  @Test
+  void givenWrittenSnapshot_whenOpening_thenServesEveryQuestionByRecordIdAndContentHash()
+      throws IOException {
+    final List<StoredQuestion> questions =
+        List.of(
+            stored(42, "History", "easy", "Wer war Kaiser? Ää ß ✓", null),
+            stored(7, "History", "easy", "Which year?", List.of("1066", "1215", "1492")),
+            stored(19, "Science", "hard", "What is H₂O?", List.of()));
+    final Path path = dir.resolve("questions.snapshot");
+
+    Assertions.assertThat(QuestionSnapshot.write(path, questions.iterator())).isEqualTo(3);
+    final QuestionSnapshot sut = QuestionSnapshot.open(path);
+
+    Assertions.assertThat(sut.size()).isEqualTo(3);
+    Assertions.assertThat(sut.maxId()).isEqualTo(42);
+    Assertions.assertThat(sut.buckets())
+        .containsExactly(
+            new QuestionSnapshot.Bucket("History", "easy", "multiple", 0, 2),
+            new QuestionSnapshot.Bucket("Science", "hard", "multiple", 2, 1));
+    Assertions.assertThat(sut.questions()).containsExactlyElementsOf(questions);
+    for (int record = 0; record < questions.size(); record++) {
+      final StoredQuestion question = questions.get(record);
+      Assertions.assertThat(sut.recordOf(question.id())).isEqualTo(record);
+      Assertions.assertThat(sut.recordOfContentHash(question.contentHash())).isEqualTo(record);
+      Assertions.assertThat(sut.id(record)).isEqualTo(question.id());
+      Assertions.assertThat(sut.correctAnswer(record)).isEqualTo(question.correctAnswer());
+    }
+    Assertions.assertThat(sut.recordOf(8)).isEqualTo(-1);
+    Assertions.assertThat(sut.recordOfContentHash("0".repeat(64))).isEqualTo(-1);
+  }
+
+  @Test
+  void givenManyQuestions_whenLookingUp_thenBinarySearchFindsEachOne() throws IOException {
+    final Path path = dir.resolve("questions.snapshot");
+    final List<StoredQuestion> questions =
+        IntStream.range(0, 5000)
+            .mapToObj(i -> stored(5000 - i, "Category " + i / 100, "easy", "Question " + i, null))
+            .toList();
+    QuestionSnapshot.write(path, questions.iterator());
+
+    final QuestionSnapshot sut = QuestionSnapshot.open(path);
+
+    Assertions.assertThat(sut.buckets()).hasSize(50);
+    Assertions.assertThat(questions)
+        .allSatisfy(
+            question -> {
+              final int record = sut.recordOf(question.id());
+              Assertions.assertThat(sut.recordOfContentHash(question.contentHash()))
+                  .isEqualTo(record);
+              Assertions.assertThat(sut.question(record)).isEqualTo(question);
+            });
+  }
+
+  @Test
+  void givenOpenSnapshot_whenRewriting_thenReplacesFileWhileOldMappingStaysReadable()
+      throws IOException {
+    final Path path = dir.resolve("questions.snapshot");
+    QuestionSnapshot.write(path, List.of(stored(1, "History", "easy", "Old?", null)).iterator());
+    final QuestionSnapshot old = QuestionSnapshot.open(path);
+
+    QuestionSnapshot.write(path, List.of(stored(2, "History", "easy", "New?", null)).iterator());
+
+    Assertions.assertThat(old.question(0).question()).isEqualTo("Old?");
+    Assertions.assertThat(QuestionSnapshot.open(path).question(0).question()).isEqualTo("New?");
+    Assertions.assertThat(dir).isDirectoryNotContaining("glob:**.tmp");
+  }
+
+  @Test
+  void givenOtherFile_whenOpening_thenRejectsIt() throws IOException {
+    final Path path = Files.writeString(dir.resolve("questions.ndjson"), "{\"type\":\"boolean\"}");
+
+    Assertions.assertThatThrownBy(() -> QuestionSnapshot.open(path))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("Not a version 1 question snapshot");
+  }
+
+  private static StoredQuestion stored(
+      long id, String category, String difficulty, String question, List<String> incorrect) {
+    final List<String> incorrectAnswers = incorrect == null ? List.of("False", "Maybe") : incorrect;
+    return new StoredQuestion(
+        id,
+        QuestionEntity.contentHash(question, "True", incorrectAnswers),
+        "multiple",
+        difficulty,
+        category,
+        question,
+        "True",
+        incorrectAnswers);
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.TriviaBackend.snapshot;
+
+import com.example.TriviaBackend.TriviaBackendApplication;
+import com.example.TriviaBackend.dto.request.AnswerRequest;
+import com.example.TriviaBackend.dto.request.CheckAnswersRequest;
+import com.example.TriviaBackend.dto.request.QuestionFilter;
+import com.example.TriviaBackend.dto.response.AnswerResponse;
+import com.example.TriviaBackend.dto.response.GetQuestionsResponse;
+import com.example.TriviaBackend.dto.response.SerializedQuestion;
+import com.example.TriviaBackend.entity.QuestionEntity;
+import com.example.TriviaBackend.repository.QuestionRepository;
+import com.example.TriviaBackend.service.QuestionBankService;
+import com.example.TriviaBackend.service.QuestionService;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Writes a snapshot from one instance and starts a second, empty instance from it. */
+class QuestionSnapshotWriterIntegTest {
+  @TempDir private Path dir;
+
+  @Test
+  void givenSnapshotOfPreviousInstance_whenStarting_thenServesAndGradesItsQuestions() {
+    final Path path = dir.resolve("questions.snapshot");
+
+    try (ConfigurableApplicationContext first = start("first", path)) {
+      first.getBean(QuestionBankService.class).importQuestions(lines(0, 60));
+      Assertions.assertThat(first.getBean(QuestionSnapshotWriter.class).write()).isEqualTo(60);
+    }
+
+    try (ConfigurableApplicationContext second = start("second", path)) {
+      final QuestionService questionService = second.getBean(QuestionService.class);
+      Assertions.assertThat(second.getBean(QuestionRepository.class).count()).isZero();
+
+      final GetQuestionsResponse round =
+          questionService.getQuestions(new QuestionFilter("Snapshot", "easy", null, 50));
+      final List<SerializedQuestion> served = round.questionResponse();
+      Assertions.assertThat(served).hasSize(50);
+      final List<AnswerResponse> graded =
+          questionService
+              .checkAnswer(
+                  new CheckAnswersRequest(
+                      round.roundToken(),
+                      served.stream()
+                          .map(question -> new AnswerRequest(question.id(), "True"))
+                          .toList(),
+                      null))
+              .answerResponse();
+      Assertions.assertThat(graded)
+          .allSatisfy(answer -> Assertions.assertThat(answer.result()).isTrue());
+
+      // Already snapshotted questions are skipped; new ones get ids above the snapshot's
+      second.getBean(QuestionBankService.class).importQuestions(lines(50, 70));
+      final List<QuestionEntity> saved = second.getBean(QuestionRepository.class).findAll();
+      final long snapshotMaxId =
+          second.getBean(QuestionSnapshotStore.class).snapshot().orElseThrow().maxId();
+      Assertions.assertThat(saved)
+          .hasSize(10)
+          .allSatisfy(
+              question -> Assertions.assertThat(question.getId()).isGreaterThan(snapshotMaxId));
+
+      Assertions.assertThat(second.getBean(QuestionSnapshotWriter.class).write()).isEqualTo(70);
+    }
+  }
+
+  private static ConfigurableApplicationContext start(String name, Path path) {
+    return new SpringApplicationBuilder(TriviaBackendApplication.class)
+        .web(WebApplicationType.NONE)
+        .run(
+            "--spring.datasource.url=jdbc:h2:mem:snapshot-" + name,
+            "--trivia.pool.background-refill=false",
+            "--trivia.snapshot.path=" + path);
+  }
+
+  private static ByteArrayInputStream lines(int from, int to) {
+    return new ByteArrayInputStream(
+        IntStream.range(from, to)
+            .mapToObj(
+                i ->
+                    """
+                    {"type":"boolean","difficulty":"easy","category":"Snapshot",\
+                    "question":"Question %d?","correct_answer":"True","incorrect_answers":["False"]}
+                    """
+                        .formatted(i))
+            .collect(Collectors.joining())
+            .getBytes(StandardCharsets.UTF_8));
+  }
+}
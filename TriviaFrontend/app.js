@@ -16,6 +16,7 @@ const els = {
 };
 
 let questions = [];
+let roundToken = null; // issued with the questions, required to check their answers
 let selected = {}; // map questionId -> answer string
 let checked = false;
 
@@ -50,6 +51,7 @@ function clearUI(){
   els.score.textContent = '';
   selected = {};
   questions = [];
+  roundToken = null;
   checked = false;
   els.checkBtn.disabled = true;
   els.restartBtn.style.display = 'none';
@@ -90,6 +92,7 @@ async function fetchQuestions(){
   const list = Array.isArray(data) ? data : (data && Array.isArray(data.questionResponse) ? data.questionResponse : []);
   if(!Array.isArray(list)) throw new Error('Expected an array of questions');
   questions = list;
+  roundToken = data && data.roundToken ? data.roundToken : null;
     renderQuestions();
     setStatus(`Loaded ${questions.length} questions.`);
   }catch(err){
@@ -163,9 +166,9 @@ async function checkAnswers(){
   if(checked) return;
   const base = (els.apiBase.value || DEFAULT_API_BASE).replace(/\/$/, '');
   // build payload matching backend shape:
-  // { "answerRequests": [ { questionId: 1, answer: "A" }, ... ] }
+  // { "roundToken": "...", "answerRequests": [ { questionId: 1, answer: "A" }, ... ] }
   const answerRequests = questions.map(q => ({ questionId: q.id, answer: selected[q.id] || null }));
-  const payload = { answerRequests };
+  const payload = { roundToken, answerRequests };
   setStatus('Checking answers...');
   try{
     const res = await fetch(base + '/checkanswers', {